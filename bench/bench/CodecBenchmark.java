@@ -0,0 +1,85 @@
+package bench;
+
+import modele.Cercle;
+import modele.Forme;
+import modele.Rectangle;
+import modele.persistance.CodecJeu;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare l'encodage binaire de {@link CodecJeu} à un encodage texte de type JSON
+ * des mêmes formes. La taille des deux encodages est affichée à la préparation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"16", "1000"})
+    public int nbFormes;
+
+    private List<Forme> formes;
+    private ByteBuffer binaire;
+
+    @Setup
+    public void preparer() {
+        formes = DonneesBench.formesAleatoires(nbFormes, 42);
+        binaire = CodecJeu.encoderFormes(formes);
+        System.out.printf("%n%d formes : %d octets en binaire, %d en texte%n",
+            nbFormes, binaire.remaining(), texte().length);
+    }
+
+    @Benchmark
+    public ByteBuffer encoderBinaire() {
+        return CodecJeu.encoderFormes(formes);
+    }
+
+    @Benchmark
+    public List<Forme> decoderBinaire() throws IOException {
+        return CodecJeu.decoderFormes(binaire);
+    }
+
+    @Benchmark
+    public byte[] encoderTexte() {
+        return texte();
+    }
+
+    private byte[] texte() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Forme f : formes) {
+            if (sb.length() > 1) sb.append(',');
+            if (f instanceof Cercle) {
+                Cercle c = (Cercle) f;
+                sb.append("{\"type\":\"cercle\",\"x\":").append(c.getX())
+                  .append(",\"y\":").append(c.getY())
+                  .append(",\"rayon\":").append(c.getRayon()).append('}');
+            } else {
+                Rectangle r = (Rectangle) f;
+                sb.append("{\"type\":\"rectangle\",\"x\":").append(r.getX())
+                  .append(",\"y\":").append(r.getY())
+                  .append(",\"largeur\":").append(r.getLargeur())
+                  .append(",\"hauteur\":").append(r.getHauteur()).append('}');
+            }
+        }
+        return sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
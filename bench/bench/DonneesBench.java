@@ -0,0 +1,71 @@
+package bench;
+
+import modele.Cercle;
+import modele.Forme;
+import modele.Rectangle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Génération des jeux de formes utilisés par les benchmarks.
+ * La graine est fixe pour que deux exécutions mesurent exactement les mêmes données.
+ */
+final class DonneesBench {
+
+    private static final int ZONE = 700;
+
+    private DonneesBench() {
+    }
+
+    /**
+     * Génère une liste de formes aléatoires (moitié cercles, moitié rectangles).
+     *
+     * @param nbFormes Le nombre de formes à générer.
+     * @param graine   La graine du générateur.
+     * @return La liste de formes.
+     */
+    static List<Forme> formesAleatoires(int nbFormes, long graine) {
+        Random rand = new Random(graine);
+        List<Forme> formes = new ArrayList<>(nbFormes);
+        for (int i = 0; i < nbFormes; i++) {
+            int x = rand.nextInt(ZONE);
+            int y = rand.nextInt(ZONE);
+            if (rand.nextBoolean()) {
+                formes.add(new Cercle(x, y, 10 + rand.nextInt(60)));
+            } else {
+                formes.add(new Rectangle(x, y, 10 + rand.nextInt(120), 10 + rand.nextInt(120)));
+            }
+        }
+        return formes;
+    }
+
+    /**
+     * Construit une reproduction plausible : chaque forme est légèrement décalée
+     * et l'ordre de dessin est mélangé.
+     *
+     * @param reference Les formes de référence.
+     * @param graine    La graine du générateur.
+     * @return La proposition simulée.
+     */
+    static List<Forme> reproduction(List<Forme> reference, long graine) {
+        Random rand = new Random(graine);
+        List<Forme> proposition = new ArrayList<>(reference.size());
+        for (Forme f : reference) {
+            int dx = rand.nextInt(21) - 10;
+            int dy = rand.nextInt(21) - 10;
+            if (f instanceof Cercle) {
+                Cercle c = (Cercle) f;
+                proposition.add(new Cercle(c.getX() + dx, c.getY() + dy, c.getRayon() + rand.nextInt(5)));
+            } else {
+                Rectangle r = (Rectangle) f;
+                proposition.add(new Rectangle(r.getX() + dx, r.getY() + dy,
+                    r.getLargeur() + rand.nextInt(5), r.getHauteur() + rand.nextInt(5)));
+            }
+        }
+        Collections.shuffle(proposition, rand);
+        return proposition;
+    }
+}
@@ -0,0 +1,80 @@
+package bench;
+
+import controleur.evaluation.EvaluationParAffectation;
+import controleur.evaluation.EvaluationParPrecision;
+import controleur.evaluation.EvaluationParSimilarite;
+import controleur.evaluation.EvaluationStrategy;
+import modele.Forme;
+import modele.TamponFormes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le temps d'évaluation d'une reproduction pour chaque stratégie.
+ *
+ * Attention : au-delà de son seuil, {@link EvaluationParAffectation} passe à
+ * l'appariement glouton en O(n²) ; la combinaison à 100 000 formes est donc très longue.
+ * On peut l'exclure avec par exemple {@code -Dbench.args="-p nbFormes=4,64,1000"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Param({"4", "64", "1000", "100000"})
+    public int nbFormes;
+
+    @Param({"Similarite", "Precision", "Affectation"})
+    public String strategie;
+
+    private EvaluationStrategy evaluateur;
+    private List<Forme> reference;
+    private List<Forme> proposition;
+    private TamponFormes tamponReference;
+    private TamponFormes tamponProposition;
+
+    @Setup
+    public void preparer() {
+        reference = DonneesBench.formesAleatoires(nbFormes, 42);
+        proposition = DonneesBench.reproduction(reference, 43);
+        tamponReference = TamponFormes.depuis(reference);
+        tamponProposition = TamponFormes.depuis(proposition);
+
+        switch (strategie) {
+            case "Precision":
+                evaluateur = new EvaluationParPrecision();
+                break;
+            case "Affectation":
+                evaluateur = new EvaluationParAffectation(new EvaluationParSimilarite());
+                break;
+            default:
+                evaluateur = new EvaluationParSimilarite();
+                break;
+        }
+    }
+
+    @Benchmark
+    public int evaluer() {
+        return evaluateur.evaluer(reference, proposition);
+    }
+
+    @Benchmark
+    public int evaluerTampon() {
+        return evaluateur.evaluer(tamponReference, tamponProposition);
+    }
+}
@@ -0,0 +1,86 @@
+package bench;
+
+import controleur.evaluation.EvaluationParAffectation;
+import controleur.evaluation.EvaluationParPrecision;
+import controleur.evaluation.EvaluationParSimilarite;
+import controleur.evaluation.EvaluationStrategy;
+import modele.Forme;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare la notation d'un lot de paires une à une et avec {@link EvaluationStrategy#evaluerLot}.
+ * Le rapport entre les deux donne l'accélération obtenue sur les cœurs disponibles
+ * (faire varier le parallélisme avec {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism=N}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationLotBenchmark {
+
+    @Param({"10000"})
+    public int nbPaires;
+
+    @Param({"16"})
+    public int nbFormes;
+
+    @Param({"Similarite", "Precision", "Affectation"})
+    public String strategie;
+
+    private EvaluationStrategy evaluateur;
+    private List<List<Forme>> references;
+    private List<List<Forme>> propositions;
+
+    @Setup
+    public void preparer() {
+        references = new ArrayList<>(nbPaires);
+        propositions = new ArrayList<>(nbPaires);
+        for (int i = 0; i < nbPaires; i++) {
+            List<Forme> reference = DonneesBench.formesAleatoires(nbFormes, i);
+            references.add(reference);
+            propositions.add(DonneesBench.reproduction(reference, -i));
+        }
+
+        switch (strategie) {
+            case "Precision":
+                evaluateur = new EvaluationParPrecision();
+                break;
+            case "Affectation":
+                evaluateur = new EvaluationParAffectation(new EvaluationParSimilarite());
+                break;
+            default:
+                evaluateur = new EvaluationParSimilarite();
+                break;
+        }
+    }
+
+    @Benchmark
+    public int[] sequentiel() {
+        int[] scores = new int[nbPaires];
+        for (int i = 0; i < nbPaires; i++) {
+            scores[i] = evaluateur.evaluer(references.get(i), propositions.get(i));
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public int[] lot() {
+        return evaluateur.evaluerLot(references, propositions);
+    }
+}
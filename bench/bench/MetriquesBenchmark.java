@@ -0,0 +1,56 @@
+package bench;
+
+import metriques.Chronometre;
+import metriques.Compteur;
+import metriques.Metriques;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût d'une mesure (chronomètre et compteur) autour d'un travail minuscule,
+ * métriques désactivées (par défaut) puis activées ({@link Actives}).
+ * Désactivées, les mesures doivent coûter autant que {@link #sansMesure()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetriquesBenchmark {
+
+    private static final Chronometre CHRONO = Metriques.chronometre("bench.chrono");
+    private static final Compteur COMPTEUR = Metriques.compteur("bench.compteur");
+
+    private long valeur;
+
+    @Benchmark
+    public long sansMesure() {
+        return ++valeur;
+    }
+
+    @Benchmark
+    public long avecMesure() {
+        long debut = CHRONO.debut();
+        long v = ++valeur;
+        COMPTEUR.incrementer();
+        CHRONO.terminer(debut);
+        return v;
+    }
+
+    /**
+     * Les mêmes mesures, métriques activées.
+     */
+    @Fork(value = 1, jvmArgsAppend = "-Dmemoire.metriques=true")
+    public static class Actives extends MetriquesBenchmark {
+    }
+}
@@ -0,0 +1,74 @@
+package bench;
+
+import modele.FileMutations;
+import modele.Forme;
+import modele.Modele;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le débit des mutations du modèle : ajout de formes, undo et redo.
+ * Le modèle est utilisé sans vue, seule la logique de stockage est mesurée.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModeleBenchmark {
+
+    /** Nombre de formes présentes dans le modèle pendant la mesure */
+    @Param({"4", "64", "1000", "100000"})
+    public int nbFormes;
+
+    private List<Forme> formes;
+    private Modele modeleVide;
+    private Modele modeleRempli;
+
+    @Setup
+    public void preparer() {
+        formes = DonneesBench.formesAleatoires(nbFormes, 42);
+        // Modèle confiné au thread du benchmark : les mutations s'appliquent immédiatement
+        modeleVide = new Modele(FileMutations.directe());
+        modeleRempli = new Modele(FileMutations.directe());
+        for (Forme f : formes) {
+            modeleRempli.ajouterForme(f);
+        }
+    }
+
+    /**
+     * Ajoute toutes les formes une à une puis vide le modèle.
+     * Le résultat est ramené à une opération par forme ajoutée.
+     */
+    @Benchmark
+    @OperationsPerInvocation(1000)
+    public void ajouterForme() {
+        for (int i = 0; i < 1000; i++) {
+            modeleVide.ajouterForme(formes.get(i % nbFormes));
+        }
+        modeleVide.effacerFormesAll();
+    }
+
+    /**
+     * Annule puis rétablit la dernière forme d'un modèle contenant {@code nbFormes} formes.
+     */
+    @Benchmark
+    public void undoRedo() {
+        modeleRempli.undo();
+        modeleRempli.redo();
+    }
+}
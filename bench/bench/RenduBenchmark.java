@@ -0,0 +1,74 @@
+package bench;
+
+import modele.Forme;
+import modele.Modele;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import vue.Vue;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure le rendu complet de la vue dans une {@link BufferedImage}, sans écran
+ * (la cible Ant lance la JVM avec {@code java.awt.headless=true}).
+ * En régime établi, la vue ne fait que recopier son calque des formes validées.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenduBenchmark {
+
+    private static final int LARGEUR = 800;
+    private static final int HAUTEUR = 700;
+
+    @Param({"4", "64", "1000", "100000"})
+    public int nbFormes;
+
+    private Vue vue;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void preparer() throws Exception {
+        // La vue met à jour son calque sur le thread de Swing : on la prépare sur ce thread
+        SwingUtilities.invokeAndWait(() -> {
+            Modele modele = new Modele();
+            vue = new Vue(modele);
+            vue.setSize(LARGEUR, HAUTEUR);
+            vue.doLayout();
+            for (Forme f : DonneesBench.formesAleatoires(nbFormes, 42)) {
+                modele.ajouterForme(f);
+            }
+        });
+
+        image = new BufferedImage(LARGEUR, HAUTEUR, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown
+    public void liberer() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage dessiner() {
+        vue.paint(graphics);
+        return image;
+    }
+}
@@ -1,26 +1,45 @@
 import javax.swing.*;
 import java.awt.*;
-import controleur.Controleur;
-import controleur.ModeDeuxJoueurs;
-import controleur.ModeSolo;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import controleur.ApercuScore;
+import controleur.GestionnaireSessions;
+import controleur.PlanificateurPartage;
+import controleur.SessionJeu;
 import controleur.commande.CommandeRedo;
 import controleur.commande.CommandeUndo;
 import controleur.commande.CommandeValider;
+import controleur.commande.CommandeVersion;
 import controleur.commande.CommandeQuitter;
+import controleur.evaluation.CatalogueStrategies;
 import controleur.evaluation.EvaluationStrategy;
 import controleur.evaluation.EvaluationParSimilarite;
-import controleur.evaluation.EvaluationParPrecision;
-import controleur.ModeRandom;
+import metriques.Metriques;
 import modele.Modele;
+import modele.Partie;
+import modele.persistance.EvenementJeu;
+import modele.persistance.JournalJeu;
+import modele.persistance.Restauration;
 import vue.Vue;
 
 /**
  * Classe principale du jeu de mémorisation
  * Elle initialise l'application, demande à l'utilisateur de choisir le mode de jeu
  * et la stratégie d'évaluation, configure le modèle, la vue et le controleur.
+ *
+ * Chaque partie est journalisée (dossier {@code ~/.jeu-memoire}, ou propriété système
+ * {@code memoire.journal}) : si l'application s'est arrêtée en cours de partie,
+ * elle propose de la reprendre au démarrage suivant.
  */
 public class MainMemory {
 
+    private static final String[] MODES = {"SOLO", "DEUX", "RANDOM"};
+
     /**
      * Méthode principale lançant l'application graphique.
      * Elle affiche deux menus :
@@ -29,8 +48,92 @@ public class MainMemory {
      *
      * En plus  elle crée les composants MVC (Modele, Vue, Controleur) et lance le jeu
      */
-    public static void main(String[] args) {
-        //affichage du menu
+    public static void main(String[] args) throws InterruptedException, InvocationTargetException {
+        Metriques.demarrer();
+        Path dossierJournal = Paths.get(System.getProperty("memoire.journal",
+            System.getProperty("user.home") + File.separator + ".jeu-memoire"));
+        List<EvenementJeu> precedents = lireJournal(dossierJournal);
+
+        // Reprise de la partie interrompue, si le joueur le souhaite
+        EvenementJeu debut = null;
+        if (Restauration.estInterrompue(precedents)) {
+            int reponse = JOptionPane.showConfirmDialog(null,
+                "Une partie a été interrompue. Voulez-vous la reprendre ?",
+                "Reprise", JOptionPane.YES_NO_OPTION);
+            if (reponse == JOptionPane.YES_OPTION) {
+                debut = Restauration.debut(precedents);
+            }
+        }
+
+        String mode;
+        String nomStrategie;
+        long graine;
+        if (debut != null) {
+            mode = debut.getMode();
+            nomStrategie = debut.getStrategie();
+            graine = debut.getGraine();
+        } else {
+            mode = choisirMode();
+            nomStrategie = choisirStrategie();
+            graine = System.nanoTime();
+        }
+        EvaluationStrategy strategie = creerStrategie(nomStrategie);
+
+        // Une seule session, jamais fermée pour inactivité : le joueur peut prendre son temps.
+        // Le contrôleur du mode est choisi par le gestionnaire (patron Strategy)
+        GestionnaireSessions sessions = new GestionnaireSessions(PlanificateurPartage.getInstance(), Modele::new, 0);
+        SessionJeu session = sessions.ouvrir(mode, strategie, nomStrategie, graine);
+
+        // Initialisation du modèle et de la vue
+        Modele modele = session.getModele();
+        Partie partie = session.getPartie();
+
+        Vue vue = new Vue(modele);
+        vue.setCommandeUndo(new CommandeUndo(modele));
+        vue.setCommandeRedo(new CommandeRedo(modele));
+        vue.setCommandeVersion(new CommandeVersion(modele));
+        vue.setCommandeValider(new CommandeValider(modele));
+        vue.setCommandeQuitter(new CommandeQuitter(modele));
+
+        // Score estimé en direct : la référence du modèle n'est celle du tour qu'en solo et random
+        if (!"DEUX".equals(mode)) {
+            modele.ajouterObservateur(new ApercuScore(modele, strategie));
+        }
+
+        JFrame frame = new JFrame("Jeu de Mémorisation");
+        frame.add(vue);
+        frame.setSize(700, 700);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setVisible(true);
+
+        if (debut != null) {
+            // Les mutations du modèle s'appliquent sur le thread de Swing : on y rejoue le journal
+            SwingUtilities.invokeAndWait(() -> Restauration.restaurer(precedents, modele, partie));
+        }
+
+        JournalJeu journal = ouvrirJournal(dossierJournal, debut == null);
+        if (journal != null) {
+            if (debut == null) {
+                journal.enregistrer(EvenementJeu.debut(mode, nomStrategie, graine));
+            }
+            modele.setJournal(journal);
+            partie.setJournal(journal);
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close));
+        }
+
+        if (debut != null) {
+            session.reprendre();
+        } else {
+            session.demarrer();
+        }
+    }
+
+    /**
+     * Affiche le menu de choix du mode de jeu.
+     *
+     * @return SOLO, DEUX ou RANDOM
+     */
+    private static String choisirMode() {
         String[] options = {"Solo - Formes enregistrées", "Deux Joueurs", "Solo - Formes Aléatoires"};
         int choix = JOptionPane.showOptionDialog(
             null,
@@ -42,9 +145,16 @@ public class MainMemory {
             options,
             options[0]
         );
+        return (choix >= 0 && choix < MODES.length) ? MODES[choix] : "RANDOM";
+    }
 
-        // on choisit la stratégie d'évaluation
-        String[] optionsEval = {"Évaluation par Similarité", "Évaluation par Précision"};
+    /**
+     * Affiche le menu de choix de la stratégie d'évaluation.
+     *
+     * @return Le nom de la stratégie choisie
+     */
+    private static String choisirStrategie() {
+        String[] optionsEval = {"Évaluation par Similarité", "Évaluation par Précision", "Évaluation par Affectation"};
         int choixEval = JOptionPane.showOptionDialog(
             null,
             "Choisissez la stratégie d'évaluation",
@@ -55,44 +165,56 @@ public class MainMemory {
             optionsEval,
             optionsEval[0]
         );
-
-        EvaluationStrategy strategie;
-        if (choixEval == 1) {
-            strategie = new EvaluationParPrecision();
-        } else {
-            strategie = new EvaluationParSimilarite();
+        switch (choixEval) {
+            case 1:
+                return CatalogueStrategies.PRECISION;
+            case 2:
+                return CatalogueStrategies.AFFECTATION;
+            default:
+                return CatalogueStrategies.SIMILARITE;
         }
+    }
 
-        // Initialisation du modèle et de la vue
-        Modele modele = new Modele();
-        modele.setEvaluateur(strategie, (choixEval == 1) ? "Précision" : "Similarité");
-
-        Vue vue = new Vue(modele);
-        vue.setCommandeUndo(new CommandeUndo(modele));
-        vue.setCommandeRedo(new CommandeRedo(modele));
-        vue.setCommandeValider(new CommandeValider(modele));
-        vue.setCommandeQuitter(new CommandeQuitter(modele));
-
-        JFrame frame = new JFrame("Jeu de Mémorisation");
-        frame.add(vue);
-        frame.setSize(700, 700);
-        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setVisible(true);
+    /**
+     * Crée la stratégie d'évaluation correspondant à un nom.
+     *
+     * @param nom Le nom de la stratégie (Similarité, Précision ou Affectation)
+     * @return La stratégie
+     */
+    private static EvaluationStrategy creerStrategie(String nom) {
+        try {
+            return CatalogueStrategies.fabrique(nom).get();
+        } catch (IllegalArgumentException e) {
+            // Nom inconnu dans un journal repris : on retombe sur la stratégie par défaut
+            return new EvaluationParSimilarite();
+        }
+    }
 
-        //choix du controleur avec le patron Strategy
-        Controleur gameMode;
-        switch (choix) {
-            case 1:
-                gameMode = ModeDeuxJoueurs.getInstance();
-                break;
-            case 0:
-                gameMode = ModeSolo.getInstance();
-                break;
-            default:
-                gameMode = ModeRandom.getInstance();
-                break;
+    /**
+     * Lit le journal de la partie précédente. Un journal illisible est ignoré.
+     */
+    private static List<EvenementJeu> lireJournal(Path dossier) {
+        try {
+            return JournalJeu.lire(dossier);
+        } catch (IOException e) {
+            System.err.println("Journal illisible, ignoré : " + e.getMessage());
+            return Collections.emptyList();
         }
+    }
 
-        gameMode.demarrer(modele);
+    /**
+     * Ouvre le journal de la partie, vidé pour une nouvelle partie.
+     * Le jeu reste jouable sans journal si le dossier n'est pas accessible.
+     */
+    private static JournalJeu ouvrirJournal(Path dossier, boolean nouvellePartie) {
+        try {
+            if (nouvellePartie) {
+                JournalJeu.effacer(dossier);
+            }
+            return JournalJeu.ouvrir(dossier);
+        } catch (IOException e) {
+            System.err.println("Partie non journalisée : " + e.getMessage());
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package controleur;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import controleur.evaluation.EvaluationIncrementale;
+import controleur.evaluation.EvaluationStrategy;
+import modele.ChangementFormes;
+import modele.Forme;
+import modele.InstantaneFormes;
+import modele.LotChangements;
+import modele.Modele;
+import modele.ObservateurModele;
+import vue.Affichage;
+
+/**
+ * Aperçu du score pendant que le joueur reproduit les formes mémorisées.
+ *
+ * L'aperçu suit les changements du modèle : chaque ajout, undo ou redo met à jour
+ * un {@link EvaluationIncrementale} en O(1), sans réévaluer toute la proposition.
+ * Avec une stratégie qui ne se calcule pas forme par forme (appariement optimal),
+ * l'évaluation complète est faite en arrière-plan, une seule à la fois, et seul
+ * le résultat de la proposition la plus récente est affiché.
+ *
+ * Avec la propriété système {@value #PROPRIETE_VERIFICATION}, chaque score incrémental
+ * est comparé à l'évaluation complète et les écarts sont signalés sur la sortie d'erreur.
+ *
+ * L'aperçu s'utilise dans les modes où la référence est celle du modèle
+ * ({@link Modele#getFormesProposition()}) : solo et random.
+ */
+public class ApercuScore implements ObservateurModele {
+
+    /** Propriété système qui active la comparaison avec l'évaluation complète */
+    public static final String PROPRIETE_VERIFICATION = "memoire.apercu.verifier";
+
+    private final Modele modele;
+    private final EvaluationStrategy strategie;
+    private final Executor executeur;
+    private final boolean verifier;
+
+    // Uniquement lus et écrits par le thread propriétaire du modèle
+    private InstantaneFormes reference;
+    private EvaluationIncrementale incrementale;
+    private boolean calculEnCours;
+    private boolean calculDemande;
+    private int score = -1;
+    private int ecarts;
+
+    /**
+     * Crée un aperçu avec le pool commun pour les évaluations complètes,
+     * vérifié si la propriété {@value #PROPRIETE_VERIFICATION} vaut true.
+     *
+     * @param modele    Le modèle observé.
+     * @param strategie La stratégie d'évaluation du modèle.
+     */
+    public ApercuScore(Modele modele, EvaluationStrategy strategie) {
+        this(modele, strategie, ForkJoinPool.commonPool(), Boolean.getBoolean(PROPRIETE_VERIFICATION));
+    }
+
+    /**
+     * Crée un aperçu.
+     *
+     * @param modele    Le modèle observé.
+     * @param strategie La stratégie d'évaluation du modèle.
+     * @param executeur Exécute les évaluations complètes des stratégies non incrémentales.
+     * @param verifier  true pour comparer chaque score incrémental à l'évaluation complète.
+     */
+    public ApercuScore(Modele modele, EvaluationStrategy strategie, Executor executeur, boolean verifier) {
+        this.modele = modele;
+        this.strategie = strategie;
+        this.executeur = executeur;
+        this.verifier = verifier;
+    }
+
+    @Override
+    public void formesModifiees(LotChangements lot) {
+        if (incrementale != null) {
+            for (ChangementFormes changement : lot.getChangements()) {
+                appliquer(changement);
+            }
+        }
+        mettreAJour();
+    }
+
+    private void appliquer(ChangementFormes changement) {
+        switch (changement.getType()) {
+            case AJOUT:
+                for (Forme f : changement.getFormes()) {
+                    incrementale.ajouter(f);
+                }
+                break;
+            case RETRAIT:
+                // Un retrait est toujours l'annulation des derniers ajouts
+                int n = Math.min(changement.getFormes().size(), incrementale.getTaille());
+                for (int i = 0; i < n; i++) {
+                    incrementale.retirerDerniere();
+                }
+                break;
+            case EFFACEMENT:
+                incrementale.vider();
+                break;
+        }
+    }
+
+    /**
+     * Recalcule l'aperçu depuis l'état courant du modèle. Appelée à chaque lot de changements ;
+     * doit l'être depuis le thread propriétaire du modèle.
+     */
+    public void mettreAJour() {
+        InstantaneFormes ref = modele.getFormesProposition();
+        InstantaneFormes formes = modele.getFormes();
+        if (ref.isEmpty()) {
+            // Phase de mémorisation ou fin de round : rien à estimer
+            reference = null;
+            incrementale = null;
+            afficher(-1);
+            return;
+        }
+
+        if (ref != reference) {
+            // Nouvelle référence : la proposition repart en général de zéro
+            reference = ref;
+            incrementale = strategie.incrementale(ref);
+            if (incrementale != null) {
+                for (Forme f : formes) {
+                    incrementale.ajouter(f);
+                }
+            }
+        }
+
+        if (incrementale == null) {
+            demanderEvaluation();
+            return;
+        }
+        if (incrementale.getTaille() != formes.size()) {
+            // Ne devrait pas arriver : on repart de l'état du modèle plutôt que d'afficher un score faux
+            incrementale.vider();
+            for (Forme f : formes) {
+                incrementale.ajouter(f);
+            }
+        }
+
+        int estime = incrementale.getScore();
+        if (verifier) {
+            verifier(ref, formes, estime);
+        }
+        afficher(estime);
+    }
+
+    private void verifier(List<Forme> ref, List<Forme> formes, int estime) {
+        int complet = strategie.evaluer(ref, formes);
+        if (complet != estime) {
+            ecarts++;
+            System.err.println("Aperçu du score incohérent : " + estime + " au lieu de " + complet
+                + " (" + formes.size() + " formes sur " + ref.size() + ")");
+        }
+    }
+
+    /**
+     * Lance l'évaluation complète de la proposition courante, ou la reporte
+     * à la fin de celle qui est en cours.
+     */
+    private void demanderEvaluation() {
+        if (calculEnCours) {
+            calculDemande = true;
+            return;
+        }
+        calculEnCours = true;
+        calculDemande = false;
+        // Les instantanés sont immuables : ils peuvent être lus depuis un autre thread
+        InstantaneFormes ref = reference;
+        InstantaneFormes formes = modele.getFormes();
+        executeur.execute(() -> {
+            int complet = strategie.evaluer(ref, formes);
+            modele.executer(() -> {
+                calculEnCours = false;
+                if (ref == reference) {
+                    afficher(complet);
+                }
+                if (calculDemande && reference != null) {
+                    demanderEvaluation();
+                }
+            });
+        });
+    }
+
+    private void afficher(int nouveau) {
+        if (nouveau == score) return;
+        score = nouveau;
+        Affichage affichage = modele.getAffichage();
+        if (affichage != null) {
+            affichage.setApercuScore(nouveau);
+        }
+    }
+
+    /**
+     * Retourne le dernier score affiché.
+     *
+     * @return Le score, ou -1 si aucun aperçu n'est affiché.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Retourne le nombre d'écarts constatés avec l'évaluation complète (en mode vérification).
+     *
+     * @return Le nombre d'écarts.
+     */
+    public int getEcarts() {
+        return ecarts;
+    }
+}
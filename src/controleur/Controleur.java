@@ -17,4 +17,29 @@ public interface Controleur {
      * @param modele Le modèle de l'application à connecter au contrôleur
      */
     void demarrer(Modele modele);
+
+    /**
+     * Reprend une partie interrompue dont l'état vient d'être restauré dans le modèle
+     * (scores et formes relus du journal). Le round qui était en cours est recommencé.
+     * Par défaut, la partie est simplement démarrée.
+     *
+     * @param modele Le modèle restauré
+     */
+    default void reprendre(Modele modele) {
+        demarrer(modele);
+    }
+
+    /**
+     * Arrête la partie sans l'afficher ni la journaliser comme terminée, par exemple
+     * quand une session inactive est fermée : les actions planifiées sont annulées
+     * pour ne plus toucher au modèle, qui peut alors servir à une autre partie.
+     */
+    void arreter();
+
+    /**
+     * Indique si la partie est terminée (tous les tours joués ou partie quittée).
+     *
+     * @return true si la partie est terminée
+     */
+    boolean estTerminee();
 }
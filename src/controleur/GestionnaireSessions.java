@@ -0,0 +1,244 @@
+package controleur;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import controleur.evaluation.EvaluationStrategy;
+import controleur.generation.GenerateurPoisson;
+import controleur.generation.GenerateurRound;
+import modele.Modele;
+import modele.Partie;
+
+/**
+ * Crée et ferme des sessions de jeu isolées, pour héberger plusieurs parties dans un même processus.
+ *
+ * Chaque {@link SessionJeu} a son modèle, sa partie et son contrôleur. Les modèles des sessions
+ * fermées sont remis à neuf ({@link Modele#reinitialiser()}) et gardés dans un pool pour les
+ * sessions suivantes, dans la limite de sa taille. Les sessions restées inactives plus longtemps
+ * que le délai d'inactivité sont fermées par une vérification périodique passant par le planificateur.
+ *
+ * Les méthodes peuvent être appelées depuis n'importe quel thread.
+ */
+public class GestionnaireSessions {
+
+    /** Délai d'inactivité par défaut avant la fermeture d'une session */
+    public static final long DELAI_INACTIVITE_DEFAUT_MS = 10 * 60 * 1000;
+
+    /** Nombre maximal de modèles gardés pour être réutilisés */
+    public static final int TAILLE_POOL_DEFAUT = 16;
+
+    /** Le générateur de rounds n'a pas d'état : une instance pour toutes les sessions */
+    private static final GenerateurRound GENERATEUR = new GenerateurPoisson();
+
+    private final Planificateur planificateur;
+    private final Supplier<Modele> fabrique;
+    private final LongSupplier horloge;
+    private final long delaiInactiviteMs;
+    private final int taillePoolMax;
+
+    private final Map<Long, SessionJeu> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<Modele> pool = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger taillePool = new AtomicInteger();
+    private final AtomicLong prochainId = new AtomicLong(1);
+    private TachePlanifiee verification;
+
+    /**
+     * Crée un gestionnaire avec l'horloge système et la taille de pool par défaut.
+     *
+     * @param planificateur     Le planificateur des contrôleurs et des vérifications d'inactivité.
+     * @param fabrique          Crée les modèles quand le pool est vide.
+     * @param delaiInactiviteMs Le délai d'inactivité, ou 0 pour ne jamais fermer de session d'office.
+     */
+    public GestionnaireSessions(Planificateur planificateur, Supplier<Modele> fabrique, long delaiInactiviteMs) {
+        this(planificateur, fabrique, System::currentTimeMillis, delaiInactiviteMs, TAILLE_POOL_DEFAUT);
+    }
+
+    /**
+     * Crée un gestionnaire.
+     *
+     * @param planificateur     Le planificateur des contrôleurs et des vérifications d'inactivité.
+     * @param fabrique          Crée les modèles quand le pool est vide.
+     * @param horloge           Donne l'instant présent en millisecondes (virtuel dans les simulations).
+     * @param delaiInactiviteMs Le délai d'inactivité, ou 0 pour ne jamais fermer de session d'office.
+     * @param taillePoolMax     Le nombre maximal de modèles gardés pour être réutilisés.
+     */
+    public GestionnaireSessions(Planificateur planificateur, Supplier<Modele> fabrique, LongSupplier horloge,
+                                long delaiInactiviteMs, int taillePoolMax) {
+        if (delaiInactiviteMs < 0) {
+            throw new IllegalArgumentException("Délai d'inactivité négatif : " + delaiInactiviteMs);
+        }
+        this.planificateur = planificateur;
+        this.fabrique = fabrique;
+        this.horloge = horloge;
+        this.delaiInactiviteMs = delaiInactiviteMs;
+        this.taillePoolMax = Math.max(0, taillePoolMax);
+    }
+
+    /**
+     * Ouvre une session. Elle n'est pas démarrée : l'appelant peut d'abord brancher une vue
+     * ou restaurer un journal, puis appeler {@link SessionJeu#demarrer()} ou {@link SessionJeu#reprendre()}.
+     *
+     * @param mode         SOLO, DEUX ou RANDOM.
+     * @param strategie    La stratégie d'évaluation du modèle.
+     * @param nomStrategie Le nom de la stratégie.
+     * @param graine       La graine des rounds (mode RANDOM).
+     * @return La session.
+     * @throws IllegalArgumentException si le mode est inconnu.
+     */
+    public SessionJeu ouvrir(String mode, EvaluationStrategy strategie, String nomStrategie, long graine) {
+        Partie partie = new Partie();
+        Controleur controleur = creerControleur(mode, partie, graine);
+
+        Modele modele = pool.pollFirst();
+        if (modele != null) {
+            taillePool.decrementAndGet();
+        } else {
+            modele = fabrique.get();
+        }
+        modele.setEvaluateur(strategie, nomStrategie);
+
+        SessionJeu session = new SessionJeu(prochainId.getAndIncrement(), mode, graine,
+            modele, partie, controleur, horloge);
+        sessions.put(session.getId(), session);
+        planifierVerification();
+        return session;
+    }
+
+    private Controleur creerControleur(String mode, Partie partie, long graine) {
+        switch (mode) {
+            case "SOLO":
+                return new ModeSolo(planificateur);
+            case "DEUX":
+                return new ModeDeuxJoueurs(planificateur, partie);
+            case "RANDOM":
+                return new ModeRandom(planificateur, GENERATEUR, graine);
+            default:
+                throw new IllegalArgumentException("Mode de jeu inconnu : " + mode);
+        }
+    }
+
+    /**
+     * Retourne une session ouverte.
+     *
+     * @param id L'identifiant de la session.
+     * @return La session, ou null si elle n'existe pas ou a été fermée.
+     */
+    public SessionJeu get(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Retourne les sessions ouvertes.
+     *
+     * @return Une copie de la liste des sessions.
+     */
+    public Collection<SessionJeu> getSessions() {
+        return Collections.unmodifiableList(new ArrayList<>(sessions.values()));
+    }
+
+    /**
+     * Ferme une session : son contrôleur est arrêté et son modèle, remis à neuf
+     * sur son thread propriétaire, rejoint le pool. Sans effet si elle est déjà fermée.
+     *
+     * @param session La session.
+     */
+    public void fermer(SessionJeu session) {
+        if (!sessions.remove(session.getId(), session)) {
+            return;
+        }
+        session.fermer();
+        Modele modele = session.getModele();
+        // Le modèle ne rejoint le pool qu'une fois remis à neuf, après ses mutations en file.
+        // Une tâche du contrôleur déjà lancée peut encore soumettre des actions après celle-ci :
+        // elles vérifient sur ce même thread que le contrôleur est arrêté et ne touchent à rien
+        modele.executer(() -> {
+            modele.reinitialiser();
+            if (taillePool.incrementAndGet() <= taillePoolMax) {
+                pool.offerFirst(modele);
+            } else {
+                taillePool.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Ferme les sessions inactives depuis au moins le délai d'inactivité.
+     *
+     * @return Le nombre de sessions fermées.
+     */
+    public int evincerInactives() {
+        if (delaiInactiviteMs == 0) {
+            return 0;
+        }
+        long maintenant = horloge.getAsLong();
+        int fermees = 0;
+        for (SessionJeu session : sessions.values()) {
+            if (session.getInactiviteMs(maintenant) >= delaiInactiviteMs) {
+                fermer(session);
+                fermees++;
+            }
+        }
+        return fermees;
+    }
+
+    /**
+     * Ferme toutes les sessions et annule la vérification d'inactivité.
+     */
+    public void fermerTout() {
+        for (SessionJeu session : sessions.values()) {
+            fermer(session);
+        }
+        synchronized (this) {
+            if (verification != null) {
+                verification.annuler();
+                verification = null;
+            }
+        }
+    }
+
+    /**
+     * Planifie la prochaine vérification d'inactivité, s'il y a des sessions à surveiller.
+     * Une seule vérification est en attente à la fois.
+     */
+    private synchronized void planifierVerification() {
+        if (delaiInactiviteMs == 0 || verification != null || sessions.isEmpty()) {
+            return;
+        }
+        // Vérifier deux fois par délai : une session est fermée au plus tard 1,5 délai après sa dernière activité
+        verification = planificateur.planifier(this::verifier, Math.max(1, delaiInactiviteMs / 2));
+    }
+
+    private void verifier() {
+        synchronized (this) {
+            verification = null;
+        }
+        evincerInactives();
+        planifierVerification();
+    }
+
+    /**
+     * Retourne le nombre de sessions ouvertes.
+     *
+     * @return Le nombre de sessions.
+     */
+    public int getNbSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Retourne le nombre de modèles disponibles dans le pool.
+     *
+     * @return Le nombre de modèles.
+     */
+    public int getTaillePool() {
+        return taillePool.get();
+    }
+}
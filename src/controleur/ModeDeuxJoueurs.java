@@ -6,13 +6,13 @@ import modele.Partie;
 import modele.Forme;
 import controleur.evaluation.EvaluationStrategy;
 import controleur.evaluation.EvaluationParSimilarite;
-import vue.Vue;
+import metriques.Chronometre;
+import metriques.Compteur;
+import metriques.Metriques;
+import vue.Affichage;
 
-import javax.swing.*;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * Contrôleur pour le mode de jeu à deux joueurs.
@@ -20,6 +20,9 @@ import java.util.TimerTask;
  * que l'autre joueur doit mémoriser et reproduire.
  */
 public class ModeDeuxJoueurs implements Controleur {
+    private static final Compteur TOURS = Metriques.compteur("mode.deux.tours");
+    private static final Chronometre MEMORISATION = Metriques.chronometre("mode.deux.memorisation");
+
     private Joueur joueur1 = new Joueur("Joueur 1");
     private Joueur joueur2 = new Joueur("Joueur 2");
     private Modele modele;
@@ -29,7 +32,9 @@ public class ModeDeuxJoueurs implements Controleur {
     private Joueur joueurActif;
     private Joueur joueurCreateur;
     private Phase phaseActuelle;
-    private static ModeDeuxJoueurs instance;
+    private final Planificateur planificateur;
+    private TachePlanifiee memorisation;
+    private volatile boolean terminee;
 
     /**
      * Enumération représentant les différentes phases d’un tour de jeu :
@@ -44,21 +49,24 @@ public class ModeDeuxJoueurs implements Controleur {
     }
 
     /**
-     * Ajout du patron singleton pour éviter plusieurs instance du mode de jeu
+     * Constructeur du mode deux joueurs.
+     * Crée une nouvelle partie et utilise le planificateur partagé.
      */
-    public static ModeDeuxJoueurs getInstance(){
-        if (instance==null)
-            instance = new ModeDeuxJoueurs();
-        return instance;
+    public ModeDeuxJoueurs() {
+        this(PlanificateurPartage.getInstance(), new Partie());
     }
+
     /**
-     * Constructeur du mode deux joueurs.
-     * Initialise la partie, la stratégie d'évaluation et la structure des formes.
+     * Crée un mode deux joueurs avec son propre planificateur et sa propre partie.
+     *
+     * @param planificateur Le planificateur de la phase de mémorisation.
+     * @param partie        La partie dans laquelle enregistrer les scores.
      */
-    public ModeDeuxJoueurs() {
-        this.partie = Partie.getInstance();
+    public ModeDeuxJoueurs(Planificateur planificateur, Partie partie) {
+        this.partie = partie;
         this.evaluateur = new EvaluationParSimilarite();
-        this.formesOriginales = new ArrayList<>();
+        this.formesOriginales = Collections.emptyList();
+        this.planificateur = planificateur;
     }
 
     /**
@@ -80,12 +88,15 @@ public class ModeDeuxJoueurs implements Controleur {
      */
     private void demarrerNouveauTour() {
         if (partie.estTerminee()) {
+            terminee = true;
+            modele.terminerPartie();
             afficherResultatsFinaux();
             return;
         }
 
         modele.effacerFormes();
-        formesOriginales.clear();
+        formesOriginales = Collections.emptyList();
+        TOURS.incrementer();
 
         joueurCreateur = (partie.getNumeroTour() % 2 == 1) ? joueur1 : joueur2;
         joueurActif = joueurCreateur;
@@ -99,8 +110,8 @@ public class ModeDeuxJoueurs implements Controleur {
             (joueurCreateur == joueur1) ? joueur2.getNom() : joueur1.getNom()
         );
 
-        if (modele.getVue() != null) {
-            Vue vue = modele.getVue();
+        if (modele.getAffichage() != null) {
+            Affichage vue = modele.getAffichage();
             vue.setStatut(message);
             vue.setValidationActive(true);
             vue.setUndoActive(true);
@@ -116,13 +127,14 @@ public class ModeDeuxJoueurs implements Controleur {
      * - REPRODUCTION : évalue la reproduction et passe au tour suivant
      */
     public void joueurAFini() {
-        Vue vue = modele.getVue();
+        Affichage vue = modele.getAffichage();
 
         switch (phaseActuelle) {
             case CREATION:
-                formesOriginales = new ArrayList<>(modele.getFormes());
+                // L'instantané du modèle est immuable : inutile de le copier
+                formesOriginales = modele.getFormes();
                 if (formesOriginales.size() != 4) {
-                    JOptionPane.showMessageDialog(null, "Vous devez créer exactement 4 formes !");
+                    vue.afficherMessage("Vous devez créer exactement 4 formes !");
                     return;
                 }
 
@@ -136,12 +148,14 @@ public class ModeDeuxJoueurs implements Controleur {
                     vue.setStatut("Mémorisation des formes... (10 secondes)");
                 }
 
-                Timer timer = new Timer();
-                timer.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
+                if (memorisation != null) {
+                    memorisation.annuler();
+                }
+                // Arrêt vérifié sur le thread du modèle : une partie arrêtée a pu le rendre au pool
+                memorisation = planificateur.planifier(MEMORISATION.envelopper(() -> modele.executer(() -> {
+                    if (!terminee) {
                         modele.effacerFormes();
-                        SwingUtilities.invokeLater(() -> {
+                        modele.executer(() -> {
                             phaseActuelle = Phase.REPRODUCTION;
                             if (vue != null) {
                                 vue.setValidationActive(true);
@@ -149,11 +163,11 @@ public class ModeDeuxJoueurs implements Controleur {
                             }
                         });
                     }
-                }, 10000);
+                })), 10000);
                 break;
 
             case REPRODUCTION:
-                List<Forme> reproduction = new ArrayList<>(modele.getFormes());
+                List<Forme> reproduction = modele.getFormes();
                 int score = evaluateur.evaluer(formesOriginales, reproduction);
 
                 if (joueurActif == joueur1) {
@@ -174,7 +188,7 @@ public class ModeDeuxJoueurs implements Controleur {
                 break;
 
             case ATTENTE:
-                JOptionPane.showMessageDialog(null, "Veuillez attendre la fin de la phase de mémorisation");
+                vue.afficherMessage("Veuillez attendre la fin de la phase de mémorisation");
                 break;
         }
     }
@@ -184,19 +198,44 @@ public class ModeDeuxJoueurs implements Controleur {
      * Affiche un résumé des scores et quitte l'application si confirmé.
      */
     public void quitterPartie() {
-        int reponse = JOptionPane.showConfirmDialog(
-            null,
-            "Voulez-vous quitter la partie ?",
-            "Confirmation",
-            JOptionPane.YES_NO_OPTION
-        );
-
-        if (reponse == JOptionPane.YES_OPTION) {
+        if (modele.getAffichage().demanderConfirmation("Voulez-vous quitter la partie ?")) {
+            terminee = true;
+            modele.terminerPartie();
             afficherResultatsFinaux();
-            System.exit(0);
+            modele.getAffichage().terminer();
         }
     }
 
+    /**
+     * Arrête la partie sans rien afficher : la fin de mémorisation planifiée est annulée.
+     */
+    @Override
+    public void arreter() {
+        terminee = true;
+        if (memorisation != null) {
+            memorisation.annuler();
+        }
+    }
+
+    /**
+     * Indique si tous les tours ont été joués ou si la partie a été quittée.
+     *
+     * @return true si la partie est terminée.
+     */
+    @Override
+    public boolean estTerminee() {
+        return terminee;
+    }
+
+    /**
+     * Retourne la partie (scores des deux joueurs) gérée par ce mode.
+     *
+     * @return La partie en cours.
+     */
+    public Partie getPartie() {
+        return partie;
+    }
+
     /**
      * Affiche une boîte de dialogue avec les scores finaux des deux joueurs.
      * Indique qui est le gagnant ou s'il y a égalité.
@@ -218,6 +257,6 @@ public class ModeDeuxJoueurs implements Controleur {
             message.append("Match nul !");
         }
 
-        JOptionPane.showMessageDialog(null, message.toString());
+        modele.getAffichage().afficherMessage(message.toString());
     }
 }
\ No newline at end of file
@@ -1,130 +1,140 @@
 package controleur;
 
-import javax.swing.*;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
-
+import java.util.concurrent.ForkJoinPool;
+
+import controleur.generation.GenerateurPoisson;
+import controleur.generation.GenerateurRound;
+import controleur.generation.ReserveRounds;
+import controleur.generation.RoundGenere;
+import metriques.Chronometre;
+import metriques.Compteur;
+import metriques.Metriques;
 import modele.Modele;
 import modele.Forme;
-import modele.Cercle;
-import modele.Rectangle;
 
 /**
  * Cette classe gère le mode de jeu "Random" dans lequel des formes sont générées aléatoirement à chaque round.
  * L'objectif du joueur est de valider les formes générées avant qu'elles ne disparaissent.
  * Le niveau augmente à chaque round réussi.
- * 
- * Implémente le pattern Singleton pour garantir une seule instance du mode Random dans l'application.
  */
 public class ModeRandom implements Controleur {
 
-    /** Instance unique du Singleton */
-    private static ModeRandom instance;
-
     private Modele modele;
-    private Random rand;
+    private final GenerateurRound generateur;
+    private final long graine;
+    private ReserveRounds reserve;
     private int niveau;
     private static final int MAX_ROUNDS = 10;
-    private boolean attenteValidation;
+    private static final Compteur ROUNDS = Metriques.compteur("mode.random.rounds");
+    private static final Chronometre EFFACEMENT = Metriques.chronometre("mode.random.effacement");
+    private volatile boolean attenteValidation;
+    private volatile boolean terminee;
     private List<Forme> formesAttendu;
+    private final Planificateur planificateur;
+    private TachePlanifiee effacement;
 
     /**
-     * Constructeur privé pour empêcher l’instanciation externe (Singleton).
+     * Crée un mode Random avec le planificateur partagé et une graine tirée de l'horloge.
      */
-    private ModeRandom() {
-        this.rand = new Random();
-        this.niveau = 1;
-        this.attenteValidation = false;
+    public ModeRandom() {
+        this(PlanificateurPartage.getInstance(), new GenerateurPoisson(), System.nanoTime());
     }
 
     /**
-     * Retourne l'instance unique du mode Random.
-     * Crée l'instance si elle n'existe pas encore.
-     * 
-     * @return L'instance unique de ModeRandom.
+     * Crée un mode Random avec son propre planificateur
+     * et son propre générateur de rounds (une graine fixe rend la partie reproductible).
+     *
+     * @param planificateur Le planificateur des comptes à rebours.
+     * @param generateur    Le générateur des rounds.
+     * @param graine        La graine de la partie.
      */
-    public static ModeRandom getInstance() {
-        if (instance == null) {
-            instance = new ModeRandom();
-        }
-        return instance;
+    public ModeRandom(Planificateur planificateur, GenerateurRound generateur, long graine) {
+        this.generateur = generateur;
+        this.graine = graine;
+        this.planificateur = planificateur;
+        this.niveau = 1;
+        this.attenteValidation = false;
     }
 
     /**
      * Démarre le mode de jeu Random en initialisant le modèle et lançant le premier round.
+     * Les rounds de toute la partie sont générés en arrière-plan dès maintenant.
      * 
      * @param modele Le modèle de données du jeu.
      */
     @Override
     public void demarrer(Modele modele) {
+        this.reserve = new ReserveRounds(generateur, graine, MAX_ROUNDS, ForkJoinPool.commonPool());
         this.modele = modele;
         this.modele.setControleurActif(this);
         lancerRound();
     }
 
     /**
-     * Lance un round de jeu en générant des formes aléatoires à afficher.
+     * Reprend une partie restaurée au premier round qui n'a pas été validé.
+     * Avec la même graine, les rounds sont les mêmes qu'avant l'interruption.
+     *
+     * @param modele Le modèle restauré.
+     */
+    @Override
+    public void reprendre(Modele modele) {
+        modele.effacerFormesAll();
+        niveau = modele.getScores().size() + 1;
+        if (niveau > MAX_ROUNDS) {
+            this.modele = modele;
+            this.modele.setControleurActif(this);
+            niveau = MAX_ROUNDS;
+            prochaineEtape();
+        } else {
+            demarrer(modele);
+        }
+    }
+
+    /**
+     * Retourne la graine de la partie, à journaliser pour pouvoir la reprendre.
+     *
+     * @return La graine.
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Lance un round de jeu en affichant les formes générées pour ce niveau.
      * Les actions de l'utilisateur sont désactivées jusqu'à ce que les formes disparaissent.
      */
     private void lancerRound() {
         modele.effacerFormes();
-        formesAttendu = new ArrayList<>();
         attenteValidation = false;
 
         //Désactiver les actions pendant affichage des formes
         modele.setActionsActives(false);
 
-        int nbFormes = 4 + niveau;
-        int marge = 30;
-        int zone = 700;
-
-        // Génération des formes aléatoires
-        for (int i = 0; i < nbFormes; i++) {
-            boolean isCircle = rand.nextBoolean();
-
-            int size1 = rand.nextInt(Math.max(20, 100 - niveau * 10)) + 20;
-            int size2 = rand.nextInt(Math.max(20, 100 - niveau * 10)) + 20;
-
-            Forme forme;
-
-            if (isCircle) {
-                int maxX = zone - size1 - marge;
-                int minX = size1 + marge;
-                int x = rand.nextInt(maxX - minX) + minX;
-
-                int maxY = zone - size1 - marge;
-                int minY = size1 + marge;
-                int y = rand.nextInt(maxY - minY) + minY;
-
-                forme = new Cercle(x, y, size1);
-            } else {
-                int maxX = zone - size1 - marge;
-                int x = rand.nextInt(maxX - marge) + marge;
-
-                int maxY = zone - size2 - marge;
-                int y = rand.nextInt(maxY - marge) + marge;
-
-                forme = new Rectangle(x, y, size1, size2);
-            }
-
-            formesAttendu.add(forme);
-            modele.ajouterForme(forme);
-        }
+        // Le round a été généré à l'avance par la réserve
+        RoundGenere round = reserve.prendre(niveau);
+        formesAttendu = round.getFormes();
+        modele.ajouterFormes(formesAttendu);
+        ROUNDS.incrementer();
 
         //Attente avant disparition des formes
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
+        if (effacement != null) {
+            effacement.annuler();
+        }
+        // Arrêt vérifié sur le thread du modèle : une partie arrêtée a pu le rendre au pool
+        effacement = planificateur.planifier(EFFACEMENT.envelopper(() -> modele.executer(() -> {
+            if (!terminee) {
                 modele.effacerFormes();
-                attenteValidation = true;
-
-                //Réactivation des actions utilisateur
-                modele.setActionsActives(true);
+                // Comme le changement de phase du mode deux joueurs : la validation
+                // n'est permise qu'une fois l'effacement appliqué
+                modele.executer(() -> {
+                    attenteValidation = true;
+
+                    //Réactivation des actions utilisateur
+                    modele.setActionsActives(true);
+                });
             }
-        }, Math.max(2000, 10000 - (niveau * 1000)));
+        })), round.getDureeMemorisationMs());
     }
 
     /**
@@ -135,8 +145,10 @@ public class ModeRandom implements Controleur {
             niveau++;
             lancerRound();
         } else {
+            terminee = true;
+            modele.terminerPartie();
             modele.afficherResultatsSolo();
-            JOptionPane.showMessageDialog(null, "Partie terminée !");
+            modele.getAffichage().afficherMessage("Partie terminée !");
         }
     }
 
@@ -146,7 +158,7 @@ public class ModeRandom implements Controleur {
      */
     public void validerRound() {
         if (!attenteValidation) {
-            JOptionPane.showMessageDialog(null, "Attends que les formes disparaissent avant de valider !");
+            modele.getAffichage().afficherMessage("Attends que les formes disparaissent avant de valider !");
             return;
         }
 
@@ -159,16 +171,33 @@ public class ModeRandom implements Controleur {
      * Affiche les résultats et ferme l'application si confirmé.
      */
     public void quitterPartie() {
-        int reponse = JOptionPane.showConfirmDialog(
-            null,
-            "Voulez-vous quitter la partie ?",
-            "Confirmation",
-            JOptionPane.YES_NO_OPTION
-        );
-
-        if (reponse == JOptionPane.YES_OPTION) {
+        if (modele.getAffichage().demanderConfirmation("Voulez-vous quitter la partie ?")) {
+            terminee = true;
+            modele.terminerPartie();
             modele.afficherResultatsSolo();
-            System.exit(0);
+            modele.getAffichage().terminer();
+        }
+    }
+
+    /**
+     * Arrête la partie sans rien afficher : l'effacement planifié est annulé.
+     */
+    @Override
+    public void arreter() {
+        terminee = true;
+        attenteValidation = false;
+        if (effacement != null) {
+            effacement.annuler();
         }
     }
+
+    /**
+     * Indique si tous les rounds ont été joués ou si le joueur a quitté.
+     *
+     * @return true si la partie est terminée.
+     */
+    @Override
+    public boolean estTerminee() {
+        return terminee;
+    }
 }
@@ -0,0 +1,21 @@
+package controleur;
+
+/**
+ * Interface du service de planification utilisé par les modes de jeu
+ * pour les comptes à rebours (durée de mémorisation des formes).
+ *
+ * Les modes ne créent plus leurs propres threads : ils demandent au
+ * planificateur d'exécuter une action après un délai et gardent la poignée
+ * retournée pour pouvoir l'annuler.
+ */
+public interface Planificateur {
+
+    /**
+     * Planifie une action après un délai.
+     *
+     * @param action   L'action à exécuter.
+     * @param delaiMs  Le délai en millisecondes.
+     * @return Une poignée permettant d'annuler l'action.
+     */
+    TachePlanifiee planifier(Runnable action, long delaiMs);
+}
@@ -0,0 +1,194 @@
+package controleur;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Planificateur central partagé par tous les modes de jeu.
+ *
+ * Il repose sur un unique {@link ScheduledThreadPoolExecutor} dont les threads
+ * sont des démons : une longue session ne crée plus un thread par round, et les
+ * threads ne retiennent pas la JVM à la fermeture. Les tâches annulées sont
+ * retirées immédiatement de la file.
+ *
+ * Il tient aussi quelques statistiques : nombre de tâches planifiées, exécutées,
+ * annulées, en échec, et retard de déclenchement (moyen et maximal).
+ */
+public class PlanificateurPartage implements Planificateur {
+
+    private static PlanificateurPartage instance;
+
+    private final ScheduledThreadPoolExecutor executeur;
+
+    private final AtomicLong nbPlanifiees = new AtomicLong();
+    private final AtomicLong nbExecutees = new AtomicLong();
+    private final AtomicLong nbAnnulees = new AtomicLong();
+    private final AtomicLong nbEchecs = new AtomicLong();
+    private final AtomicLong retardCumuleNs = new AtomicLong();
+    private final AtomicLong retardMaxNs = new AtomicLong();
+
+    /**
+     * Retourne le planificateur partagé de l'application.
+     *
+     * @return L'instance unique.
+     */
+    public static synchronized PlanificateurPartage getInstance() {
+        if (instance == null) {
+            instance = new PlanificateurPartage(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        }
+        return instance;
+    }
+
+    /**
+     * Crée un planificateur avec un nombre de threads donné.
+     *
+     * @param nbThreads Le nombre de threads du pool.
+     */
+    public PlanificateurPartage(int nbThreads) {
+        this("planificateur-jeu", nbThreads);
+    }
+
+    /**
+     * Crée un planificateur dont les threads portent un nom donné, par exemple
+     * une minuterie à part dont les tâches ne se mêlent pas aux statistiques du jeu.
+     *
+     * @param nom       Le préfixe du nom des threads.
+     * @param nbThreads Le nombre de threads du pool.
+     */
+    public PlanificateurPartage(String nom, int nbThreads) {
+        AtomicInteger compteur = new AtomicInteger();
+        ThreadFactory fabrique = r -> {
+            Thread t = new Thread(r, nom + "-" + compteur.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        executeur = new ScheduledThreadPoolExecutor(nbThreads, fabrique);
+        executeur.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Planifie une action après un délai sur le pool partagé.
+     *
+     * @param action  L'action à exécuter.
+     * @param delaiMs Le délai en millisecondes.
+     * @return La poignée de la tâche.
+     */
+    @Override
+    public TachePlanifiee planifier(Runnable action, long delaiMs) {
+        long echeance = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delaiMs);
+        nbPlanifiees.incrementAndGet();
+
+        ScheduledFuture<?> future = executeur.schedule(() -> {
+            long retard = Math.max(0, System.nanoTime() - echeance);
+            retardCumuleNs.addAndGet(retard);
+            retardMaxNs.accumulateAndGet(retard, Math::max);
+            try {
+                action.run();
+                nbExecutees.incrementAndGet();
+            } catch (RuntimeException e) {
+                // Une action en échec ne doit pas bloquer les suivantes
+                nbEchecs.incrementAndGet();
+                e.printStackTrace();
+            }
+        }, delaiMs, TimeUnit.MILLISECONDS);
+
+        return new TachePlanifiee() {
+            @Override
+            public boolean annuler() {
+                boolean annulee = future.cancel(false);
+                if (annulee) {
+                    nbAnnulees.incrementAndGet();
+                }
+                return annulee;
+            }
+
+            @Override
+            public boolean estTerminee() {
+                return future.isDone();
+            }
+        };
+    }
+
+    /**
+     * Retourne le nombre de tâches en attente d'exécution.
+     *
+     * @return Le nombre de tâches en file.
+     */
+    public int getNbEnAttente() {
+        return executeur.getQueue().size();
+    }
+
+    /**
+     * Retourne le nombre de tâches planifiées depuis le démarrage.
+     *
+     * @return Le nombre de tâches planifiées.
+     */
+    public long getNbPlanifiees() {
+        return nbPlanifiees.get();
+    }
+
+    /**
+     * Retourne le nombre de tâches exécutées avec succès.
+     *
+     * @return Le nombre de tâches exécutées.
+     */
+    public long getNbExecutees() {
+        return nbExecutees.get();
+    }
+
+    /**
+     * Retourne le nombre de tâches annulées avant leur exécution.
+     *
+     * @return Le nombre de tâches annulées.
+     */
+    public long getNbAnnulees() {
+        return nbAnnulees.get();
+    }
+
+    /**
+     * Retourne le nombre de tâches terminées par une exception.
+     *
+     * @return Le nombre d'échecs.
+     */
+    public long getNbEchecs() {
+        return nbEchecs.get();
+    }
+
+    /**
+     * Retourne le retard moyen de déclenchement par rapport à l'échéance prévue.
+     *
+     * @return Le retard moyen en microsecondes.
+     */
+    public double getRetardMoyenUs() {
+        long declenchees = nbExecutees.get() + nbEchecs.get();
+        return (declenchees == 0) ? 0 : retardCumuleNs.get() / 1000.0 / declenchees;
+    }
+
+    /**
+     * Retourne le plus grand retard de déclenchement observé.
+     *
+     * @return Le retard maximal en microsecondes.
+     */
+    public double getRetardMaxUs() {
+        return retardMaxNs.get() / 1000.0;
+    }
+
+    /**
+     * Arrête le planificateur : les tâches en attente ne seront pas exécutées.
+     */
+    public void arreter() {
+        executeur.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Planificateur : %d planifiées, %d exécutées, %d annulées, %d en échec, "
+                + "%d en attente, retard moyen %.1f µs, max %.1f µs",
+            getNbPlanifiees(), getNbExecutees(), getNbAnnulees(), getNbEchecs(),
+            getNbEnAttente(), getRetardMoyenUs(), getRetardMaxUs());
+    }
+}
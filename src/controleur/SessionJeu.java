@@ -0,0 +1,147 @@
+package controleur;
+
+import java.util.function.LongSupplier;
+
+import modele.Modele;
+import modele.ObservateurModele;
+import modele.Partie;
+
+/**
+ * Une partie en cours, isolée des autres : son modèle, sa partie à deux joueurs
+ * et son contrôleur ne sont partagés avec aucune autre session.
+ *
+ * Les sessions sont créées et fermées par un {@link GestionnaireSessions}.
+ * Chaque changement des formes du modèle compte comme une activité ;
+ * {@link #toucher()} en signale d'autres (validation, message réseau...).
+ */
+public class SessionJeu {
+
+    private final long id;
+    private final String mode;
+    private final long graine;
+    private final Modele modele;
+    private final Partie partie;
+    private final Controleur controleur;
+    private final LongSupplier horloge;
+    private final ObservateurModele activite = lot -> toucher();
+    private volatile long derniereActiviteMs;
+    private volatile boolean fermee;
+
+    SessionJeu(long id, String mode, long graine, Modele modele, Partie partie,
+               Controleur controleur, LongSupplier horloge) {
+        this.id = id;
+        this.mode = mode;
+        this.graine = graine;
+        this.modele = modele;
+        this.partie = partie;
+        this.controleur = controleur;
+        this.horloge = horloge;
+        this.derniereActiviteMs = horloge.getAsLong();
+        modele.ajouterObservateur(activite);
+    }
+
+    /**
+     * Démarre la partie.
+     */
+    public void demarrer() {
+        toucher();
+        controleur.demarrer(modele);
+    }
+
+    /**
+     * Reprend une partie dont l'état vient d'être restauré dans le modèle et la partie.
+     */
+    public void reprendre() {
+        toucher();
+        controleur.reprendre(modele);
+    }
+
+    /**
+     * Signale une activité du joueur : la session ne sera pas jugée inactive avant un moment.
+     */
+    public void toucher() {
+        derniereActiviteMs = horloge.getAsLong();
+    }
+
+    /**
+     * Retourne la durée écoulée depuis la dernière activité.
+     *
+     * @param maintenantMs L'instant présent, selon l'horloge du gestionnaire.
+     * @return La durée d'inactivité en millisecondes.
+     */
+    public long getInactiviteMs(long maintenantMs) {
+        return maintenantMs - derniereActiviteMs;
+    }
+
+    /**
+     * Arrête le contrôleur et détache la session de son modèle.
+     */
+    void fermer() {
+        fermee = true;
+        controleur.arreter();
+        modele.retirerObservateur(activite);
+    }
+
+    /**
+     * Indique si la session a été fermée (explicitement ou pour inactivité).
+     *
+     * @return true si la session est fermée.
+     */
+    public boolean estFermee() {
+        return fermee;
+    }
+
+    /**
+     * Retourne l'identifiant de la session, unique pour son gestionnaire.
+     *
+     * @return L'identifiant.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Retourne le mode de jeu.
+     *
+     * @return SOLO, DEUX ou RANDOM.
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Retourne la graine de la partie (mode RANDOM).
+     *
+     * @return La graine.
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Retourne le modèle de la session.
+     *
+     * @return Le modèle.
+     */
+    public Modele getModele() {
+        return modele;
+    }
+
+    /**
+     * Retourne la partie à deux joueurs de la session (utilisée en mode DEUX).
+     *
+     * @return La partie.
+     */
+    public Partie getPartie() {
+        return partie;
+    }
+
+    /**
+     * Retourne le contrôleur du mode de jeu.
+     *
+     * @return Le contrôleur.
+     */
+    public Controleur getControleur() {
+        return controleur;
+    }
+}
@@ -0,0 +1,22 @@
+package controleur;
+
+/**
+ * Poignée sur une action planifiée par un {@link Planificateur}.
+ * Permet d'annuler l'action tant qu'elle n'a pas été exécutée.
+ */
+public interface TachePlanifiee {
+
+    /**
+     * Annule l'action si elle n'a pas encore commencé.
+     *
+     * @return true si l'action a bien été annulée.
+     */
+    boolean annuler();
+
+    /**
+     * Indique si l'action a été exécutée ou annulée.
+     *
+     * @return true si l'action ne s'exécutera plus.
+     */
+    boolean estTerminee();
+}
@@ -0,0 +1,25 @@
+package controleur.commande;
+
+/**
+ * Commande dont l'effet peut être annulé.
+ * {@link #execute()} applique l'action (ou la rejoue après une annulation)
+ * et {@link #annuler()} remet l'état tel qu'il était avant.
+ * Utilisée par {@link HistoriqueCommandes} pour les actions Undo/Redo.
+ */
+public interface CommandeReversible extends Commande {
+
+    /**
+     * Annule l'effet du dernier {@link #execute()}.
+     */
+    void annuler();
+
+    /**
+     * Retourne la place que la commande occupe dans l'historique,
+     * par exemple le nombre de formes qu'elle retient.
+     *
+     * @return Le poids de la commande, au moins 1.
+     */
+    default int getPoids() {
+        return 1;
+    }
+}
@@ -0,0 +1,30 @@
+package controleur.commande;
+import modele.Modele;
+
+/**
+ * Commande concrète pour l'action Version
+ * 
+ * Elle encapsule l'appel à la méthode {@code versionSuivante()} du modèle,
+ * permettant de revenir à un dessin abandonné par un Undo suivi d'un nouveau tracé.
+ * Implémente le patron de conception Command.
+ */
+public class CommandeVersion implements Commande {
+    private Modele modele;
+
+    /**
+     * Constructeur de la commande Version
+     *
+     * @param modele Le modèle dont on parcourt les versions.
+     */
+    public CommandeVersion(Modele modele) {
+        this.modele = modele;
+    }
+
+    /**
+     * Exécute le passage à la version suivante du dessin
+     */
+    @Override
+    public void execute() {
+        modele.versionSuivante();
+    }
+}
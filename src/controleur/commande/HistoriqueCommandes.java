@@ -0,0 +1,449 @@
+package controleur.commande;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Historique arborescent de commandes réversibles, pour les actions Undo/Redo.
+ *
+ * Chaque commande exécutée devient un nœud, enfant du nœud courant. Annuler remonte au parent
+ * et refaire redescend vers l'enfant actif : les deux sont en O(1). Exécuter une commande après
+ * une annulation crée une nouvelle branche sans effacer l'ancienne. Chaque feuille de l'arbre est
+ * ainsi une version de l'état, listée par {@link #getVersions()} et atteinte par {@link #allerA(Noeud)}.
+ *
+ * Les commandes sont des deltas. Un nœud sur {@code intervalleInstantanes} conserve en plus un
+ * instantané de l'état (fourni par {@link Etat}) : {@link #allerA(Noeud)} restaure l'instantané
+ * le plus proche au-dessus de la cible puis rejoue au plus {@code intervalleInstantanes} deltas,
+ * quand c'est moins coûteux que de défaire et refaire le chemin depuis le nœud courant.
+ *
+ * La mémoire est bornée par le poids des commandes ({@link CommandeReversible#getPoids()},
+ * le nombre de formes qu'elles retiennent) : au-delà de {@code capacite}, les nœuds les plus
+ * anciens (à la racine) sont oubliés, avec les branches qui partent d'eux et ne mènent pas au
+ * nœud courant. Une commande plus lourde que la capacité à elle seule ne peut pas être annulée.
+ *
+ * L'historique n'est pas synchronisé : il appartient au thread qui possède l'état qu'il modifie.
+ *
+ * @param <S> Le type des instantanés de l'état.
+ */
+public class HistoriqueCommandes<S> {
+
+    /** Poids maximal des commandes conservées par défaut */
+    public static final int CAPACITE_DEFAUT = 10_000;
+
+    /** Un nœud sur 64 conserve un instantané par défaut */
+    public static final int INTERVALLE_INSTANTANES_DEFAUT = 64;
+
+    /**
+     * Capture et restauration de l'état modifié par les commandes.
+     *
+     * @param <S> Le type des instantanés.
+     */
+    public interface Etat<S> {
+        /**
+         * Capture l'état courant. L'instantané ne doit plus changer ensuite.
+         *
+         * @return L'instantané.
+         */
+        S capturer();
+
+        /**
+         * Remet l'état dans celui d'un instantané.
+         *
+         * @param instantane L'instantané à restaurer.
+         */
+        void restaurer(S instantane);
+
+        /**
+         * Estime le coût de {@link #restaurer(Object)}, dans l'unité des poids des commandes,
+         * pour le comparer au coût des deltas à défaire et refaire.
+         *
+         * @param instantane L'instantané à restaurer.
+         * @return Le coût estimé ; 0 par défaut (un instantané est alors toujours préféré).
+         */
+        default long coutRestauration(S instantane) {
+            return 0;
+        }
+    }
+
+    /**
+     * Nœud de l'historique : une commande et l'état obtenu après elle.
+     *
+     * @param <S> Le type des instantanés.
+     */
+    public static final class Noeud<S> {
+        private CommandeReversible commande;
+        private int poids;
+        private final long profondeur;
+        private final List<Noeud<S>> enfants = new ArrayList<>(1);
+        private Noeud<S> parent;
+        private Noeud<S> enfantActif;
+        private S instantane;
+
+        private Noeud(CommandeReversible commande, Noeud<S> parent, long profondeur) {
+            this.commande = commande;
+            this.poids = (commande == null) ? 0 : Math.max(1, commande.getPoids());
+            this.parent = parent;
+            this.profondeur = profondeur;
+        }
+
+        /**
+         * Retourne la commande du nœud.
+         *
+         * @return La commande, ou null pour la racine (la commande d'une racine oubliée est relâchée).
+         */
+        public CommandeReversible getCommande() {
+            return commande;
+        }
+
+        /**
+         * Retourne le nombre de commandes entre le début de l'historique et ce nœud.
+         *
+         * @return La profondeur.
+         */
+        public long getProfondeur() {
+            return profondeur;
+        }
+    }
+
+    private final int intervalleInstantanes;
+    private final Etat<S> etat;
+    private int capacite;
+    private Noeud<S> racine;
+    private Noeud<S> courant;
+    private int taille;
+    private long poids;
+
+    /**
+     * Crée un historique sans instantanés, avec la capacité par défaut.
+     */
+    public HistoriqueCommandes() {
+        this(CAPACITE_DEFAUT, INTERVALLE_INSTANTANES_DEFAUT, null);
+    }
+
+    /**
+     * Crée un historique.
+     *
+     * @param capacite              Le poids maximal des commandes conservées.
+     * @param intervalleInstantanes Un nœud sur combien conserve un instantané.
+     * @param etat                  Capture et restaure l'état, ou null pour ne garder aucun instantané.
+     */
+    public HistoriqueCommandes(int capacite, int intervalleInstantanes, Etat<S> etat) {
+        if (capacite < 1 || intervalleInstantanes < 1) {
+            throw new IllegalArgumentException("Capacité et intervalle doivent être positifs");
+        }
+        this.capacite = capacite;
+        this.intervalleInstantanes = intervalleInstantanes;
+        this.etat = etat;
+        vider();
+    }
+
+    /**
+     * Exécute une commande et l'ajoute à l'historique, après le nœud courant.
+     *
+     * @param commande La commande.
+     */
+    public void executer(CommandeReversible commande) {
+        commande.execute();
+        enregistrer(commande);
+    }
+
+    /**
+     * Ajoute à l'historique une commande déjà exécutée.
+     *
+     * @param commande La commande.
+     */
+    public void enregistrer(CommandeReversible commande) {
+        Noeud<S> noeud = new Noeud<>(commande, courant, courant.profondeur + 1);
+        if (etat != null && noeud.profondeur % intervalleInstantanes == 0) {
+            noeud.instantane = etat.capturer();
+        }
+        courant.enfants.add(noeud);
+        courant.enfantActif = noeud;
+        courant = noeud;
+        taille++;
+        poids += noeud.poids;
+        oublierAnciens();
+    }
+
+    /**
+     * Indique s'il y a une commande à annuler.
+     *
+     * @return true si le nœud courant n'est pas la racine.
+     */
+    public boolean peutAnnuler() {
+        return courant != racine;
+    }
+
+    /**
+     * Indique s'il y a une commande à refaire.
+     *
+     * @return true si le nœud courant a un enfant actif.
+     */
+    public boolean peutRefaire() {
+        return courant.enfantActif != null;
+    }
+
+    /**
+     * Annule la commande du nœud courant et remonte à son parent.
+     *
+     * @return false s'il n'y avait rien à annuler.
+     */
+    public boolean annuler() {
+        if (courant == racine) return false;
+        courant.commande.annuler();
+        courant = courant.parent;
+        return true;
+    }
+
+    /**
+     * Refait la commande de l'enfant actif du nœud courant (la branche la plus récente,
+     * ou celle de la dernière version atteinte par {@link #allerA(Noeud)}).
+     *
+     * @return false s'il n'y avait rien à refaire.
+     */
+    public boolean refaire() {
+        Noeud<S> suivant = courant.enfantActif;
+        if (suivant == null) return false;
+        suivant.commande.execute();
+        courant = suivant;
+        return true;
+    }
+
+    /**
+     * Retourne le nœud courant.
+     *
+     * @return Le nœud de la dernière commande appliquée, ou la racine.
+     */
+    public Noeud<S> getCourant() {
+        return courant;
+    }
+
+    /**
+     * Retourne les versions de l'état : les feuilles de l'arbre, de la plus ancienne
+     * branche à la plus récente.
+     *
+     * @return Les feuilles, ou la racine seule si l'historique est vide.
+     */
+    public List<Noeud<S>> getVersions() {
+        List<Noeud<S>> versions = new ArrayList<>();
+        Deque<Noeud<S>> pile = new ArrayDeque<>();
+        pile.push(racine);
+        while (!pile.isEmpty()) {
+            Noeud<S> noeud = pile.pop();
+            if (noeud.enfants.isEmpty()) {
+                versions.add(noeud);
+            }
+            for (int i = noeud.enfants.size() - 1; i >= 0; i--) {
+                pile.push(noeud.enfants.get(i));
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Retourne la version sur laquelle se trouve le nœud courant : la feuille
+     * qu'atteindraient des {@link #refaire()} successifs.
+     *
+     * @return La feuille.
+     */
+    public Noeud<S> getVersionCourante() {
+        Noeud<S> noeud = courant;
+        while (noeud.enfantActif != null) {
+            noeud = noeud.enfantActif;
+        }
+        return noeud;
+    }
+
+    /**
+     * Amène l'état à celui d'un nœud quelconque de l'historique, dans n'importe quelle branche.
+     * Deux chemins sont possibles : défaire les commandes jusqu'à l'ancêtre commun du nœud
+     * courant et de la cible puis refaire celles de la branche visée, ou restaurer l'instantané
+     * le plus proche au-dessus de la cible puis rejouer les commandes qui l'en séparent.
+     * Le moins coûteux est choisi, d'après les poids des commandes et
+     * {@link Etat#coutRestauration(Object)}.
+     *
+     * @param cible Le nœud à atteindre.
+     * @throws IllegalArgumentException si le nœud ne fait plus partie de l'historique.
+     */
+    public void allerA(Noeud<S> cible) {
+        // Chemin de la racine à la cible : le nœud de profondeur p est à l'indice p - profondeur(racine)
+        List<Noeud<S>> chemin = new ArrayList<>();
+        for (Noeud<S> n = cible; n != null; n = n.parent) {
+            chemin.add(n);
+        }
+        Collections.reverse(chemin);
+        if (chemin.get(0) != racine) {
+            throw new IllegalArgumentException("Ce nœud a été oublié par l'historique");
+        }
+        // Le chemin devient celui que suivra refaire(), et celui que garde l'oubli des anciens nœuds
+        for (int i = 0; i + 1 < chemin.size(); i++) {
+            chemin.get(i).enfantActif = chemin.get(i + 1);
+        }
+
+        // Coût des deltas : défaire jusqu'à l'ancêtre commun, puis refaire jusqu'à la cible
+        Noeud<S> ancetre = courant;
+        long coutDeltas = 0;
+        while (!estSurChemin(ancetre, chemin)) {
+            coutDeltas += ancetre.poids;
+            ancetre = ancetre.parent;
+        }
+        int depart = (int) (ancetre.profondeur - racine.profondeur);
+        for (int i = depart + 1; i < chemin.size(); i++) {
+            coutDeltas += chemin.get(i).poids;
+        }
+
+        // Coût de l'instantané le plus proche au-dessus de la cible, puis des deltas qui suivent
+        int instantane = -1;
+        long coutInstantane = 0;
+        if (etat != null) {
+            for (int i = chemin.size() - 1; i >= 0 && instantane < 0; i--) {
+                Noeud<S> noeud = chemin.get(i);
+                if (noeud.instantane != null) {
+                    instantane = i;
+                    coutInstantane += etat.coutRestauration(noeud.instantane);
+                } else {
+                    coutInstantane += noeud.poids;
+                }
+            }
+        }
+
+        if (instantane >= 0 && coutInstantane < coutDeltas) {
+            etat.restaurer(chemin.get(instantane).instantane);
+            depart = instantane;
+        } else {
+            while (courant != ancetre) {
+                courant.commande.annuler();
+                courant = courant.parent;
+            }
+        }
+
+        for (int i = depart + 1; i < chemin.size(); i++) {
+            chemin.get(i).commande.execute();
+        }
+        courant = cible;
+    }
+
+    private boolean estSurChemin(Noeud<S> noeud, List<Noeud<S>> chemin) {
+        long i = noeud.profondeur - racine.profondeur;
+        return i < chemin.size() && chemin.get((int) i) == noeud;
+    }
+
+    /**
+     * Vide l'historique. L'état courant devient la nouvelle racine.
+     */
+    public void vider() {
+        racine = new Noeud<>(null, null, 0);
+        courant = racine;
+        taille = 0;
+        poids = 0;
+    }
+
+    /**
+     * Retourne le nombre de commandes conservées, toutes branches confondues.
+     *
+     * @return Le nombre de nœuds hors racine.
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Retourne le poids des commandes conservées, toutes branches confondues,
+     * celui que borne la capacité.
+     *
+     * @return La somme des poids des nœuds hors racine.
+     */
+    public long poids() {
+        return poids;
+    }
+
+    /**
+     * Change le poids maximal des commandes conservées ; les plus anciennes sont oubliées au besoin.
+     *
+     * @param capacite La nouvelle capacité.
+     */
+    public void setCapacite(int capacite) {
+        if (capacite < 1) {
+            throw new IllegalArgumentException("La capacité doit être positive");
+        }
+        this.capacite = capacite;
+        oublierAnciens();
+    }
+
+    /**
+     * Oublie les nœuds les plus anciens tant que la capacité est dépassée. L'enfant actif
+     * de la racine est sur le chemin du nœud courant : il devient la nouvelle racine,
+     * et les autres branches de l'ancienne racine sont abandonnées.
+     * Si le nœud courant est la racine (tout a été annulé), tout l'historique est à refaire :
+     * voir {@link #oublierFutur()}.
+     */
+    private void oublierAnciens() {
+        while (poids > capacite && courant != racine) {
+            Noeud<S> nouvelleRacine = racine.enfantActif;
+            for (Noeud<S> branche : racine.enfants) {
+                if (branche != nouvelleRacine) {
+                    oublierSousArbre(branche);
+                }
+            }
+            racine.enfants.clear();
+            nouvelleRacine.parent = null;
+            // La racine n'est jamais annulée : sa commande peut être relâchée
+            nouvelleRacine.commande = null;
+            taille--;
+            poids -= nouvelleRacine.poids;
+            nouvelleRacine.poids = 0;
+            racine = nouvelleRacine;
+        }
+        if (poids > capacite) {
+            oublierFutur();
+        }
+    }
+
+    /**
+     * Ramène l'historique sous sa capacité quand le nœud courant est la racine.
+     * Les branches qui ne sont pas sur le chemin de {@link #refaire()} sont oubliées d'abord,
+     * en partant de la racine ; si cela ne suffit pas, la fin de ce chemin est coupée.
+     */
+    private void oublierFutur() {
+        for (Noeud<S> noeud = racine; noeud != null && poids > capacite; noeud = noeud.enfantActif) {
+            for (Iterator<Noeud<S>> it = noeud.enfants.iterator(); it.hasNext() && poids > capacite; ) {
+                Noeud<S> branche = it.next();
+                if (branche != noeud.enfantActif) {
+                    oublierSousArbre(branche);
+                    it.remove();
+                }
+            }
+        }
+        if (poids > capacite) {
+            // Il ne reste que le chemin de refaire() : on garde son début, tant qu'il tient
+            Noeud<S> dernier = racine;
+            long garde = 0;
+            while (dernier.enfantActif != null && garde + dernier.enfantActif.poids <= capacite) {
+                dernier = dernier.enfantActif;
+                garde += dernier.poids;
+            }
+            if (dernier.enfantActif != null) {
+                oublierSousArbre(dernier.enfantActif);
+                dernier.enfants.clear();
+                dernier.enfantActif = null;
+            }
+        }
+    }
+
+    private void oublierSousArbre(Noeud<S> noeud) {
+        Deque<Noeud<S>> pile = new ArrayDeque<>();
+        pile.push(noeud);
+        while (!pile.isEmpty()) {
+            Noeud<S> n = pile.pop();
+            taille--;
+            poids -= n.poids;
+            for (Noeud<S> enfant : n.enfants) {
+                pile.push(enfant);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package controleur.evaluation;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Correspondance entre les noms des stratégies d'évaluation et les stratégies elles-mêmes.
+ *
+ * Le jeu et le journal utilisent les noms affichés (Similarité, Précision, Affectation),
+ * la ligne de commande des identifiants sans accent (similarite, precision, affectation) :
+ * les deux formes sont acceptées, sans tenir compte des majuscules ni des accents.
+ */
+public final class CatalogueStrategies {
+
+    /** Nom affiché de la stratégie par défaut */
+    public static final String SIMILARITE = "Similarité";
+    /** Nom affiché de la stratégie par précision */
+    public static final String PRECISION = "Précision";
+    /** Nom affiché de la stratégie par appariement optimal */
+    public static final String AFFECTATION = "Affectation";
+
+    private CatalogueStrategies() {
+    }
+
+    /**
+     * Retourne le nom affiché d'une stratégie, tel qu'il est enregistré dans le journal.
+     *
+     * @param nom Un nom affiché ou un identifiant (ex. Précision, precision).
+     * @return Le nom affiché.
+     * @throws IllegalArgumentException si la stratégie est inconnue.
+     */
+    public static String nomAffiche(String nom) {
+        String id = Normalizer.normalize(nom, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "")
+            .toLowerCase(Locale.ROOT);
+        switch (id) {
+            case "similarite":
+                return SIMILARITE;
+            case "precision":
+                return PRECISION;
+            case "affectation":
+                return AFFECTATION;
+            default:
+                throw new IllegalArgumentException("Stratégie inconnue : " + nom);
+        }
+    }
+
+    /**
+     * Retourne la stratégie d'évaluation correspondant à un nom.
+     *
+     * @param nom Un nom affiché ou un identifiant (ex. Précision, precision).
+     * @return Un fournisseur de nouvelles instances de la stratégie.
+     * @throws IllegalArgumentException si la stratégie est inconnue.
+     */
+    public static Supplier<EvaluationStrategy> fabrique(String nom) {
+        switch (nomAffiche(nom)) {
+            case PRECISION:
+                return EvaluationParPrecision::new;
+            case AFFECTATION:
+                // Appariement optimal : l'ordre de dessin n'a plus d'importance
+                return () -> new EvaluationParAffectation(new EvaluationParSimilarite());
+            default:
+                return EvaluationParSimilarite::new;
+        }
+    }
+}
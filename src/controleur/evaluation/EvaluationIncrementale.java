@@ -0,0 +1,111 @@
+package controleur.evaluation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import modele.Forme;
+
+/**
+ * Score d'une reproduction tenu à jour forme par forme, pour les stratégies
+ * qui apparient la i-ème forme proposée avec la i-ème forme de référence.
+ *
+ * L'évaluateur garde les sommes préfixes des scores par paire : ajouter une forme
+ * note une seule paire, retirer la dernière (undo) revient à oublier une somme,
+ * et le score courant se lit en O(1). Les sommes s'accumulent dans l'ordre des paires,
+ * comme dans {@link EvaluationStrategy#evaluer(List, List)} : le score est exactement
+ * celui de l'évaluation complète de la même proposition.
+ *
+ * Un évaluateur n'est utilisé que par un thread à la fois.
+ */
+public final class EvaluationIncrementale {
+
+    private final List<Forme> reference;
+    private final ScoreForme bareme;
+    private final boolean scoresEntiers;
+
+    /** sommes[k] : somme des scores des k premières paires */
+    private double[] sommes = new double[16];
+    private int taille;
+
+    /**
+     * Crée un évaluateur pour une proposition vide.
+     *
+     * @param reference     Les formes attendues, liste qui ne doit plus être modifiée.
+     * @param bareme        Le score d'une paire.
+     * @param scoresEntiers true si chaque score de paire est tronqué à l'entier avant d'être additionné
+     *                      (barème Précision), false pour additionner les scores réels (barème Similarité).
+     */
+    public EvaluationIncrementale(List<Forme> reference, ScoreForme bareme, boolean scoresEntiers) {
+        this.reference = reference;
+        this.bareme = bareme;
+        this.scoresEntiers = scoresEntiers;
+    }
+
+    /**
+     * Ajoute une forme à la fin de la proposition, en O(1).
+     *
+     * @param f La forme dessinée.
+     */
+    public void ajouter(Forme f) {
+        // Au-delà de la référence, les formes en trop ne sont pas notées
+        if (taille < reference.size()) {
+            double score = bareme.scorer(reference.get(taille), f);
+            if (scoresEntiers) {
+                score = (int) score;
+            }
+            if (taille + 1 >= sommes.length) {
+                sommes = Arrays.copyOf(sommes, sommes.length * 2);
+            }
+            sommes[taille + 1] = sommes[taille] + score;
+        }
+        taille++;
+    }
+
+    /**
+     * Retire la dernière forme de la proposition, en O(1).
+     *
+     * @throws IllegalStateException si la proposition est vide.
+     */
+    public void retirerDerniere() {
+        if (taille == 0) {
+            throw new IllegalStateException("Aucune forme à retirer");
+        }
+        taille--;
+    }
+
+    /**
+     * Vide la proposition.
+     */
+    public void vider() {
+        taille = 0;
+    }
+
+    /**
+     * Retourne le nombre de formes de la proposition.
+     *
+     * @return Le nombre de formes.
+     */
+    public int getTaille() {
+        return taille;
+    }
+
+    /**
+     * Retourne les formes de référence.
+     *
+     * @return La référence.
+     */
+    public List<Forme> getReference() {
+        return reference;
+    }
+
+    /**
+     * Retourne le score de la proposition courante, en O(1).
+     *
+     * @return Un score sur 100, identique à celui de l'évaluation complète.
+     */
+    public int getScore() {
+        if (reference.isEmpty() || taille == 0) return 0;
+        int n = Math.min(reference.size(), taille);
+        return scoresEntiers ? (int) sommes[n] / n : (int) (sommes[n] / n);
+    }
+}
@@ -0,0 +1,260 @@
+package controleur.evaluation;
+
+import modele.Forme;
+import metriques.Chronometre;
+import metriques.Metriques;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stratégie d'évaluation qui ne dépend pas de l'ordre dans lequel le joueur dessine.
+ *
+ * Au lieu d'apparier la i-ème forme de référence avec la i-ème forme proposée,
+ * elle construit la matrice des coûts référence × proposition à partir d'un barème
+ * par paire ({@link ScoreForme}) et cherche l'affectation qui maximise le score total
+ * avec l'algorithme hongrois (variante de Jonker-Volgenant, en O(n³)).
+ *
+ * Au-delà d'une taille configurable, l'appariement optimal devient trop coûteux :
+ * on se rabat alors sur un appariement glouton en O(n × m).
+ *
+ * Les tableaux de travail (matrice des coûts, potentiels) sont propres à chaque thread
+ * et réutilisés d'une évaluation à l'autre : la stratégie peut être appelée en parallèle
+ * (voir {@link EvaluationStrategy#evaluerLot}) sans allouer à chaque paire.
+ */
+public class EvaluationParAffectation implements EvaluationStrategy {
+
+    /** Nombre de formes au-delà duquel on passe à l'appariement glouton */
+    public static final int SEUIL_GLOUTON_DEFAUT = 256;
+
+    private static final Chronometre CHRONO = Metriques.chronometre("evaluation.affectation");
+
+    private final ScoreForme bareme;
+    private final int seuilGlouton;
+
+    /**
+     * Tableaux de travail d'un thread, agrandis au besoin et jamais rétrécis.
+     * Leur taille est bornée par le seuil glouton (la matrice n'est construite qu'en dessous).
+     */
+    private static final class Tampons {
+        double[] cout = new double[0];
+        double[] u = new double[0];
+        double[] v = new double[0];
+        double[] minv = new double[0];
+        int[] p = new int[0];
+        int[] chemin = new int[0];
+        boolean[] utilise = new boolean[0];
+        boolean[] prise = new boolean[0];
+
+        double[] cout(int taille) {
+            if (cout.length < taille) cout = new double[taille];
+            return cout;
+        }
+
+        void preparerHongrois(int n, int m) {
+            if (u.length < n + 1) u = new double[n + 1];
+            if (v.length < m + 1) {
+                v = new double[m + 1];
+                minv = new double[m + 1];
+                p = new int[m + 1];
+                chemin = new int[m + 1];
+                utilise = new boolean[m + 1];
+            }
+            Arrays.fill(u, 0, n + 1, 0);
+            Arrays.fill(v, 0, m + 1, 0);
+            Arrays.fill(p, 0, m + 1, 0);
+        }
+
+        boolean[] prise(int m) {
+            if (prise.length < m) prise = new boolean[m];
+            Arrays.fill(prise, 0, m, false);
+            return prise;
+        }
+    }
+
+    private static final ThreadLocal<Tampons> TAMPONS = ThreadLocal.withInitial(Tampons::new);
+
+    /**
+     * Constructeur avec le seuil glouton par défaut.
+     *
+     * @param bareme Le barème utilisé pour noter chaque paire de formes.
+     */
+    public EvaluationParAffectation(ScoreForme bareme) {
+        this(bareme, SEUIL_GLOUTON_DEFAUT);
+    }
+
+    /**
+     * Constructeur complet.
+     *
+     * @param bareme       Le barème utilisé pour noter chaque paire de formes.
+     * @param seuilGlouton Nombre de formes (côté le plus grand) au-delà duquel
+     *                     l'appariement glouton remplace l'algorithme hongrois.
+     */
+    public EvaluationParAffectation(ScoreForme bareme, int seuilGlouton) {
+        if (bareme == null) {
+            throw new IllegalArgumentException("Le barème ne peut pas être null");
+        }
+        this.bareme = bareme;
+        this.seuilGlouton = seuilGlouton;
+    }
+
+    /**
+     * Évalue la proposition en appariant chaque forme à sa meilleure correspondante.
+     * Comme pour les autres stratégies, le score est la moyenne sur le nombre
+     * de formes comparables (le minimum des deux tailles).
+     *
+     * @param reference   Liste des formes de référence (à mémoriser).
+     * @param proposition Liste des formes dessinées par le joueur.
+     * @return Un score global entre 0 et 100.
+     */
+    @Override
+    public int evaluer(List<Forme> reference, List<Forme> proposition) {
+        long debut = CHRONO.debut();
+        try {
+            if (reference.isEmpty() || proposition.isEmpty()) return 0;
+
+            // L'algorithme hongrois demande au moins autant de colonnes que de lignes
+            boolean transpose = reference.size() > proposition.size();
+            Forme[] lignes = (transpose ? proposition : reference).toArray(new Forme[0]);
+            Forme[] colonnes = (transpose ? reference : proposition).toArray(new Forme[0]);
+            int n = lignes.length;
+            int m = colonnes.length;
+
+            Tampons tampons = TAMPONS.get();
+            if (m > seuilGlouton) {
+                return (int) (affecterGlouton(lignes, colonnes, transpose, tampons.prise(m)) / n);
+            }
+
+            // Matrice des coûts à plat : on minimise l'opposé du score
+            double[] cout = tampons.cout(n * m);
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < m; j++) {
+                    cout[i * m + j] = -scorer(lignes[i], colonnes[j], transpose);
+                }
+            }
+
+            int[] affectation = affecterHongrois(cout, n, m, tampons);
+
+            double totalScore = 0;
+            for (int i = 0; i < n; i++) {
+                totalScore -= cout[i * m + affectation[i]];
+            }
+
+            return (int) (totalScore / n);
+        } finally {
+            CHRONO.terminer(debut);
+        }
+    }
+
+    /**
+     * Note une paire ligne/colonne en remettant la référence en premier argument.
+     */
+    private double scorer(Forme ligne, Forme colonne, boolean transpose) {
+        return transpose ? bareme.scorer(colonne, ligne) : bareme.scorer(ligne, colonne);
+    }
+
+    /**
+     * Calcule l'affectation de coût minimal (algorithme hongrois avec potentiels).
+     * Les tableaux internes sont indexés à partir de 1, la colonne 0 servant de sentinelle.
+     *
+     * @param cout Matrice des coûts à plat, ligne par ligne.
+     * @param n    Nombre de lignes (n ≤ m).
+     * @param m    Nombre de colonnes.
+     * @param t    Les tableaux de travail du thread courant.
+     * @return Pour chaque ligne, l'indice de la colonne affectée.
+     */
+    private static int[] affecterHongrois(double[] cout, int n, int m, Tampons t) {
+        t.preparerHongrois(n, m);
+        double[] u = t.u;
+        double[] v = t.v;
+        int[] p = t.p;              // p[j] : ligne affectée à la colonne j
+        int[] chemin = t.chemin;    // colonne précédente sur le chemin augmentant
+        double[] minv = t.minv;
+        boolean[] utilise = t.utilise;
+
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, 0, m + 1, Double.POSITIVE_INFINITY);
+            Arrays.fill(utilise, 0, m + 1, false);
+
+            do {
+                utilise[j0] = true;
+                int i0 = p[j0];
+                int base = (i0 - 1) * m;
+                double delta = Double.POSITIVE_INFINITY;
+                int j1 = 0;
+
+                for (int j = 1; j <= m; j++) {
+                    if (!utilise[j]) {
+                        double reduit = cout[base + j - 1] - u[i0] - v[j];
+                        if (reduit < minv[j]) {
+                            minv[j] = reduit;
+                            chemin[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+
+                for (int j = 0; j <= m; j++) {
+                    if (utilise[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+
+            // Inversion du chemin augmentant
+            do {
+                int j1 = chemin[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] affectation = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (p[j] != 0) {
+                affectation[p[j] - 1] = j - 1;
+            }
+        }
+        return affectation;
+    }
+
+    /**
+     * Affectation gloutonne : chaque ligne prend, dans l'ordre, la colonne libre
+     * de meilleur score. Non optimale, mais en O(n × m) sans construire la matrice,
+     * ce qui la rend utilisable sur de très grands dessins.
+     *
+     * @param lignes    Les formes du côté le plus petit.
+     * @param colonnes  Les formes du côté le plus grand.
+     * @param transpose true si les lignes sont les formes proposées.
+     * @param prise     Tableau de travail (remis à false) marquant les colonnes déjà affectées.
+     * @return Le score total de l'affectation obtenue.
+     */
+    private double affecterGlouton(Forme[] lignes, Forme[] colonnes, boolean transpose, boolean[] prise) {
+        double totalScore = 0;
+
+        for (Forme ligne : lignes) {
+            int meilleure = -1;
+            double meilleurScore = -1;
+            for (int j = 0; j < colonnes.length; j++) {
+                if (prise[j]) continue;
+                double score = scorer(ligne, colonnes[j], transpose);
+                if (score > meilleurScore) {
+                    meilleurScore = score;
+                    meilleure = j;
+                }
+            }
+            prise[meilleure] = true;
+            totalScore += meilleurScore;
+        }
+        return totalScore;
+    }
+}
@@ -3,6 +3,9 @@ package controleur.evaluation;
 import modele.Forme;
 import modele.Cercle;
 import modele.Rectangle;
+import modele.TamponFormes;
+import metriques.Chronometre;
+import metriques.Metriques;
 
 import java.util.List;
 
@@ -14,10 +17,12 @@ import java.util.List;
  * - Si les types ne correspondent pas : score nul
  * - Si la position ou la taille est trop éloignée : pénalité forte
  */
-public class EvaluationParPrecision implements EvaluationStrategy {
+public class EvaluationParPrecision implements EvaluationStrategy, ScoreForme {
 
-    private static final int SEUIL_DISTANCE = 40;  // seuil max pour que la position soit considérée correcte
-    private static final int SEUIL_TAILLE = 15;    // seuil max pour les écarts de taille acceptables
+    private static final Chronometre CHRONO = Metriques.chronometre("evaluation.precision");
+
+    static final int SEUIL_DISTANCE = 40;  // seuil max pour que la position soit considérée correcte
+    static final int SEUIL_TAILLE = 15;    // seuil max pour les écarts de taille acceptables
 
     /**
      * Évalue la qualité d'une proposition par rapport à une référence.
@@ -30,60 +35,82 @@ public class EvaluationParPrecision implements EvaluationStrategy {
      */
     @Override
     public int evaluer(List<Forme> reference, List<Forme> proposition) {
-        if (reference.isEmpty() || proposition.isEmpty()) return 0;
-
-        int scoreTotal = 0;
-        int nbComparables = Math.min(reference.size(), proposition.size());
-
-        for (int i = 0; i < nbComparables; i++) {
-            Forme f1 = reference.get(i);
-            Forme f2 = proposition.get(i);
+        long debut = CHRONO.debut();
+        try {
+            if (reference.isEmpty() || proposition.isEmpty()) return 0;
 
-            // Type différent --> score nul pour cette forme
-            if (!f1.getClass().equals(f2.getClass())) continue;
+            int scoreTotal = 0;
+            int nbComparables = Math.min(reference.size(), proposition.size());
 
-            int scoreForme = 0;
+            for (int i = 0; i < nbComparables; i++) {
+                scoreTotal += (int) scorer(reference.get(i), proposition.get(i));
+            }
 
-            if (f1 instanceof Cercle && f2 instanceof Cercle) {
-		    Cercle c1 = (Cercle) f1;
-		    Cercle c2 = (Cercle) f2;
-		    double dist = distance(c1.getX(), c1.getY(), c2.getX(), c2.getY());
-		    double diffRayon = Math.abs(c1.getRayon() - c2.getRayon());
-
-		    if (dist < SEUIL_DISTANCE) scoreForme += 40;
-		    if (diffRayon < SEUIL_TAILLE) scoreForme += 30;
-		    scoreForme += 30;
-		}
-
-		if (f1 instanceof Rectangle && f2 instanceof Rectangle) {
-		    Rectangle r1 = (Rectangle) f1;
-		    Rectangle r2 = (Rectangle) f2;
-		    double dist = distance(r1.getX(), r1.getY(), r2.getX(), r2.getY());
-		    double diffL = Math.abs(r1.getLargeur() - r2.getLargeur());
-		    double diffH = Math.abs(r1.getHauteur() - r2.getHauteur());
+            return scoreTotal / nbComparables;
+        } finally {
+            CHRONO.terminer(debut);
+        }
+    }
 
-		    if (dist < SEUIL_DISTANCE) scoreForme += 30;
-		    if (diffL < SEUIL_TAILLE) scoreForme += 20;
-		    if (diffH < SEUIL_TAILLE) scoreForme += 20;
-		    scoreForme += 30;
-		}
+    /**
+     * Calcule le score de précision d'une seule paire de formes.
+     * Un type différent donne un score nul ; sinon chaque critère
+     * (position, dimensions) respecté rapporte ses points.
+     *
+     * @param f1 La forme de référence.
+     * @param f2 La forme proposée.
+     * @return Le score de la paire, entre 0 et 100.
+     */
+    @Override
+    public double scorer(Forme f1, Forme f2) {
+        // Type différent --> score nul pour cette forme
+        if (!f1.getClass().equals(f2.getClass())) return 0;
+
+        if (f1 instanceof Cercle) {
+            Cercle c1 = (Cercle) f1;
+            Cercle c2 = (Cercle) f2;
+            return NoyauEvaluation.precisionCercles(c1.getX(), c1.getY(), c1.getRayon(), c2.getX(), c2.getY(), c2.getRayon());
+        }
 
-            scoreTotal += scoreForme;
+        if (f1 instanceof Rectangle) {
+            Rectangle r1 = (Rectangle) f1;
+            Rectangle r2 = (Rectangle) f2;
+            return NoyauEvaluation.precisionRectangles(r1.getX(), r1.getY(), r1.getLargeur(), r1.getHauteur(),
+                                                       r2.getX(), r2.getY(), r2.getLargeur(), r2.getHauteur());
         }
 
-        return scoreTotal / nbComparables;
+        return 0;
+    }
+
+    /**
+     * Les paires sont notées indépendamment, dans l'ordre : le score se tient à jour forme par forme.
+     *
+     * @param reference Les formes attendues.
+     * @return Un évaluateur incrémental au barème Précision (scores de paire entiers).
+     */
+    @Override
+    public EvaluationIncrementale incrementale(List<Forme> reference) {
+        return new EvaluationIncrementale(reference, this, true);
     }
 
     /**
-     * Calcule la distance euclidienne entre deux points
+     * Évalue deux tampons de formes avec le noyau par blocs ({@link NoyauEvaluation}),
+     * avec exactement le même barème que {@link #evaluer(List, List)}.
      *
-     * @param x1 Coordonnée X du point 1.
-     * @param y1 Coordonnée Y du point 1.
-     * @param x2 Coordonnée X du point 2.
-     * @param y2 Coordonnée Y du point 2.
-     * @return Distance euclidienne.
+     * @param reference   Les formes de référence (à mémoriser).
+     * @param proposition Les formes dessinées par le joueur.
+     * @return Un score global entre 0 et 100.
      */
-    private double distance(int x1, int y1, int x2, int y2) {
-        return Math.hypot(x1 - x2, y1 - y2);
+    @Override
+    public int evaluer(TamponFormes reference, TamponFormes proposition) {
+        long debut = CHRONO.debut();
+        try {
+            if (reference.taille() == 0 || proposition.taille() == 0) return 0;
+
+            int nbComparables = Math.min(reference.taille(), proposition.taille());
+            return NoyauEvaluation.sommePrecision(reference, proposition, nbComparables) / nbComparables;
+        } finally {
+            CHRONO.terminer(debut);
+        }
     }
 }
\ No newline at end of file
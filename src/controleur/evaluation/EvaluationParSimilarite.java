@@ -3,6 +3,9 @@ package controleur.evaluation;
 import modele.Forme;
 import modele.Cercle;
 import modele.Rectangle;
+import modele.TamponFormes;
+import metriques.Chronometre;
+import metriques.Metriques;
 
 import java.util.List;
 
@@ -12,7 +15,9 @@ import java.util.List;
  * la similarité des formes (type, position et taille)
  */
 
-public class EvaluationParSimilarite implements EvaluationStrategy {
+public class EvaluationParSimilarite implements EvaluationStrategy, ScoreForme {
+
+    private static final Chronometre CHRONO = Metriques.chronometre("evaluation.similarite");
 
     /**
      * Évalue la similarité entre deux listes de formes : la référence (originale)
@@ -25,65 +30,80 @@ public class EvaluationParSimilarite implements EvaluationStrategy {
 
     @Override
     public int evaluer(List<Forme> reference, List<Forme> proposition) {
-        if (reference.isEmpty() || proposition.isEmpty()) return 0;
-
-        int taille = Math.min(reference.size(), proposition.size());
-        double totalScore = 0;
-
-        for (int i = 0; i < taille; i++) {
-            Forme f1 = reference.get(i);
-            Forme f2 = proposition.get(i);
-            double scoreForme = 0;
-
-            if (f1.getClass() == f2.getClass()) {
-                scoreForme += 30;
-
-                if (f1 instanceof Cercle && f2 instanceof Cercle) {
-                    Cercle c1 = (Cercle) f1;
-                    Cercle c2 = (Cercle) f2;
-                    scoreForme += calculerScorePosition(c1.getX(), c1.getY(), c2.getX(), c2.getY());
-                    scoreForme += calculerScoreTaille(c1.getRayon(), c2.getRayon());
-                }
-
-                if (f1 instanceof Rectangle && f2 instanceof Rectangle) {
-                    Rectangle r1 = (Rectangle) f1;
-                    Rectangle r2 = (Rectangle) f2;
-                    scoreForme += calculerScorePosition(r1.getX(), r1.getY(), r2.getX(), r2.getY());
-                    scoreForme += calculerScoreTaille(r1.getLargeur(), r2.getLargeur());
-                    scoreForme += calculerScoreTaille(r1.getHauteur(), r2.getHauteur());
-                }
+        long debut = CHRONO.debut();
+        try {
+            if (reference.isEmpty() || proposition.isEmpty()) return 0;
+
+            int taille = Math.min(reference.size(), proposition.size());
+            double totalScore = 0;
+
+            for (int i = 0; i < taille; i++) {
+                totalScore += scorer(reference.get(i), proposition.get(i));
             }
 
-            totalScore += scoreForme;
+            return (int) (totalScore / taille);
+        } finally {
+            CHRONO.terminer(debut);
         }
-
-        return (int) (totalScore / taille);
     }
 
     /**
-     * Calcule un score en fonction de la distance entre deux points
+     * Calcule la similarité d'une seule paire de formes : 30 points si le type
+     * correspond, puis des points pour la position et pour chaque dimension.
      *
-     * @param x1 Coordonnée X de la première forme
-     * @param y1 Coordonnée Y de la première forme
-     * @param x2 Coordonnée X de la seconde forme
-     * @param y2 Coordonnée Y de la seconde forme
-     * @return Un score basé sur la distance entre les deux positions (max 40)
+     * @param f1 La forme de référence.
+     * @param f2 La forme proposée.
+     * @return Le score de la paire (0 si les types diffèrent).
      */
+    @Override
+    public double scorer(Forme f1, Forme f2) {
+        if (f1.getClass() != f2.getClass()) return 0;
+
+        if (f1 instanceof Cercle) {
+            Cercle c1 = (Cercle) f1;
+            Cercle c2 = (Cercle) f2;
+            return NoyauEvaluation.similariteCercles(c1.getX(), c1.getY(), c1.getRayon(), c2.getX(), c2.getY(), c2.getRayon());
+        }
+
+        if (f1 instanceof Rectangle) {
+            Rectangle r1 = (Rectangle) f1;
+            Rectangle r2 = (Rectangle) f2;
+            return NoyauEvaluation.similariteRectangles(r1.getX(), r1.getY(), r1.getLargeur(), r1.getHauteur(),
+                                                        r2.getX(), r2.getY(), r2.getLargeur(), r2.getHauteur());
+        }
 
-    private double calculerScorePosition(int x1, int y1, int x2, int y2) {
-        double distance = Math.hypot(x1 - x2, y1 - y2);
-        return Math.max(0, 40 - distance * 0.5); // au dela de 80px de distance, on a 0
+        return 30;
     }
 
     /**
-     * Calcule un score en fonction de la différence de taille entre deux formes
+     * Les paires sont notées indépendamment, dans l'ordre : le score se tient à jour forme par forme.
      *
-     * @param t1 Taille de la forme de référence
-     * @param t2 Taille de la forme proposée
-     * @return Un score basé sur l'écart de taille (max 15)
+     * @param reference Les formes attendues.
+     * @return Un évaluateur incrémental au barème Similarité.
      */
-    private double calculerScoreTaille(int t1, int t2) {
-        double diff = Math.abs(t1 - t2);
-        return Math.max(0, 15 - diff * 0.5); // au dela de 30px d’ecart on a 0
+    @Override
+    public EvaluationIncrementale incrementale(List<Forme> reference) {
+        return new EvaluationIncrementale(reference, this, false);
+    }
+
+    /**
+     * Évalue deux tampons de formes avec le noyau par blocs ({@link NoyauEvaluation}),
+     * avec exactement le même barème que {@link #evaluer(List, List)}.
+     *
+     * @param reference   Les formes attendues.
+     * @param proposition Les formes dessinées par le joueur.
+     * @return Un score sur 100 reflétant la qualité de la reproduction.
+     */
+    @Override
+    public int evaluer(TamponFormes reference, TamponFormes proposition) {
+        long debut = CHRONO.debut();
+        try {
+            if (reference.taille() == 0 || proposition.taille() == 0) return 0;
+
+            int taille = Math.min(reference.taille(), proposition.taille());
+            return (int) (NoyauEvaluation.sommeSimilarite(reference, proposition, taille) / taille);
+        } finally {
+            CHRONO.terminer(debut);
+        }
     }
 }
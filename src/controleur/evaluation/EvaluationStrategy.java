@@ -1,7 +1,9 @@
 package controleur.evaluation;
 
 import modele.Forme;
+import modele.TamponFormes;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Interface définissant la stratégie d'évaluation utilisée
@@ -20,4 +22,61 @@ public interface EvaluationStrategy {
      * @return Un score global entre 0 et 100, représentant la fidélité de la reproduction.
      */
     int evaluer(List<Forme> reference, List<Forme> proposition);
+
+    /**
+     * Évalue une proposition stockée en colonnes ({@link TamponFormes}).
+     * Par défaut, les formes sont recréées à la volée et passées à {@link #evaluer(List, List)} ;
+     * les stratégies qui comparent les formes une à une parcourent directement les colonnes.
+     *
+     * @param reference   Les formes attendues.
+     * @param proposition Les formes dessinées par le joueur.
+     * @return Un score global entre 0 et 100, identique à celui de {@link #evaluer(List, List)}.
+     */
+    default int evaluer(TamponFormes reference, TamponFormes proposition) {
+        return evaluer(reference.enListe(), proposition.enListe());
+    }
+
+    /**
+     * Crée un évaluateur qui tient le score à jour pendant que le joueur dessine
+     * (aperçu du score), si la stratégie le permet.
+     *
+     * @param reference Les formes attendues, liste qui ne doit plus être modifiée.
+     * @return L'évaluateur, ou null si le score ne peut pas se calculer forme par forme :
+     *         l'aperçu repasse alors par {@link #evaluer(List, List)}.
+     */
+    default EvaluationIncrementale incrementale(List<Forme> reference) {
+        return null;
+    }
+
+    /**
+     * Nombre de paires à partir duquel {@link #evaluerLot} répartit le travail sur plusieurs cœurs.
+     * En dessous, le coût de découpage dépasse le gain.
+     */
+    int SEUIL_LOT_PARALLELE = 64;
+
+    /**
+     * Évalue un lot de paires (référence, proposition), par exemple pour noter
+     * un tournoi ou rejouer des parties. Les paires sont indépendantes : au-delà de
+     * {@link #SEUIL_LOT_PARALLELE}, elles sont réparties sur le pool ForkJoin commun.
+     *
+     * Une stratégie utilisée par lot doit donc pouvoir être appelée depuis plusieurs
+     * threads à la fois (les stratégies fournies n'ont pas d'état partagé).
+     *
+     * @param references   Les listes de formes de référence.
+     * @param propositions Les listes de formes proposées, dans le même ordre.
+     * @return Le score de chaque paire, dans l'ordre du lot.
+     */
+    default int[] evaluerLot(List<? extends List<Forme>> references, List<? extends List<Forme>> propositions) {
+        if (references.size() != propositions.size()) {
+            throw new IllegalArgumentException("Le lot doit contenir autant de références que de propositions");
+        }
+        int[] scores = new int[references.size()];
+        IntStream indices = IntStream.range(0, scores.length);
+        if (scores.length >= SEUIL_LOT_PARALLELE) {
+            indices = indices.parallel();
+        }
+        // Chaque tâche écrit dans sa propre case : aucune synchronisation nécessaire
+        indices.forEach(i -> scores[i] = evaluer(references.get(i), propositions.get(i)));
+        return scores;
+    }
 }
@@ -0,0 +1,179 @@
+package controleur.evaluation;
+
+import modele.TamponFormes;
+
+/**
+ * Noyau de calcul des barèmes Similarité et Précision sur des formes en colonnes.
+ *
+ * Les paires sont traitées par blocs, en passes simples sur des tableaux primitifs
+ * (distances carrées entières, puis racines, puis scores sans branche sur le type) :
+ * des boucles que le compilateur JIT sait vectoriser. Seule la somme finale des scores
+ * de similarité reste séquentielle, pour additionner dans le même ordre que
+ * {@link EvaluationParSimilarite#evaluer(java.util.List, java.util.List)}.
+ *
+ * Les fonctions par paire de cette classe sont aussi celles qu'utilisent les stratégies
+ * sur des objets {@link modele.Forme} : les deux chemins donnent exactement les mêmes scores.
+ */
+final class NoyauEvaluation {
+
+    /** Nombre de paires traitées par passe */
+    static final int BLOC = 512;
+
+    private static final long SEUIL_DISTANCE_CARRE =
+        (long) EvaluationParPrecision.SEUIL_DISTANCE * EvaluationParPrecision.SEUIL_DISTANCE;
+
+    /**
+     * Tableaux intermédiaires d'un bloc, propres à chaque thread.
+     */
+    private static final class Tampons {
+        final double[] distances = new double[BLOC];
+        final double[] scores = new double[BLOC];
+    }
+
+    private static final ThreadLocal<Tampons> TAMPONS = ThreadLocal.withInitial(Tampons::new);
+
+    private NoyauEvaluation() {
+    }
+
+    /**
+     * Carré de la distance entre deux points, exact en entiers.
+     */
+    static long distanceCarree(int x1, int y1, int x2, int y2) {
+        long dx = x1 - x2;
+        long dy = y1 - y2;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Points de position du barème Similarité : 40 moins la moitié de la distance (0 au-delà de 80px).
+     */
+    static double scorePosition(long distanceCarree) {
+        return Math.max(0, 40 - Math.sqrt(distanceCarree) * 0.5);
+    }
+
+    /**
+     * Points d'une dimension du barème Similarité : 15 moins la moitié de l'écart (0 au-delà de 30px).
+     */
+    static double scoreTaille(int t1, int t2) {
+        return Math.max(0, 15 - Math.abs(t1 - t2) * 0.5);
+    }
+
+    /**
+     * Similarité de deux cercles : 30 points pour le type, plus la position et le rayon.
+     */
+    static double similariteCercles(int x1, int y1, int r1, int x2, int y2, int r2) {
+        return 30 + scorePosition(distanceCarree(x1, y1, x2, y2)) + scoreTaille(r1, r2);
+    }
+
+    /**
+     * Similarité de deux rectangles : 30 points pour le type, plus la position et chaque dimension.
+     */
+    static double similariteRectangles(int x1, int y1, int l1, int h1, int x2, int y2, int l2, int h2) {
+        return 30 + scorePosition(distanceCarree(x1, y1, x2, y2)) + scoreTaille(l1, l2) + scoreTaille(h1, h2);
+    }
+
+    /**
+     * Précision de deux cercles : position (40), rayon (30) et type (30).
+     */
+    static int precisionCercles(int x1, int y1, int r1, int x2, int y2, int r2) {
+        int score = 30;
+        if (distanceCarree(x1, y1, x2, y2) < SEUIL_DISTANCE_CARRE) score += 40;
+        if (Math.abs(r1 - r2) < EvaluationParPrecision.SEUIL_TAILLE) score += 30;
+        return score;
+    }
+
+    /**
+     * Précision de deux rectangles : position (30), largeur et hauteur (20 chacune) et type (30).
+     */
+    static int precisionRectangles(int x1, int y1, int l1, int h1, int x2, int y2, int l2, int h2) {
+        int score = 30;
+        if (distanceCarree(x1, y1, x2, y2) < SEUIL_DISTANCE_CARRE) score += 30;
+        if (Math.abs(l1 - l2) < EvaluationParPrecision.SEUIL_TAILLE) score += 20;
+        if (Math.abs(h1 - h2) < EvaluationParPrecision.SEUIL_TAILLE) score += 20;
+        return score;
+    }
+
+    /**
+     * Somme des scores de similarité des n premières paires (i-ème référence avec i-ème proposition).
+     *
+     * @param reference   Les formes de référence.
+     * @param proposition Les formes proposées.
+     * @param n           Le nombre de paires (au plus la plus petite des deux tailles).
+     * @return La somme des scores, additionnés dans l'ordre des paires.
+     */
+    static double sommeSimilarite(TamponFormes reference, TamponFormes proposition, int n) {
+        int[] t1 = reference.colonneTypes(), t2 = proposition.colonneTypes();
+        int[] x1 = reference.colonneX(), x2 = proposition.colonneX();
+        int[] y1 = reference.colonneY(), y2 = proposition.colonneY();
+        int[] l1 = reference.colonneLargeurs(), l2 = proposition.colonneLargeurs();
+        int[] h1 = reference.colonneHauteurs(), h2 = proposition.colonneHauteurs();
+
+        Tampons tampons = TAMPONS.get();
+        double[] d = tampons.distances;
+        double[] s = tampons.scores;
+        double total = 0;
+
+        for (int debut = 0; debut < n; debut += BLOC) {
+            int longueur = Math.min(BLOC, n - debut);
+
+            for (int k = 0; k < longueur; k++) {
+                int i = debut + k;
+                long dx = x1[i] - x2[i];
+                long dy = y1[i] - y2[i];
+                d[k] = dx * dx + dy * dy;
+            }
+
+            for (int k = 0; k < longueur; k++) {
+                d[k] = Math.sqrt(d[k]);
+            }
+
+            for (int k = 0; k < longueur; k++) {
+                int i = debut + k;
+                // Mêmes opérations, dans le même ordre, que similariteCercles / similariteRectangles
+                double avecLargeur = 30 + Math.max(0, 40 - d[k] * 0.5)
+                    + Math.max(0, 15 - Math.abs(l1[i] - l2[i]) * 0.5);
+                double score = (t1[i] == TamponFormes.TYPE_RECTANGLE)
+                    ? avecLargeur + Math.max(0, 15 - Math.abs(h1[i] - h2[i]) * 0.5)
+                    : avecLargeur;
+                s[k] = (t1[i] == t2[i]) ? score : 0;
+            }
+
+            for (int k = 0; k < longueur; k++) {
+                total += s[k];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Somme des scores de précision des n premières paires (i-ème référence avec i-ème proposition).
+     *
+     * @param reference   Les formes de référence.
+     * @param proposition Les formes proposées.
+     * @param n           Le nombre de paires (au plus la plus petite des deux tailles).
+     * @return La somme des scores.
+     */
+    static int sommePrecision(TamponFormes reference, TamponFormes proposition, int n) {
+        int[] t1 = reference.colonneTypes(), t2 = proposition.colonneTypes();
+        int[] x1 = reference.colonneX(), x2 = proposition.colonneX();
+        int[] y1 = reference.colonneY(), y2 = proposition.colonneY();
+        int[] l1 = reference.colonneLargeurs(), l2 = proposition.colonneLargeurs();
+        int[] h1 = reference.colonneHauteurs(), h2 = proposition.colonneHauteurs();
+        int seuilTaille = EvaluationParPrecision.SEUIL_TAILLE;
+
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            long dx = x1[i] - x2[i];
+            long dy = y1[i] - y2[i];
+            int proche = (dx * dx + dy * dy < SEUIL_DISTANCE_CARRE) ? 1 : 0;
+            int largeurOk = (Math.abs(l1[i] - l2[i]) < seuilTaille) ? 1 : 0;
+            int hauteurOk = (Math.abs(h1[i] - h2[i]) < seuilTaille) ? 1 : 0;
+
+            int score = (t1[i] == TamponFormes.TYPE_RECTANGLE)
+                ? 30 + 30 * proche + 20 * largeurOk + 20 * hauteurOk
+                : 30 + 40 * proche + 30 * largeurOk;
+            total += (t1[i] == t2[i]) ? score : 0;
+        }
+        return total;
+    }
+}
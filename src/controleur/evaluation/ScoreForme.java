@@ -0,0 +1,22 @@
+package controleur.evaluation;
+
+import modele.Forme;
+
+/**
+ * Interface représentant le calcul du score d'une seule paire de formes.
+ *
+ * Elle est implémentée par les stratégies qui comparent les formes une à une,
+ * ce qui permet de réutiliser leur barème dans d'autres stratégies
+ * (par exemple l'appariement optimal de {@link EvaluationParAffectation}).
+ */
+public interface ScoreForme {
+
+    /**
+     * Calcule le score obtenu en associant une forme de référence à une forme proposée.
+     *
+     * @param reference   La forme attendue.
+     * @param proposition La forme dessinée par le joueur.
+     * @return Un score entre 0 et 100 pour cette paire.
+     */
+    double scorer(Forme reference, Forme proposition);
+}
@@ -0,0 +1,71 @@
+package controleur.generation;
+
+/**
+ * Courbe de difficulté d'un générateur de rounds : pour chaque niveau,
+ * le nombre de formes, leur taille et la durée de mémorisation.
+ */
+public interface CourbeDifficulte {
+
+    /**
+     * Retourne le nombre de formes d'un round.
+     *
+     * @param niveau Le niveau (à partir de 1).
+     * @return Le nombre de formes à mémoriser.
+     */
+    int nbFormes(int niveau);
+
+    /**
+     * Retourne la plus petite taille (rayon, largeur ou hauteur) d'une forme.
+     *
+     * @param niveau Le niveau (à partir de 1).
+     * @return La taille minimale, incluse.
+     */
+    int tailleMin(int niveau);
+
+    /**
+     * Retourne la borne supérieure des tailles d'une forme.
+     *
+     * @param niveau Le niveau (à partir de 1).
+     * @return La taille maximale, exclue.
+     */
+    int tailleMax(int niveau);
+
+    /**
+     * Retourne la durée pendant laquelle les formes restent affichées.
+     *
+     * @param niveau Le niveau (à partir de 1).
+     * @return La durée de mémorisation en millisecondes.
+     */
+    long dureeMemorisationMs(int niveau);
+
+    /**
+     * Courbe historique du mode Random : une forme de plus par niveau,
+     * des formes de plus en plus petites et une seconde de mémorisation en moins
+     * par niveau (au moins deux secondes).
+     *
+     * @return La courbe classique.
+     */
+    static CourbeDifficulte classique() {
+        return new CourbeDifficulte() {
+            @Override
+            public int nbFormes(int niveau) {
+                return 4 + niveau;
+            }
+
+            @Override
+            public int tailleMin(int niveau) {
+                return 20;
+            }
+
+            @Override
+            public int tailleMax(int niveau) {
+                return 20 + Math.max(20, 100 - niveau * 10);
+            }
+
+            @Override
+            public long dureeMemorisationMs(int niveau) {
+                return Math.max(2000, 10000 - (niveau * 1000));
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package controleur.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import modele.Cercle;
+import modele.Forme;
+import modele.IndexSpatial;
+import modele.Rectangle;
+
+/**
+ * Générateur de rounds qui place les formes sans chevauchement, par tirage
+ * de type Poisson-disk : chaque forme est tirée au hasard dans la zone et rejetée
+ * si elle s'approche à moins de {@code espacement} pixels d'une forme déjà placée.
+ * Les formes placées sont rangées dans un {@link IndexSpatial}, si bien qu'un test
+ * ne regarde que les cellules voisines du candidat.
+ *
+ * Si aucun emplacement libre n'est trouvé après un nombre fixe d'essais (zone trop petite
+ * pour le niveau), le dernier candidat est gardé malgré le chevauchement : un round
+ * contient toujours le nombre de formes prévu par la courbe de difficulté.
+ *
+ * Le générateur n'a pas d'état : il peut être partagé entre threads.
+ */
+public class GenerateurPoisson implements GenerateurRound {
+
+    /** Côté par défaut de la zone de dessin, en pixels */
+    public static final int ZONE_DEFAUT = 700;
+    /** Marge par défaut entre les formes et le bord de la zone */
+    public static final int MARGE_DEFAUT = 30;
+    /** Écart minimal par défaut entre deux formes */
+    public static final int ESPACEMENT_DEFAUT = 10;
+
+    private static final int ESSAIS_PAR_FORME = 30;
+
+    private final int largeur;
+    private final int hauteur;
+    private final int marge;
+    private final int espacement;
+    private final CourbeDifficulte courbe;
+
+    /**
+     * Crée un générateur pour la zone de jeu par défaut, avec la courbe classique.
+     */
+    public GenerateurPoisson() {
+        this(ZONE_DEFAUT, ZONE_DEFAUT, MARGE_DEFAUT, ESPACEMENT_DEFAUT, CourbeDifficulte.classique());
+    }
+
+    /**
+     * Crée un générateur.
+     *
+     * @param largeur    La largeur de la zone de dessin.
+     * @param hauteur    La hauteur de la zone de dessin.
+     * @param marge      La distance minimale entre les formes et le bord de la zone.
+     * @param espacement L'écart minimal entre deux formes.
+     * @param courbe     La courbe de difficulté.
+     */
+    public GenerateurPoisson(int largeur, int hauteur, int marge, int espacement, CourbeDifficulte courbe) {
+        if (largeur <= 2 * marge || hauteur <= 2 * marge) {
+            throw new IllegalArgumentException("La zone est trop petite pour la marge demandée");
+        }
+        if (courbe == null) {
+            throw new IllegalArgumentException("La courbe de difficulté ne peut pas être null");
+        }
+        this.largeur = largeur;
+        this.hauteur = hauteur;
+        this.marge = marge;
+        this.espacement = Math.max(0, espacement);
+        this.courbe = courbe;
+    }
+
+    @Override
+    public RoundGenere generer(long graine, int niveau) {
+        SplittableRandom rand = new SplittableRandom(graine);
+        int nbFormes = courbe.nbFormes(niveau);
+        List<Forme> formes = new ArrayList<>(nbFormes);
+        IndexSpatial placees = new IndexSpatial(Math.max(16, courbe.tailleMax(niveau)));
+
+        for (int i = 0; i < nbFormes; i++) {
+            Forme candidat = null;
+            for (int essai = 0; essai < ESSAIS_PAR_FORME; essai++) {
+                candidat = tirer(rand, niveau);
+                java.awt.Rectangle voisinage = candidat.getBornes();
+                voisinage.grow(espacement, espacement);
+                if (placees.rechercher(voisinage).isEmpty()) break;
+            }
+            placees.ajouter(candidat);
+            formes.add(candidat);
+        }
+
+        return new RoundGenere(niveau, graine, formes, courbe.dureeMemorisationMs(niveau));
+    }
+
+    /**
+     * Tire une forme au hasard, entièrement contenue dans la zone (marges comprises).
+     */
+    private Forme tirer(SplittableRandom rand, int niveau) {
+        boolean cercle = rand.nextBoolean();
+        int min = courbe.tailleMin(niveau);
+        int max = Math.max(min + 1, courbe.tailleMax(niveau));
+        int taille1 = rand.nextInt(min, max);
+        int taille2 = rand.nextInt(min, max);
+
+        if (cercle) {
+            int diametre = 2 * taille1;
+            return new Cercle(position(rand, largeur, diametre), position(rand, hauteur, diametre), taille1);
+        }
+        return new Rectangle(position(rand, largeur, taille1), position(rand, hauteur, taille2), taille1, taille2);
+    }
+
+    /**
+     * Tire la position du bord gauche (ou haut) d'une forme de dimension donnée.
+     */
+    private int position(SplittableRandom rand, int etendue, int dimension) {
+        int libre = etendue - 2 * marge - dimension;
+        return marge + ((libre > 0) ? rand.nextInt(libre + 1) : 0);
+    }
+}
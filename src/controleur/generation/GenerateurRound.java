@@ -0,0 +1,59 @@
+package controleur.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Interface d'un générateur procédural de rounds.
+ *
+ * Un round ne dépend que de sa graine et de son niveau : deux appels avec les mêmes
+ * arguments donnent exactement les mêmes formes, quel que soit le thread ou l'ordre
+ * de génération. On peut donc générer des rounds en parallèle et à l'avance.
+ */
+public interface GenerateurRound {
+
+    /**
+     * Génère un round.
+     *
+     * @param graine La graine du round.
+     * @param niveau Le niveau (à partir de 1).
+     * @return Le round généré.
+     */
+    RoundGenere generer(long graine, int niveau);
+
+    /**
+     * Dérive la graine d'un round à partir de la graine d'une série de parties.
+     * Les graines obtenues sont indépendantes les unes des autres.
+     *
+     * @param graine La graine de la série.
+     * @param partie L'indice de la partie dans la série.
+     * @param niveau Le niveau du round.
+     * @return La graine du round.
+     */
+    static long graineRound(long graine, long partie, int niveau) {
+        return new SplittableRandom(graine + partie * 0x9E3779B97F4A7C15L + niveau * 0xBF58476D1CE4E5B9L).nextLong();
+    }
+
+    /**
+     * Génère en parallèle les rounds de plusieurs parties complètes (niveaux 1 à niveauMax).
+     *
+     * @param graine    La graine de la série.
+     * @param nbParties Le nombre de parties.
+     * @param niveauMax Le nombre de rounds par partie.
+     * @return Pour chaque partie, la liste de ses rounds dans l'ordre des niveaux.
+     */
+    default List<List<RoundGenere>> genererParties(long graine, int nbParties, int niveauMax) {
+        return IntStream.range(0, nbParties).parallel()
+            .mapToObj(p -> {
+                List<RoundGenere> rounds = new ArrayList<>(niveauMax);
+                for (int niveau = 1; niveau <= niveauMax; niveau++) {
+                    rounds.add(generer(graineRound(graine, p, niveau), niveau));
+                }
+                return rounds;
+            })
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,59 @@
+package controleur.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Rounds d'une partie générés à l'avance, en arrière-plan.
+ *
+ * Dès sa création, la réserve lance la génération de tous les niveaux de la partie
+ * en parallèle sur l'exécuteur fourni. Quand un round commence, ses formes sont
+ * donc déjà prêtes : {@link #prendre(int)} n'attend que si le round est demandé
+ * avant la fin de sa génération.
+ */
+public class ReserveRounds {
+
+    private final List<CompletableFuture<RoundGenere>> rounds;
+
+    /**
+     * Crée la réserve et lance la génération.
+     *
+     * @param generateur Le générateur de rounds.
+     * @param graine     La graine de la partie.
+     * @param niveauMax  Le nombre de niveaux de la partie.
+     * @param executeur  L'exécuteur sur lequel générer les rounds.
+     */
+    public ReserveRounds(GenerateurRound generateur, long graine, int niveauMax, Executor executeur) {
+        rounds = new ArrayList<>(niveauMax);
+        for (int niveau = 1; niveau <= niveauMax; niveau++) {
+            int n = niveau;
+            long graineRound = GenerateurRound.graineRound(graine, 0, n);
+            rounds.add(CompletableFuture.supplyAsync(() -> generateur.generer(graineRound, n), executeur));
+        }
+    }
+
+    /**
+     * Retourne le round d'un niveau, en attendant sa génération si elle n'est pas finie.
+     *
+     * @param niveau Le niveau (de 1 à niveauMax).
+     * @return Le round.
+     */
+    public RoundGenere prendre(int niveau) {
+        if (niveau < 1 || niveau > rounds.size()) {
+            throw new IllegalArgumentException("Niveau hors de la partie : " + niveau);
+        }
+        return rounds.get(niveau - 1).join();
+    }
+
+    /**
+     * Indique si le round d'un niveau est déjà prêt.
+     *
+     * @param niveau Le niveau (de 1 à niveauMax).
+     * @return true si {@link #prendre(int)} ne bloquera pas.
+     */
+    public boolean estPret(int niveau) {
+        return rounds.get(niveau - 1).isDone();
+    }
+}
@@ -0,0 +1,70 @@
+package controleur.generation;
+
+import java.util.Collections;
+import java.util.List;
+
+import modele.Forme;
+
+/**
+ * Round produit par un {@link GenerateurRound} : les formes à mémoriser,
+ * la durée pendant laquelle elles restent affichées et la graine qui permet
+ * de le régénérer à l'identique.
+ */
+public class RoundGenere {
+
+    private final int niveau;
+    private final long graine;
+    private final List<Forme> formes;
+    private final long dureeMemorisationMs;
+
+    /**
+     * Crée un round.
+     *
+     * @param niveau              Le niveau du round.
+     * @param graine              La graine utilisée pour le générer.
+     * @param formes              Les formes à mémoriser.
+     * @param dureeMemorisationMs La durée d'affichage des formes.
+     */
+    public RoundGenere(int niveau, long graine, List<Forme> formes, long dureeMemorisationMs) {
+        this.niveau = niveau;
+        this.graine = graine;
+        this.formes = Collections.unmodifiableList(formes);
+        this.dureeMemorisationMs = dureeMemorisationMs;
+    }
+
+    /**
+     * Retourne le niveau du round.
+     *
+     * @return Le niveau.
+     */
+    public int getNiveau() {
+        return niveau;
+    }
+
+    /**
+     * Retourne la graine du round.
+     *
+     * @return La graine.
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Retourne les formes à mémoriser.
+     *
+     * @return Liste non modifiable des formes.
+     */
+    public List<Forme> getFormes() {
+        return formes;
+    }
+
+    /**
+     * Retourne la durée pendant laquelle les formes restent affichées.
+     *
+     * @return La durée en millisecondes.
+     */
+    public long getDureeMemorisationMs() {
+        return dureeMemorisationMs;
+    }
+}
@@ -0,0 +1,192 @@
+package metriques;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramme de durées, à la manière de HdrHistogram : les durées sont rangées dans des cases
+ * de largeur croissante (chaque puissance de deux est découpée en 16 cases),
+ * ce qui borne l'erreur relative des centiles à 1/16 quelle que soit la durée,
+ * de la nanoseconde à plusieurs heures, avec un tableau de taille fixe.
+ *
+ * L'enregistrement est sans verrou et n'alloue rien ; la lecture parcourt les cases
+ * sans bloquer les threads qui enregistrent (ses valeurs peuvent avoir un léger décalage
+ * entre elles pendant une mesure).
+ *
+ * Utilisation sur un chemin chaud :
+ * <pre>
+ * long debut = CHRONO.debut();
+ * try {
+ *     ...
+ * } finally {
+ *     CHRONO.terminer(debut);
+ * }
+ * </pre>
+ */
+public final class Chronometre {
+
+    private static final int BITS_PRECISION = 4;
+    private static final int SOUS_CASES = 1 << BITS_PRECISION;
+    private static final int NB_CASES = (Long.SIZE - BITS_PRECISION) * SOUS_CASES;
+
+    private final String nom;
+    private final AtomicLongArray cases = new AtomicLongArray(NB_CASES);
+    private final LongAdder sommeNs = new LongAdder();
+    private final AtomicLong maxNs = new AtomicLong();
+
+    Chronometre(String nom) {
+        this.nom = nom;
+    }
+
+    /**
+     * Prend l'instant de début d'une mesure.
+     *
+     * @return L'instant en nanosecondes, ou 0 si les métriques sont désactivées.
+     */
+    public long debut() {
+        return Metriques.ACTIVES ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Termine une mesure commencée par {@link #debut()}.
+     *
+     * @param debut L'instant de début.
+     */
+    public void terminer(long debut) {
+        if (Metriques.ACTIVES) {
+            enregistrer(System.nanoTime() - debut);
+        }
+    }
+
+    /**
+     * Enregistre une durée.
+     *
+     * @param dureeNs La durée en nanosecondes (une durée négative compte pour 0).
+     */
+    public void enregistrer(long dureeNs) {
+        if (!Metriques.ACTIVES) return;
+        long d = Math.max(0, dureeNs);
+        cases.incrementAndGet(indice(d));
+        sommeNs.add(d);
+        // Le maximum change rarement : on évite l'écriture quand il n'est pas dépassé
+        if (d > maxNs.get()) {
+            maxNs.accumulateAndGet(d, Math::max);
+        }
+    }
+
+    /**
+     * Enveloppe une action pour chronométrer chacune de ses exécutions
+     * (par exemple une tâche planifiée).
+     *
+     * @param action L'action.
+     * @return L'action chronométrée, ou l'action elle-même si les métriques sont désactivées.
+     */
+    public Runnable envelopper(Runnable action) {
+        if (!Metriques.ACTIVES) return action;
+        return () -> {
+            long debut = System.nanoTime();
+            try {
+                action.run();
+            } finally {
+                enregistrer(System.nanoTime() - debut);
+            }
+        };
+    }
+
+    /**
+     * Retourne la case d'une durée : les 16 premières valeurs ont chacune
+     * leur case, puis chaque puissance de deux est découpée en 16 cases égales.
+     */
+    static int indice(long dureeNs) {
+        if (dureeNs < SOUS_CASES) return (int) dureeNs;
+        int decalage = (Long.SIZE - 1 - Long.numberOfLeadingZeros(dureeNs)) - BITS_PRECISION;
+        return ((decalage + 1) << BITS_PRECISION) + (int) ((dureeNs >>> decalage) & (SOUS_CASES - 1));
+    }
+
+    /**
+     * Retourne la plus grande durée rangée dans une case.
+     */
+    static long borneHaute(int indice) {
+        if (indice < SOUS_CASES) return indice;
+        int decalage = (indice >>> BITS_PRECISION) - 1;
+        long bas = (long) (SOUS_CASES + (indice & (SOUS_CASES - 1))) << decalage;
+        return bas + (1L << decalage) - 1;
+    }
+
+    /**
+     * Retourne une durée sous laquelle se trouve une proportion donnée des mesures.
+     *
+     * @param proportion La proportion, entre 0 et 1 (0.99 pour le 99e centile).
+     * @return La durée en nanosecondes, à 1/16 près, ou 0 sans mesure.
+     */
+    public long getCentileNs(double proportion) {
+        long[] copie = new long[NB_CASES];
+        long total = 0;
+        for (int i = 0; i < NB_CASES; i++) {
+            copie[i] = cases.get(i);
+            total += copie[i];
+        }
+        if (total == 0) return 0;
+
+        long rang = Math.max(1, (long) Math.ceil(proportion * total));
+        long cumul = 0;
+        for (int i = 0; i < NB_CASES; i++) {
+            cumul += copie[i];
+            if (cumul >= rang) {
+                return Math.min(borneHaute(i), getMaxNs());
+            }
+        }
+        return getMaxNs();
+    }
+
+    /**
+     * Retourne le nombre de mesures.
+     *
+     * @return Le nombre de durées enregistrées.
+     */
+    public long getNombre() {
+        // Le nombre de mesures se déduit des cases : un compteur de moins à tenir à chaque mesure
+        long n = 0;
+        for (int i = 0; i < NB_CASES; i++) {
+            n += cases.get(i);
+        }
+        return n;
+    }
+
+    /**
+     * Retourne la durée moyenne.
+     *
+     * @return La moyenne en nanosecondes, ou 0 sans mesure.
+     */
+    public double getMoyenneNs() {
+        long n = getNombre();
+        return (n == 0) ? 0 : (double) sommeNs.sum() / n;
+    }
+
+    /**
+     * Retourne la plus longue durée enregistrée.
+     *
+     * @return Le maximum en nanosecondes.
+     */
+    public long getMaxNs() {
+        return maxNs.get();
+    }
+
+    /**
+     * Retourne le nom du chronomètre.
+     *
+     * @return Le nom.
+     */
+    public String getNom() {
+        return nom;
+    }
+
+    void reinitialiser() {
+        for (int i = 0; i < NB_CASES; i++) {
+            cases.set(i, 0);
+        }
+        sommeNs.reset();
+        maxNs.set(0);
+    }
+}
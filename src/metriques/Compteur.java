@@ -0,0 +1,59 @@
+package metriques;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteur d'événements sans verrou : chaque thread incrémente sa propre cellule,
+ * les cellules ne sont additionnées qu'à la lecture.
+ */
+public final class Compteur {
+
+    private final String nom;
+    private final LongAdder valeur = new LongAdder();
+
+    Compteur(String nom) {
+        this.nom = nom;
+    }
+
+    /**
+     * Compte un événement.
+     */
+    public void incrementer() {
+        if (Metriques.ACTIVES) {
+            valeur.increment();
+        }
+    }
+
+    /**
+     * Compte plusieurs événements.
+     *
+     * @param n Le nombre d'événements.
+     */
+    public void ajouter(long n) {
+        if (Metriques.ACTIVES) {
+            valeur.add(n);
+        }
+    }
+
+    /**
+     * Retourne le nombre d'événements comptés.
+     *
+     * @return La valeur du compteur.
+     */
+    public long getValeur() {
+        return valeur.sum();
+    }
+
+    /**
+     * Retourne le nom du compteur.
+     *
+     * @return Le nom.
+     */
+    public String getNom() {
+        return nom;
+    }
+
+    void reinitialiser() {
+        valeur.reset();
+    }
+}
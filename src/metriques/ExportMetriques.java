@@ -0,0 +1,142 @@
+package metriques;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mise en forme des métriques en texte (lisible dans une console) ou en JSON (pour un outil),
+ * et écriture périodique par un thread démon.
+ * Les durées sont données en microsecondes.
+ */
+public final class ExportMetriques {
+
+    private static final double[] CENTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] NOMS_CENTILES = {"p50", "p90", "p99", "p999"};
+
+    private static ScheduledExecutorService executeur;
+    private static ScheduledFuture<?> ecriture;
+
+    private ExportMetriques() {
+    }
+
+    /**
+     * Met les métriques en forme pour une console : une ligne par métrique.
+     *
+     * @return Le texte, terminé par un saut de ligne.
+     */
+    public static String texte() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Métriques à ").append(Instant.now()).append('\n');
+        for (Map.Entry<String, Compteur> e : Metriques.getCompteurs().entrySet()) {
+            sb.append(String.format(Locale.ROOT, "  %-32s %12d%n", e.getKey(), e.getValue().getValeur()));
+        }
+        for (Map.Entry<String, Chronometre> e : Metriques.getChronometres().entrySet()) {
+            Chronometre c = e.getValue();
+            sb.append(String.format(Locale.ROOT, "  %-32s %12d  moy %9.1f µs", e.getKey(), c.getNombre(),
+                c.getMoyenneNs() / 1000.0));
+            for (int i = 0; i < CENTILES.length; i++) {
+                sb.append(String.format(Locale.ROOT, "  %s %9.1f", NOMS_CENTILES[i], c.getCentileNs(CENTILES[i]) / 1000.0));
+            }
+            sb.append(String.format(Locale.ROOT, "  max %9.1f µs%n", c.getMaxNs() / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Met les métriques en forme en un objet JSON sur une ligne :
+     * {@code {"horodatage":..., "compteurs":{nom:valeur}, "chronometres":{nom:{"nombre":..., "moyenneUs":..., ...}}}}.
+     *
+     * @return Le JSON, sans saut de ligne final.
+     */
+    public static String json() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"horodatage\":\"").append(Instant.now()).append("\",\"compteurs\":{");
+        boolean premier = true;
+        for (Map.Entry<String, Compteur> e : Metriques.getCompteurs().entrySet()) {
+            if (!premier) sb.append(',');
+            premier = false;
+            chaineJson(sb, e.getKey()).append(':').append(e.getValue().getValeur());
+        }
+        sb.append("},\"chronometres\":{");
+        premier = true;
+        for (Map.Entry<String, Chronometre> e : Metriques.getChronometres().entrySet()) {
+            Chronometre c = e.getValue();
+            if (!premier) sb.append(',');
+            premier = false;
+            chaineJson(sb, e.getKey()).append(":{\"nombre\":").append(c.getNombre())
+                .append(",\"moyenneUs\":").append(microsecondes(c.getMoyenneNs()));
+            for (int i = 0; i < CENTILES.length; i++) {
+                sb.append(",\"").append(NOMS_CENTILES[i]).append("Us\":")
+                    .append(microsecondes(c.getCentileNs(CENTILES[i])));
+            }
+            sb.append(",\"maxUs\":").append(microsecondes(c.getMaxNs())).append('}');
+        }
+        return sb.append("}}").toString();
+    }
+
+    private static String microsecondes(double ns) {
+        return String.format(Locale.ROOT, "%.3f", ns / 1000.0);
+    }
+
+    private static StringBuilder chaineJson(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"');
+    }
+
+    /**
+     * Écrit les métriques à intervalle régulier, en remplaçant l'écriture déjà en cours s'il y en a une.
+     *
+     * @param periodeMs La période en millisecondes.
+     * @param json      true pour une ligne JSON par écriture, false pour le format texte.
+     * @param sortie    Le flux où écrire.
+     */
+    public static synchronized void demarrer(long periodeMs, boolean json, PrintStream sortie) {
+        if (periodeMs <= 0) {
+            throw new IllegalArgumentException("Période d'écriture invalide : " + periodeMs);
+        }
+        if (executeur == null) {
+            executeur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "metriques-export");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        if (ecriture != null) {
+            ecriture.cancel(false);
+        }
+        ecriture = executeur.scheduleAtFixedRate(() -> {
+            if (json) {
+                sortie.println(json());
+            } else {
+                sortie.print(texte());
+            }
+            sortie.flush();
+        }, periodeMs, periodeMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Arrête l'écriture périodique.
+     */
+    public static synchronized void arreter() {
+        if (ecriture != null) {
+            ecriture.cancel(false);
+            ecriture = null;
+        }
+    }
+}
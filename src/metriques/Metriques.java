@@ -0,0 +1,123 @@
+package metriques;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registre des métriques du jeu : compteurs et chronomètres nommés.
+ *
+ * Les métriques ne sont mesurées que si la propriété système {@value #PROPRIETE_ACTIVATION}
+ * vaut true au lancement. Le drapeau {@link #ACTIVES} est une constante : désactivées,
+ * les mesures se réduisent à un test que le compilateur JIT élimine, et les chemins
+ * chauds (affichage, évaluation, mutations) ne paient rien.
+ *
+ * Les métriques sont créées une fois, gardées dans des champs statiques par les classes
+ * qui les alimentent, puis mises à jour sans verrou depuis n'importe quel thread.
+ * {@link #demarrer()} les expose par JMX et, si une période est donnée, les écrit
+ * régulièrement en texte ou en JSON ({@link ExportMetriques}).
+ */
+public final class Metriques {
+
+    /** Propriété système qui active les mesures */
+    public static final String PROPRIETE_ACTIVATION = "memoire.metriques";
+
+    /** Période en millisecondes de l'écriture des métriques (0 : jamais) */
+    public static final String PROPRIETE_PERIODE = "memoire.metriques.periode";
+
+    /** Format de l'écriture périodique : texte ou json */
+    public static final String PROPRIETE_FORMAT = "memoire.metriques.format";
+
+    /** Fichier où ajouter l'écriture périodique (sortie d'erreur par défaut) */
+    public static final String PROPRIETE_FICHIER = "memoire.metriques.fichier";
+
+    /** true si les métriques sont mesurées, lu une seule fois au chargement de la classe */
+    public static final boolean ACTIVES = Boolean.getBoolean(PROPRIETE_ACTIVATION);
+
+    private static final ConcurrentMap<String, Compteur> COMPTEURS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Chronometre> CHRONOMETRES = new ConcurrentHashMap<>();
+    private static boolean demarrees;
+
+    private Metriques() {
+    }
+
+    /**
+     * Retourne le compteur d'un nom donné, créé au premier appel.
+     *
+     * @param nom Le nom du compteur, en minuscules et pointé (ex. modele.ajouts).
+     * @return Le compteur.
+     */
+    public static Compteur compteur(String nom) {
+        return COMPTEURS.computeIfAbsent(nom, Compteur::new);
+    }
+
+    /**
+     * Retourne le chronomètre d'un nom donné, créé au premier appel.
+     *
+     * @param nom Le nom du chronomètre, en minuscules et pointé (ex. vue.affichage).
+     * @return Le chronomètre.
+     */
+    public static Chronometre chronometre(String nom) {
+        return CHRONOMETRES.computeIfAbsent(nom, Chronometre::new);
+    }
+
+    /**
+     * Retourne les compteurs existants, triés par nom.
+     *
+     * @return Une copie du registre des compteurs.
+     */
+    public static SortedMap<String, Compteur> getCompteurs() {
+        return new TreeMap<>(COMPTEURS);
+    }
+
+    /**
+     * Retourne les chronomètres existants, triés par nom.
+     *
+     * @return Une copie du registre des chronomètres.
+     */
+    public static SortedMap<String, Chronometre> getChronometres() {
+        return new TreeMap<>(CHRONOMETRES);
+    }
+
+    /**
+     * Remet toutes les métriques à zéro (par exemple après la mise en route du JIT).
+     */
+    public static void reinitialiser() {
+        for (Compteur c : COMPTEURS.values()) {
+            c.reinitialiser();
+        }
+        for (Chronometre c : CHRONOMETRES.values()) {
+            c.reinitialiser();
+        }
+    }
+
+    /**
+     * Expose les métriques par JMX et lance leur écriture périodique selon les propriétés
+     * {@value #PROPRIETE_PERIODE}, {@value #PROPRIETE_FORMAT} et {@value #PROPRIETE_FICHIER}.
+     * Sans effet si les métriques sont désactivées ou déjà démarrées.
+     */
+    public static synchronized void demarrer() {
+        if (!ACTIVES || demarrees) return;
+        demarrees = true;
+        MetriquesJmx.enregistrer();
+
+        long periodeMs = Long.getLong(PROPRIETE_PERIODE, 0);
+        if (periodeMs <= 0) return;
+        boolean json = "json".equalsIgnoreCase(System.getProperty(PROPRIETE_FORMAT, "texte"));
+        PrintStream sortie = System.err;
+        String fichier = System.getProperty(PROPRIETE_FICHIER);
+        if (fichier != null) {
+            try {
+                sortie = new PrintStream(new FileOutputStream(fichier, true), true, "UTF-8");
+            } catch (FileNotFoundException | UnsupportedEncodingException e) {
+                System.err.println("Métriques écrites sur la sortie d'erreur : " + e.getMessage());
+            }
+        }
+        ExportMetriques.demarrer(periodeMs, json, sortie);
+    }
+}
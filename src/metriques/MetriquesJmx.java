@@ -0,0 +1,134 @@
+package metriques;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * Expose le registre des métriques par JMX (JConsole, VisualVM...), sous le nom {@value #NOM_OBJET}.
+ *
+ * Chaque compteur est un attribut ; chaque chronomètre donne les attributs
+ * {@code nom.nombre}, {@code nom.moyenneUs}, {@code nom.p50Us}, {@code nom.p99Us} et {@code nom.maxUs}.
+ * Les opérations {@code texte}, {@code json} et {@code reinitialiser} reprennent {@link ExportMetriques}
+ * et {@link Metriques#reinitialiser()}.
+ */
+final class MetriquesJmx implements DynamicMBean {
+
+    static final String NOM_OBJET = "memoire:type=Metriques";
+
+    private static final String[] SUFFIXES = {"nombre", "moyenneUs", "p50Us", "p99Us", "maxUs"};
+
+    /**
+     * Enregistre le registre auprès du serveur JMX de la plateforme.
+     * Un échec est signalé sans empêcher le jeu de continuer.
+     */
+    static void enregistrer() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new MetriquesJmx(), new ObjectName(NOM_OBJET));
+        } catch (JMException e) {
+            System.err.println("Métriques non exposées par JMX : " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object getAttribute(String nom) throws AttributeNotFoundException {
+        Compteur compteur = Metriques.getCompteurs().get(nom);
+        if (compteur != null) {
+            return compteur.getValeur();
+        }
+        int point = nom.lastIndexOf('.');
+        Chronometre c = (point < 0) ? null : Metriques.getChronometres().get(nom.substring(0, point));
+        if (c != null) {
+            switch (nom.substring(point + 1)) {
+                case "nombre":
+                    return c.getNombre();
+                case "moyenneUs":
+                    return c.getMoyenneNs() / 1000.0;
+                case "p50Us":
+                    return c.getCentileNs(0.5) / 1000.0;
+                case "p99Us":
+                    return c.getCentileNs(0.99) / 1000.0;
+                case "maxUs":
+                    return c.getMaxNs() / 1000.0;
+                default:
+                    break;
+            }
+        }
+        throw new AttributeNotFoundException("Métrique inconnue : " + nom);
+    }
+
+    @Override
+    public void setAttribute(Attribute attribut) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Les métriques sont en lecture seule : " + attribut.getName());
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] noms) {
+        AttributeList liste = new AttributeList();
+        for (String nom : noms) {
+            try {
+                liste.add(new Attribute(nom, getAttribute(nom)));
+            } catch (AttributeNotFoundException e) {
+                // Un attribut inconnu est simplement absent de la réponse
+            }
+        }
+        return liste;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributs) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String operation, Object[] parametres, String[] signature) throws ReflectionException {
+        switch (operation) {
+            case "texte":
+                return ExportMetriques.texte();
+            case "json":
+                return ExportMetriques.json();
+            case "reinitialiser":
+                Metriques.reinitialiser();
+                return null;
+            default:
+                throw new ReflectionException(new NoSuchMethodException(operation), "Opération inconnue : " + operation);
+        }
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        // Recalculée à chaque demande : les métriques créées depuis la dernière apparaissent
+        List<MBeanAttributeInfo> attributs = new ArrayList<>();
+        for (String nom : Metriques.getCompteurs().keySet()) {
+            attributs.add(new MBeanAttributeInfo(nom, "long", "Compteur " + nom, true, false, false));
+        }
+        for (Map.Entry<String, Chronometre> e : Metriques.getChronometres().entrySet()) {
+            for (String suffixe : SUFFIXES) {
+                String type = "nombre".equals(suffixe) ? "long" : "double";
+                attributs.add(new MBeanAttributeInfo(e.getKey() + "." + suffixe, type,
+                    "Chronomètre " + e.getKey() + " : " + suffixe, true, false, false));
+            }
+        }
+        MBeanParameterInfo[] aucun = new MBeanParameterInfo[0];
+        MBeanOperationInfo[] operations = {
+            new MBeanOperationInfo("texte", "Métriques en texte", aucun, "java.lang.String", MBeanOperationInfo.INFO),
+            new MBeanOperationInfo("json", "Métriques en JSON", aucun, "java.lang.String", MBeanOperationInfo.INFO),
+            new MBeanOperationInfo("reinitialiser", "Remet les métriques à zéro", aucun, "void", MBeanOperationInfo.ACTION)
+        };
+        return new MBeanInfo(getClass().getName(), "Métriques du jeu de mémoire",
+            attributs.toArray(new MBeanAttributeInfo[0]), null, operations, null);
+    }
+}
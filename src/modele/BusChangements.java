@@ -0,0 +1,136 @@
+package modele;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import controleur.Planificateur;
+import metriques.Chronometre;
+import metriques.Metriques;
+
+/**
+ * Bus qui regroupe les changements du modèle avant de les livrer aux observateurs.
+ *
+ * Sans limite de fréquence, chaque changement est livré immédiatement, seul dans son lot.
+ * Avec une fréquence maximale de N images par seconde, les changements publiés s'accumulent
+ * et sont livrés en un seul {@link LotChangements}, au plus une fois toutes les 1/N secondes :
+ * les 14 formes d'un round aléatoire donnent un seul lot, donc un seul {@code repaint},
+ * et le coût des observateurs ne dépend plus du nombre de mutations.
+ *
+ * Java ne donne pas accès à la synchronisation verticale de l'écran : la cadence est bornée
+ * par une minuterie. La livraison passe par la {@link FileMutations} du modèle, donc par
+ * son thread propriétaire, à la suite des mutations déjà soumises.
+ *
+ * {@link #publier(ChangementFormes)} doit être appelée depuis le thread propriétaire.
+ */
+public class BusChangements {
+
+    private static final Chronometre LIVRAISON = Metriques.chronometre("modele.notification");
+
+    private final List<ObservateurModele> observateurs = new CopyOnWriteArrayList<>();
+    private final FileMutations mutations;
+    private final Planificateur planificateur;
+    // Uniquement lus et écrits par le thread propriétaire
+    private List<ChangementFormes> enAttente = new ArrayList<>();
+    private boolean livraisonPlanifiee;
+    private long derniereLivraisonNs;
+    private volatile long periodeNs;
+
+    /**
+     * Crée un bus à livraison immédiate.
+     *
+     * @param mutations     La file de mutations du modèle, par laquelle passent les livraisons.
+     * @param planificateur La minuterie des livraisons groupées (null si elles ne sont jamais utilisées).
+     */
+    public BusChangements(FileMutations mutations, Planificateur planificateur) {
+        this.mutations = mutations;
+        this.planificateur = planificateur;
+    }
+
+    /**
+     * Fixe la fréquence maximale des livraisons.
+     *
+     * @param imagesParSeconde Le nombre maximal de lots par seconde, ou 0 pour livrer chaque changement immédiatement.
+     */
+    public void setFrequenceMax(int imagesParSeconde) {
+        if (imagesParSeconde < 0) {
+            throw new IllegalArgumentException("Fréquence négative : " + imagesParSeconde);
+        }
+        if (imagesParSeconde > 0 && planificateur == null) {
+            throw new IllegalStateException("Ce bus n'a pas de planificateur pour grouper les livraisons");
+        }
+        periodeNs = (imagesParSeconde == 0) ? 0 : TimeUnit.SECONDS.toNanos(1) / imagesParSeconde;
+    }
+
+    /**
+     * Abonne un observateur.
+     *
+     * @param observateur L'observateur.
+     */
+    public void abonner(ObservateurModele observateur) {
+        observateurs.add(observateur);
+    }
+
+    /**
+     * Désabonne un observateur.
+     *
+     * @param observateur L'observateur.
+     */
+    public void desabonner(ObservateurModele observateur) {
+        observateurs.remove(observateur);
+    }
+
+    /**
+     * Désabonne tous les observateurs et oublie les changements en attente.
+     * Doit être appelée depuis le thread propriétaire.
+     */
+    public void vider() {
+        observateurs.clear();
+        enAttente = new ArrayList<>();
+    }
+
+    /**
+     * Publie un changement : livré tout de suite, ou ajouté au lot de la prochaine image.
+     *
+     * @param changement Le changement.
+     */
+    public void publier(ChangementFormes changement) {
+        if (observateurs.isEmpty()) return;
+        long periode = periodeNs;
+        if (periode == 0 && enAttente.isEmpty()) {
+            livrer(new LotChangements(Collections.singletonList(changement)));
+            return;
+        }
+
+        enAttente.add(changement);
+        if (!livraisonPlanifiee) {
+            livraisonPlanifiee = true;
+            long attenteNs = derniereLivraisonNs + periode - System.nanoTime();
+            long attenteMs = Math.max(0, TimeUnit.NANOSECONDS.toMillis(attenteNs));
+            planificateur.planifier(() -> mutations.soumettre(this::livrerEnAttente), attenteMs);
+        }
+    }
+
+    /**
+     * Livre immédiatement les changements en attente, sans attendre la prochaine image.
+     * Doit être appelée depuis le thread propriétaire.
+     */
+    public void livrerEnAttente() {
+        livraisonPlanifiee = false;
+        if (enAttente.isEmpty()) return;
+        List<ChangementFormes> lot = enAttente;
+        enAttente = new ArrayList<>();
+        derniereLivraisonNs = System.nanoTime();
+        livrer(new LotChangements(lot));
+    }
+
+    private void livrer(LotChangements lot) {
+        long debut = LIVRAISON.debut();
+        for (ObservateurModele o : observateurs) {
+            o.formesModifiees(lot);
+        }
+        LIVRAISON.terminer(debut);
+    }
+}
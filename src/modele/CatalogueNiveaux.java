@@ -0,0 +1,292 @@
+package modele;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Pack binaire de niveaux, lu à la demande.
+ *
+ * Format (gros-boutiste) :
+ * <pre>
+ * en-tête : magique "NIVX" (4 octets), version (2), réservé (2), nombre de niveaux (4)
+ * index   : pour chaque niveau, position (4) et longueur (4) de son enregistrement
+ * niveau  : longueur du nom (2), nom en UTF-8, nombre de formes (2), puis pour chaque forme
+ *           son type (1 : 0 cercle, 1 rectangle) et ses coordonnées sur 2 octets
+ *           (x, y, rayon pour un cercle ; x, y, largeur, hauteur pour un rectangle)
+ * </pre>
+ *
+ * Le pack est projeté en mémoire quand c'est un fichier, ou lu d'un bloc s'il est dans un jar.
+ * Seul l'en-tête est vérifié à l'ouverture : un niveau n'est décodé que lorsqu'on le charge,
+ * si bien que le nombre de niveaux ne change ni le temps de démarrage ni la taille des classes.
+ * Les lectures sont absolues sur un tampon en lecture seule : un catalogue peut être
+ * utilisé par plusieurs threads (préchargement du niveau suivant).
+ */
+public class CatalogueNiveaux {
+
+    /** Chemin, dans le classpath, du pack des niveaux du mode solo */
+    public static final String RESSOURCE_SOLO = "/niveaux/solo.niv";
+
+    static final int MAGIQUE = 0x4E495658; // "NIVX"
+    static final short VERSION = 1;
+    static final byte TYPE_CERCLE = 0;
+    static final byte TYPE_RECTANGLE = 1;
+    private static final int TAILLE_EN_TETE = 12;
+
+    private static CatalogueNiveaux solo;
+
+    private final ByteBuffer donnees;
+    private final int nbNiveaux;
+
+    /**
+     * Crée un catalogue sur le contenu d'un pack.
+     *
+     * @param donnees Le contenu complet du pack.
+     * @throws IOException si l'en-tête ou l'index est invalide.
+     */
+    public CatalogueNiveaux(ByteBuffer donnees) throws IOException {
+        this.donnees = donnees.asReadOnlyBuffer();
+        if (this.donnees.limit() < TAILLE_EN_TETE || this.donnees.getInt(0) != MAGIQUE) {
+            throw new IOException("Ce n'est pas un pack de niveaux");
+        }
+        short version = this.donnees.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Version de pack de niveaux non supportée : " + version);
+        }
+        nbNiveaux = this.donnees.getInt(8);
+        if (nbNiveaux < 0 || TAILLE_EN_TETE + (long) nbNiveaux * 8 > this.donnees.limit()) {
+            throw new IOException("Index de niveaux tronqué");
+        }
+    }
+
+    /**
+     * Ouvre un pack de niveaux en le projetant en mémoire.
+     *
+     * @param fichier Le fichier du pack.
+     * @return Le catalogue.
+     * @throws IOException si le fichier ne peut pas être lu ou n'est pas un pack valide.
+     */
+    public static CatalogueNiveaux ouvrir(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            return new CatalogueNiveaux(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Ouvre un pack de niveaux du classpath : projeté en mémoire si c'est un fichier,
+     * lu entièrement sinon (par exemple dans un jar).
+     *
+     * @param chemin Le chemin de la ressource.
+     * @return Le catalogue.
+     * @throws IOException si la ressource est absente ou invalide.
+     */
+    public static CatalogueNiveaux depuisRessource(String chemin) throws IOException {
+        URL url = CatalogueNiveaux.class.getResource(chemin);
+        if (url == null) {
+            throw new IOException("Pack de niveaux introuvable : " + chemin);
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return ouvrir(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                // Chemin inhabituel : on se rabat sur la lecture en flux
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            ByteArrayOutputStream contenu = new ByteArrayOutputStream();
+            byte[] bloc = new byte[8192];
+            int lus;
+            while ((lus = in.read(bloc)) != -1) {
+                contenu.write(bloc, 0, lus);
+            }
+            return new CatalogueNiveaux(ByteBuffer.wrap(contenu.toByteArray()));
+        }
+    }
+
+    /**
+     * Retourne le catalogue des niveaux du mode solo, ouvert au premier appel.
+     *
+     * @return Le catalogue du mode solo.
+     * @throws UncheckedIOException si le pack est absent ou invalide.
+     */
+    public static synchronized CatalogueNiveaux solo() {
+        if (solo == null) {
+            try {
+                solo = depuisRessource(RESSOURCE_SOLO);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return solo;
+    }
+
+    /**
+     * Retourne le nombre de niveaux du pack.
+     *
+     * @return Le nombre de niveaux.
+     */
+    public int getNbNiveaux() {
+        return nbNiveaux;
+    }
+
+    /**
+     * Décode un niveau.
+     *
+     * @param indice L'indice du niveau (à partir de 0).
+     * @return Le niveau.
+     * @throws IllegalArgumentException si l'indice est hors du pack.
+     * @throws UncheckedIOException si l'enregistrement est corrompu.
+     */
+    public Niveau charger(int indice) {
+        if (indice < 0 || indice >= nbNiveaux) {
+            throw new IllegalArgumentException("Niveau inexistant : " + indice);
+        }
+        int entree = TAILLE_EN_TETE + indice * 8;
+        int debut = donnees.getInt(entree);
+        int longueur = donnees.getInt(entree + 4);
+        if (debut < 0 || longueur < 0 || (long) debut + longueur > donnees.limit()) {
+            throw new UncheckedIOException(new IOException("Enregistrement du niveau " + indice + " hors du pack"));
+        }
+
+        try {
+            int p = debut;
+            int longueurNom = donnees.getShort(p) & 0xFFFF;
+            p += 2;
+            byte[] nom = new byte[longueurNom];
+            for (int i = 0; i < longueurNom; i++) {
+                nom[i] = donnees.get(p++);
+            }
+
+            int nbFormes = donnees.getShort(p) & 0xFFFF;
+            p += 2;
+            List<Forme> formes = new ArrayList<>(nbFormes);
+            for (int i = 0; i < nbFormes; i++) {
+                byte type = donnees.get(p++);
+                int x = donnees.getShort(p);
+                int y = donnees.getShort(p + 2);
+                int l = donnees.getShort(p + 4);
+                p += 6;
+                if (type == TYPE_CERCLE) {
+                    formes.add(new Cercle(x, y, l));
+                } else if (type == TYPE_RECTANGLE) {
+                    formes.add(new Rectangle(x, y, l, donnees.getShort(p)));
+                    p += 2;
+                } else {
+                    throw new IOException("Type de forme inconnu " + type + " dans le niveau " + indice);
+                }
+            }
+            if (p > debut + longueur) {
+                throw new IOException("Enregistrement du niveau " + indice + " tronqué");
+            }
+            return new Niveau(new String(nom, StandardCharsets.UTF_8), formes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (IndexOutOfBoundsException e) {
+            throw new UncheckedIOException(new IOException("Enregistrement du niveau " + indice + " tronqué", e));
+        }
+    }
+
+    /**
+     * Décode un niveau en arrière-plan, pour qu'il soit prêt quand le joueur y arrive.
+     *
+     * @param indice    L'indice du niveau.
+     * @param executeur L'exécuteur sur lequel décoder.
+     * @return Le niveau à venir.
+     */
+    public CompletableFuture<Niveau> precharger(int indice, Executor executeur) {
+        return CompletableFuture.supplyAsync(() -> charger(indice), executeur);
+    }
+
+    /**
+     * Écrit un pack de niveaux.
+     *
+     * @param niveaux Les niveaux, dans l'ordre.
+     * @param sortie  Le flux de destination (non fermé).
+     * @throws IOException en cas d'erreur d'écriture.
+     * @throws IllegalArgumentException si une coordonnée ne tient pas sur 2 octets.
+     */
+    public static void ecrire(List<Niveau> niveaux, OutputStream sortie) throws IOException {
+        List<byte[]> enregistrements = new ArrayList<>(niveaux.size());
+        for (Niveau n : niveaux) {
+            enregistrements.add(encoder(n));
+        }
+
+        DataOutputStream out = new DataOutputStream(sortie);
+        out.writeInt(MAGIQUE);
+        out.writeShort(VERSION);
+        out.writeShort(0);
+        out.writeInt(niveaux.size());
+
+        int position = TAILLE_EN_TETE + niveaux.size() * 8;
+        for (byte[] e : enregistrements) {
+            out.writeInt(position);
+            out.writeInt(e.length);
+            position += e.length;
+        }
+        for (byte[] e : enregistrements) {
+            out.write(e);
+        }
+        out.flush();
+    }
+
+    private static byte[] encoder(Niveau niveau) throws IOException {
+        ByteArrayOutputStream contenu = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(contenu);
+
+        byte[] nom = niveau.getNom().getBytes(StandardCharsets.UTF_8);
+        out.writeShort(verifierNonSigne(nom.length));
+        out.write(nom);
+        out.writeShort(verifierNonSigne(niveau.getFormes().size()));
+
+        for (Forme f : niveau.getFormes()) {
+            if (f instanceof Cercle) {
+                Cercle c = (Cercle) f;
+                out.writeByte(TYPE_CERCLE);
+                out.writeShort(verifierSigne(c.getX()));
+                out.writeShort(verifierSigne(c.getY()));
+                out.writeShort(verifierSigne(c.getRayon()));
+            } else if (f instanceof Rectangle) {
+                Rectangle r = (Rectangle) f;
+                out.writeByte(TYPE_RECTANGLE);
+                out.writeShort(verifierSigne(r.getX()));
+                out.writeShort(verifierSigne(r.getY()));
+                out.writeShort(verifierSigne(r.getLargeur()));
+                out.writeShort(verifierSigne(r.getHauteur()));
+            } else {
+                throw new IllegalArgumentException("Type de forme non supporté : " + f.getClass().getName());
+            }
+        }
+        out.flush();
+        return contenu.toByteArray();
+    }
+
+    private static int verifierSigne(int valeur) {
+        if (valeur < Short.MIN_VALUE || valeur > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Coordonnée hors limites pour le pack : " + valeur);
+        }
+        return valeur;
+    }
+
+    private static int verifierNonSigne(int valeur) {
+        if (valeur > 0xFFFF) {
+            throw new IllegalArgumentException("Trop d'éléments pour le pack : " + valeur);
+        }
+        return valeur;
+    }
+}
@@ -31,6 +31,30 @@ public class Cercle implements Forme {
         g.drawOval(x, y, rayon * 2, rayon * 2);
     }
 
+    /**
+     * Retourne le carré englobant du cercle tel qu'il est dessiné
+     *
+     * @return Le rectangle englobant
+     */
+    @Override
+    public java.awt.Rectangle getBornes() {
+        return new java.awt.Rectangle(x, y, rayon * 2, rayon * 2);
+    }
+
+    /**
+     * Indique si un point est dans le disque
+     *
+     * @param px Coordonnée X du point
+     * @param py Coordonnée Y du point
+     * @return true si le point est dans le cercle
+     */
+    @Override
+    public boolean contient(int px, int py) {
+        long dx = px - (x + rayon);
+        long dy = py - (y + rayon);
+        return dx * dx + dy * dy <= (long) rayon * rayon;
+    }
+
     /**
      * Retourne la coordonnée X du centre du cercle
      *
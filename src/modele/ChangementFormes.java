@@ -0,0 +1,79 @@
+package modele;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Événement publié par le modèle lorsqu'un ensemble de formes change.
+ *
+ * Il indique la nature du changement, les formes concernées et la zone
+ * qu'elles occupent, afin que les observateurs (la vue) ne redessinent
+ * que la partie de l'écran réellement modifiée.
+ */
+public class ChangementFormes {
+
+    /**
+     * Nature du changement :
+     * AJOUT : des formes sont apparues,
+     * RETRAIT : des formes ont disparu (undo),
+     * EFFACEMENT : toutes les formes visibles ont été effacées.
+     */
+    public enum Type {
+        AJOUT,
+        RETRAIT,
+        EFFACEMENT
+    }
+
+    private final Type type;
+    private final List<Forme> formes;
+    private final java.awt.Rectangle zone;
+
+    /**
+     * Crée un changement et calcule la zone englobant toutes les formes concernées.
+     *
+     * @param type   La nature du changement.
+     * @param formes Les formes ajoutées ou retirées.
+     */
+    public ChangementFormes(Type type, List<Forme> formes) {
+        this.type = type;
+        this.formes = Collections.unmodifiableList(formes);
+
+        java.awt.Rectangle union = null;
+        for (Forme f : formes) {
+            java.awt.Rectangle b = f.getBornes();
+            if (union == null) {
+                union = b;
+            } else {
+                union.add(b);
+            }
+        }
+        this.zone = union;
+    }
+
+    /**
+     * Retourne la nature du changement.
+     *
+     * @return Le type de changement.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Retourne les formes concernées par le changement.
+     *
+     * @return Liste non modifiable des formes.
+     */
+    public List<Forme> getFormes() {
+        return formes;
+    }
+
+    /**
+     * Retourne le rectangle englobant toutes les formes concernées.
+     *
+     * @return La zone modifiée, ou null si aucune forme n'est concernée.
+     */
+    public java.awt.Rectangle getZone() {
+        return zone;
+    }
+}
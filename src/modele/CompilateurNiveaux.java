@@ -0,0 +1,131 @@
+package modele;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compile la description texte des niveaux en pack binaire ({@link CatalogueNiveaux}).
+ *
+ * Format texte : une ligne {@code niveau <nom>} ouvre un niveau, puis une forme par ligne,
+ * {@code cercle <x> <y> <rayon>} ou {@code rectangle <x> <y> <largeur> <hauteur>}.
+ * Tout ce qui suit un {@code #} est un commentaire.
+ *
+ * Utilisation : {@code java modele.CompilateurNiveaux <source.txt> <destination.niv>}
+ */
+public class CompilateurNiveaux {
+
+    private CompilateurNiveaux() {
+    }
+
+    /**
+     * Lit une description texte de niveaux.
+     *
+     * @param source Le texte à lire.
+     * @return Les niveaux, dans l'ordre du texte.
+     * @throws IOException si le texte est mal formé ou illisible.
+     */
+    public static List<Niveau> lire(Reader source) throws IOException {
+        List<Niveau> niveaux = new ArrayList<>();
+        String nom = null;
+        List<Forme> formes = null;
+
+        BufferedReader lecteur = new BufferedReader(source);
+        String ligne;
+        int numero = 0;
+        while ((ligne = lecteur.readLine()) != null) {
+            numero++;
+            int commentaire = ligne.indexOf('#');
+            if (commentaire >= 0) {
+                ligne = ligne.substring(0, commentaire);
+            }
+            ligne = ligne.trim();
+            if (ligne.isEmpty()) continue;
+
+            String[] mots = ligne.split("\\s+");
+            try {
+                switch (mots[0]) {
+                    case "niveau":
+                        if (nom != null) {
+                            niveaux.add(new Niveau(nom, formes));
+                        }
+                        nom = ligne.substring("niveau".length()).trim();
+                        formes = new ArrayList<>();
+                        break;
+                    case "cercle":
+                        verifierNiveauOuvert(formes);
+                        verifierArguments(mots, 3);
+                        formes.add(new Cercle(entier(mots[1]), entier(mots[2]), entier(mots[3])));
+                        break;
+                    case "rectangle":
+                        verifierNiveauOuvert(formes);
+                        verifierArguments(mots, 4);
+                        formes.add(new Rectangle(entier(mots[1]), entier(mots[2]), entier(mots[3]), entier(mots[4])));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("mot-clé inconnu « " + mots[0] + " »");
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Ligne " + numero + " : " + e.getMessage(), e);
+            }
+        }
+        if (nom != null) {
+            niveaux.add(new Niveau(nom, formes));
+        }
+        return niveaux;
+    }
+
+    private static void verifierNiveauOuvert(List<Forme> formes) {
+        if (formes == null) {
+            throw new IllegalArgumentException("forme déclarée avant le premier niveau");
+        }
+    }
+
+    private static void verifierArguments(String[] mots, int attendus) {
+        if (mots.length != attendus + 1) {
+            throw new IllegalArgumentException(mots[0] + " attend " + attendus + " valeurs");
+        }
+    }
+
+    private static int entier(String mot) {
+        try {
+            return Integer.parseInt(mot);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("nombre invalide « " + mot + " »");
+        }
+    }
+
+    /**
+     * Compile un fichier texte de niveaux en pack binaire.
+     *
+     * @param args Le fichier source et le fichier pack à écrire.
+     * @throws IOException si la lecture ou l'écriture échoue.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage : CompilateurNiveaux <source.txt> <destination.niv>");
+            System.exit(1);
+        }
+        Path source = Paths.get(args[0]);
+        Path destination = Paths.get(args[1]);
+
+        List<Niveau> niveaux;
+        try (Reader in = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            niveaux = lire(in);
+        }
+        if (destination.getParent() != null) {
+            Files.createDirectories(destination.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(destination)) {
+            CatalogueNiveaux.ecrire(niveaux, out);
+        }
+        System.out.println(niveaux.size() + " niveaux écrits dans " + destination);
+    }
+}
@@ -0,0 +1,96 @@
+package modele;
+
+import javax.swing.SwingUtilities;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * File de mutations du modèle, à plusieurs producteurs et un seul consommateur.
+ *
+ * N'importe quel thread (minuteries, interface) peut soumettre une mutation ;
+ * elles sont toutes exécutées, dans l'ordre de soumission, par un unique thread
+ * propriétaire. Le modèle n'a donc jamais deux écrivains en même temps et
+ * n'a besoin d'aucun verrou : les lecteurs des autres threads se contentent
+ * des instantanés immuables qu'il publie.
+ *
+ * La file elle-même est une {@link ConcurrentLinkedQueue}, sans verrou.
+ */
+public class FileMutations {
+
+    private final ConcurrentLinkedQueue<Runnable> file = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainagePlanifie = new AtomicBoolean();
+    private final Executor proprietaire;
+    private final BooleanSupplier estProprietaire;
+    // Uniquement lu et écrit par le thread propriétaire
+    private boolean enDrainage;
+
+    /**
+     * Crée une file de mutations.
+     *
+     * @param proprietaire    Exécute une tâche sur le thread propriétaire.
+     * @param estProprietaire Indique si le thread courant est le thread propriétaire.
+     */
+    public FileMutations(Executor proprietaire, BooleanSupplier estProprietaire) {
+        this.proprietaire = proprietaire;
+        this.estProprietaire = estProprietaire;
+    }
+
+    /**
+     * File dont le propriétaire est le thread de Swing (EDT), utilisée par l'application graphique.
+     *
+     * @return La file de mutations.
+     */
+    public static FileMutations surEDT() {
+        return new FileMutations(SwingUtilities::invokeLater, SwingUtilities::isEventDispatchThread);
+    }
+
+    /**
+     * File qui exécute chaque mutation immédiatement dans le thread appelant.
+     * Réservée à un modèle confiné à un seul thread (simulations, benchmarks, rejeu).
+     *
+     * @return La file de mutations.
+     */
+    public static FileMutations directe() {
+        return new FileMutations(Runnable::run, () -> true);
+    }
+
+    /**
+     * Soumet une mutation. Depuis le thread propriétaire, elle est exécutée tout de suite
+     * (après celles déjà en attente) ; depuis un autre thread, elle sera exécutée
+     * par le propriétaire dès que possible.
+     *
+     * @param mutation La mutation à appliquer au modèle.
+     */
+    public void soumettre(Runnable mutation) {
+        file.add(mutation);
+        if (estProprietaire.getAsBoolean()) {
+            drainer();
+        } else if (drainagePlanifie.compareAndSet(false, true)) {
+            proprietaire.execute(() -> {
+                // Remis à false avant de vider : une mutation soumise pendant le
+                // vidage sera soit traitée par cette boucle, soit replanifiée
+                drainagePlanifie.set(false);
+                drainer();
+            });
+        }
+    }
+
+    /**
+     * Exécute toutes les mutations en attente. Une mutation soumise par une autre
+     * mutation en cours est simplement mise à la suite, pour conserver l'ordre.
+     */
+    private void drainer() {
+        if (enDrainage) return;
+        enDrainage = true;
+        try {
+            Runnable mutation;
+            while ((mutation = file.poll()) != null) {
+                mutation.run();
+            }
+        } finally {
+            enDrainage = false;
+        }
+    }
+}
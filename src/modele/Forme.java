@@ -11,4 +11,18 @@ public interface Forme {
      * @param g Le contexte graphique sur lequel dessiner
      */
     void dessiner(Graphics g);
+
+    /**
+     * Retourne le rectangle englobant de la forme, dans les coordonnées de la zone de dessin.
+     * @return Le rectangle englobant
+     */
+    java.awt.Rectangle getBornes();
+
+    /**
+     * Indique si un point se trouve à l'intérieur de la forme.
+     * @param px Coordonnée X du point
+     * @param py Coordonnée Y du point
+     * @return true si le point est dans la forme, false sinon
+     */
+    boolean contient(int px, int py);
 }
\ No newline at end of file
@@ -0,0 +1,358 @@
+package modele;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index spatial des formes du modèle, basé sur une grille uniforme.
+ *
+ * Chaque forme est rangée dans toutes les cellules que couvre son rectangle englobant.
+ * Les requêtes (test de clic, formes visibles dans une zone, forme la plus proche)
+ * ne parcourent que les cellules concernées au lieu de toute la liste des formes.
+ * L'index est incrémental : le modèle le met à jour à chaque ajout ou retrait.
+ */
+public class IndexSpatial {
+
+    /** Taille par défaut d'une cellule, en pixels */
+    public static final int TAILLE_CELLULE_DEFAUT = 64;
+
+    private final int tailleCellule;
+    private final Map<Long, List<Entree>> cellules = new HashMap<>();
+    // Une même forme peut avoir été ajoutée plusieurs fois : on garde ses entrées dans l'ordre
+    private final Map<Forme, ArrayDeque<Entree>> entrees = new IdentityHashMap<>();
+    private long prochainOrdre;
+    private int taille;
+
+    // Enveloppe (en cellules) des formes indexées. Elle peut être plus large que nécessaire
+    // après un retrait : elle reste valable pour borner les recherches, et n'est resserrée
+    // (enveloppeExacte) que lorsqu'une recherche de la forme la plus proche en a besoin
+    private int minCx = Integer.MAX_VALUE, minCy = Integer.MAX_VALUE;
+    private int maxCx = Integer.MIN_VALUE, maxCy = Integer.MIN_VALUE;
+    private boolean enveloppeExacte = true;
+
+    /**
+     * Entrée de l'index : une forme, son rang d'insertion et les cellules qu'elle couvre.
+     */
+    private static final class Entree {
+        final Forme forme;
+        final long ordre;
+        final java.awt.Rectangle bornes;
+        final int cx0, cy0, cx1, cy1;
+
+        Entree(Forme forme, long ordre, java.awt.Rectangle bornes, int cx0, int cy0, int cx1, int cy1) {
+            this.forme = forme;
+            this.ordre = ordre;
+            this.bornes = bornes;
+            this.cx0 = cx0;
+            this.cy0 = cy0;
+            this.cx1 = cx1;
+            this.cy1 = cy1;
+        }
+    }
+
+    private static final Comparator<Entree> PAR_ORDRE = Comparator.comparingLong(e -> e.ordre);
+
+    /**
+     * Crée un index avec la taille de cellule par défaut.
+     */
+    public IndexSpatial() {
+        this(TAILLE_CELLULE_DEFAUT);
+    }
+
+    /**
+     * Crée un index avec une taille de cellule donnée.
+     *
+     * @param tailleCellule La taille (en pixels) d'une cellule de la grille.
+     */
+    public IndexSpatial(int tailleCellule) {
+        if (tailleCellule <= 0) {
+            throw new IllegalArgumentException("La taille de cellule doit être positive");
+        }
+        this.tailleCellule = tailleCellule;
+    }
+
+    /**
+     * Ajoute une forme à l'index.
+     *
+     * @param f La forme à ajouter.
+     */
+    public void ajouter(Forme f) {
+        java.awt.Rectangle b = f.getBornes();
+        Entree e = new Entree(f, prochainOrdre++, b,
+            cellule(b.x), cellule(b.y), cellule(b.x + b.width), cellule(b.y + b.height));
+
+        for (int cx = e.cx0; cx <= e.cx1; cx++) {
+            for (int cy = e.cy0; cy <= e.cy1; cy++) {
+                cellules.computeIfAbsent(cle(cx, cy), k -> new ArrayList<>(4)).add(e);
+            }
+        }
+        entrees.computeIfAbsent(f, k -> new ArrayDeque<>(1)).addLast(e);
+        taille++;
+
+        minCx = Math.min(minCx, e.cx0);
+        minCy = Math.min(minCy, e.cy0);
+        maxCx = Math.max(maxCx, e.cx1);
+        maxCy = Math.max(maxCy, e.cy1);
+    }
+
+    /**
+     * Retire une forme de l'index. Si elle a été ajoutée plusieurs fois,
+     * c'est l'ajout le plus récent qui est retiré (comme pour un undo).
+     *
+     * @param f La forme à retirer.
+     * @return true si la forme était présente.
+     */
+    public boolean retirer(Forme f) {
+        ArrayDeque<Entree> pile = entrees.get(f);
+        if (pile == null) return false;
+
+        Entree e = pile.removeLast();
+        if (pile.isEmpty()) {
+            entrees.remove(f);
+        }
+
+        for (int cx = e.cx0; cx <= e.cx1; cx++) {
+            for (int cy = e.cy0; cy <= e.cy1; cy++) {
+                Long cle = cle(cx, cy);
+                List<Entree> liste = cellules.get(cle);
+                // Les retraits concernent presque toujours la dernière forme ajoutée : on cherche depuis la fin
+                for (int i = liste.size() - 1; i >= 0; i--) {
+                    if (liste.get(i) == e) {
+                        liste.remove(i);
+                        break;
+                    }
+                }
+                if (liste.isEmpty()) {
+                    cellules.remove(cle);
+                }
+            }
+        }
+        taille--;
+        if (taille == 0) {
+            viderEnveloppe();
+        } else if (e.cx0 == minCx || e.cy0 == minCy || e.cx1 == maxCx || e.cy1 == maxCy) {
+            // La forme retirée touchait le bord de l'enveloppe : celle-ci est peut-être trop large
+            enveloppeExacte = false;
+        }
+        return true;
+    }
+
+    private void viderEnveloppe() {
+        minCx = minCy = Integer.MAX_VALUE;
+        maxCx = maxCy = Integer.MIN_VALUE;
+        enveloppeExacte = true;
+    }
+
+    /**
+     * Recalcule l'enveloppe à partir des formes indexées, si un retrait l'a rendue trop large.
+     */
+    private void resserrerEnveloppe() {
+        if (enveloppeExacte) return;
+        viderEnveloppe();
+        for (ArrayDeque<Entree> pile : entrees.values()) {
+            for (Entree e : pile) {
+                minCx = Math.min(minCx, e.cx0);
+                minCy = Math.min(minCy, e.cy0);
+                maxCx = Math.max(maxCx, e.cx1);
+                maxCy = Math.max(maxCy, e.cy1);
+            }
+        }
+    }
+
+    /**
+     * Vide complètement l'index.
+     */
+    public void vider() {
+        cellules.clear();
+        entrees.clear();
+        taille = 0;
+        viderEnveloppe();
+    }
+
+    /**
+     * Retourne le nombre de formes indexées.
+     *
+     * @return Le nombre de formes.
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Retourne les formes dont le rectangle englobant touche la zone donnée,
+     * dans leur ordre d'ajout (l'ordre de dessin).
+     *
+     * @param zone La zone recherchée.
+     * @return Les formes visibles dans la zone.
+     */
+    public List<Forme> rechercher(java.awt.Rectangle zone) {
+        List<Forme> resultat = new ArrayList<>();
+        if (taille == 0 || zone.isEmpty()) return resultat;
+
+        int zx0 = Math.max(cellule(zone.x), minCx);
+        int zy0 = Math.max(cellule(zone.y), minCy);
+        int zx1 = Math.min(cellule(zone.x + zone.width), maxCx);
+        int zy1 = Math.min(cellule(zone.y + zone.height), maxCy);
+
+        List<Entree> trouvees = new ArrayList<>();
+        for (int cx = zx0; cx <= zx1; cx++) {
+            for (int cy = zy0; cy <= zy1; cy++) {
+                List<Entree> liste = cellules.get(cle(cx, cy));
+                if (liste == null) continue;
+                for (Entree e : liste) {
+                    // Une forme à cheval sur plusieurs cellules n'est retenue que dans
+                    // la première cellule commune avec la zone, ce qui évite les doublons
+                    if (cx == Math.max(e.cx0, zx0) && cy == Math.max(e.cy0, zy0) && touche(e.bornes, zone)) {
+                        trouvees.add(e);
+                    }
+                }
+            }
+        }
+
+        trouvees.sort(PAR_ORDRE);
+        for (Entree e : trouvees) {
+            resultat.add(e.forme);
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne la forme située sous un point. Si plusieurs formes se superposent,
+     * c'est la plus récente (celle dessinée au-dessus) qui est retournée.
+     *
+     * @param x Coordonnée X du point.
+     * @param y Coordonnée Y du point.
+     * @return La forme trouvée, ou null si aucune forme ne contient le point.
+     */
+    public Forme formeA(int x, int y) {
+        List<Entree> liste = cellules.get(cle(cellule(x), cellule(y)));
+        if (liste == null) return null;
+
+        Entree meilleure = null;
+        for (Entree e : liste) {
+            if ((meilleure == null || e.ordre > meilleure.ordre) && e.forme.contient(x, y)) {
+                meilleure = e;
+            }
+        }
+        return (meilleure == null) ? null : meilleure.forme;
+    }
+
+    /**
+     * Retourne la forme dont le rectangle englobant est le plus proche d'un point.
+     * La recherche parcourt la grille en anneaux autour du point, en ne visitant que
+     * le contour de chaque anneau et seulement sa partie comprise dans l'enveloppe des formes.
+     * Elle commence au premier anneau qui atteint l'enveloppe et s'arrête dès qu'aucune
+     * cellule plus éloignée ne peut contenir de meilleure candidate : son coût ne dépend
+     * pas de la distance entre le point et les formes.
+     *
+     * @param x Coordonnée X du point.
+     * @param y Coordonnée Y du point.
+     * @return La forme la plus proche, ou null si l'index est vide.
+     */
+    public Forme plusProche(int x, int y) {
+        if (taille == 0) return null;
+        resserrerEnveloppe();
+
+        long px = cellule(x);
+        long py = cellule(y);
+        // Anneaux (distance de Tchebychev en cellules) qui rencontrent l'enveloppe
+        long rayonMin = Math.max(Math.max(0, Math.max(minCx - px, px - maxCx)),
+                                 Math.max(0, Math.max(minCy - py, py - maxCy)));
+        long rayonMax = Math.max(Math.max(Math.abs(px - minCx), Math.abs(px - maxCx)),
+                                 Math.max(Math.abs(py - minCy), Math.abs(py - maxCy)));
+
+        Meilleure meilleure = new Meilleure(x, y);
+        for (long r = rayonMin; r <= rayonMax; r++) {
+            // Bords haut et bas (coins compris), puis bords gauche et droit, limités à l'enveloppe
+            long cx0 = Math.max(px - r, minCx);
+            long cx1 = Math.min(px + r, maxCx);
+            long cy0 = Math.max(py - r + 1, minCy);
+            long cy1 = Math.min(py + r - 1, maxCy);
+            visiterLigne(py - r, cx0, cx1, meilleure);
+            if (r > 0) {
+                visiterLigne(py + r, cx0, cx1, meilleure);
+            }
+            visiterColonne(px - r, cy0, cy1, meilleure);
+            if (r > 0) {
+                visiterColonne(px + r, cy0, cy1, meilleure);
+            }
+
+            // Toute cellule de l'anneau suivant est au moins à r cellules du point
+            long limite = r * tailleCellule;
+            if (meilleure.entree != null && meilleure.distance <= limite * limite) break;
+        }
+        return (meilleure.entree == null) ? null : meilleure.entree.forme;
+    }
+
+    /**
+     * Meilleure candidate d'une recherche de la forme la plus proche.
+     */
+    private static final class Meilleure {
+        final int x, y;
+        Entree entree;
+        long distance = Long.MAX_VALUE;
+
+        Meilleure(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        void examiner(List<Entree> liste) {
+            for (Entree e : liste) {
+                long d = distanceCarree(e.bornes, x, y);
+                if (d < distance || (d == distance && e.ordre > entree.ordre)) {
+                    distance = d;
+                    entree = e;
+                }
+            }
+        }
+    }
+
+    private void visiterLigne(long cy, long cx0, long cx1, Meilleure meilleure) {
+        if (cy < minCy || cy > maxCy) return;
+        for (long cx = cx0; cx <= cx1; cx++) {
+            visiterCellule((int) cx, (int) cy, meilleure);
+        }
+    }
+
+    private void visiterColonne(long cx, long cy0, long cy1, Meilleure meilleure) {
+        if (cx < minCx || cx > maxCx) return;
+        for (long cy = cy0; cy <= cy1; cy++) {
+            visiterCellule((int) cx, (int) cy, meilleure);
+        }
+    }
+
+    private void visiterCellule(int cx, int cy, Meilleure meilleure) {
+        List<Entree> liste = cellules.get(cle(cx, cy));
+        if (liste != null) {
+            meilleure.examiner(liste);
+        }
+    }
+
+    private int cellule(int coordonnee) {
+        return Math.floorDiv(coordonnee, tailleCellule);
+    }
+
+    private static Long cle(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Test d'intersection bords compris (une forme de largeur nulle reste visible).
+     */
+    private static boolean touche(java.awt.Rectangle b, java.awt.Rectangle zone) {
+        return b.x <= zone.x + zone.width && zone.x <= b.x + b.width
+            && b.y <= zone.y + zone.height && zone.y <= b.y + b.height;
+    }
+
+    private static long distanceCarree(java.awt.Rectangle b, int x, int y) {
+        long dx = Math.max(0, Math.max(b.x - x, x - (b.x + b.width)));
+        long dy = Math.max(0, Math.max(b.y - y, y - (b.y + b.height)));
+        return dx * dx + dy * dy;
+    }
+}
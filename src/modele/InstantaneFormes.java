@@ -0,0 +1,188 @@
+package modele;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Vue immuable et versionnée de la liste des formes du modèle à un instant donné.
+ *
+ * Les instantanés successifs partagent le même tableau : ajouter une forme l'écrit
+ * après la fin de l'instantané courant, emplacement qu'aucun lecteur ne voit encore,
+ * et retirer la dernière forme revient à publier un préfixe plus court.
+ * Le tableau n'est recopié que s'il est plein, ou si l'on ajoute après un retrait
+ * une autre forme que celle retirée (l'emplacement visé est alors encore visible
+ * dans un ancien instantané) : un undo suivi d'un redo ne copie rien.
+ *
+ * Un lecteur peut donc conserver un instantané aussi longtemps qu'il le souhaite
+ * sans copie, et le modèle publie chaque nouvelle version en O(1) amorti.
+ */
+public final class InstantaneFormes extends AbstractList<Forme> implements RandomAccess {
+
+    private static final Forme[] AUCUNE = new Forme[0];
+
+    /**
+     * Tableau partagé entre plusieurs instantanés.
+     * {@code reserve} est la plus grande taille publiée sur ce tableau :
+     * les cases au-delà n'ont jamais été vues et peuvent être écrites.
+     */
+    private static final class Stockage {
+        final Forme[] elements;
+        int reserve;
+
+        Stockage(Forme[] elements, int reserve) {
+            this.elements = elements;
+            this.reserve = reserve;
+        }
+    }
+
+    private final Stockage stockage;
+    private final int taille;
+    private final long version;
+
+    private InstantaneFormes(Stockage stockage, int taille, long version) {
+        this.stockage = stockage;
+        this.taille = taille;
+        this.version = version;
+    }
+
+    /**
+     * Crée un instantané vide.
+     *
+     * @param version Le numéro de version de l'instantané.
+     * @return Un instantané sans forme.
+     */
+    public static InstantaneFormes vide(long version) {
+        return new InstantaneFormes(new Stockage(AUCUNE, 0), 0, version);
+    }
+
+    /**
+     * Retourne un nouvel instantané contenant les formes de celui-ci suivies de {@code f}.
+     * Cet instantané n'est pas modifié.
+     *
+     * @param f La forme à ajouter.
+     * @return Le nouvel instantané, de version suivante.
+     */
+    public InstantaneFormes avec(Forme f) {
+        if (taille < stockage.reserve && stockage.elements[taille] == f) {
+            // La même forme revient au même emplacement (redo après un undo) :
+            // les anciens instantanés qui voient cette case y voient déjà f, rien à copier
+            return new InstantaneFormes(stockage, taille + 1, version + 1);
+        }
+        Stockage cible = stockagePour(taille + 1);
+        cible.elements[taille] = f;
+        cible.reserve = taille + 1;
+        return new InstantaneFormes(cible, taille + 1, version + 1);
+    }
+
+    /**
+     * Retourne un nouvel instantané contenant les formes de celui-ci suivies de toutes
+     * celles d'une liste. Le tableau est agrandi une seule fois, à la taille voulue.
+     * Cet instantané n'est pas modifié.
+     *
+     * @param ajouts Les formes à ajouter, dans l'ordre.
+     * @return Le nouvel instantané, de version suivante.
+     */
+    public InstantaneFormes avecTout(List<? extends Forme> ajouts) {
+        int n = ajouts.size();
+        if (taille + n <= stockage.reserve && memesFormes(ajouts)) {
+            // Les mêmes formes reviennent aux mêmes emplacements (redo d'un lot) : rien à copier
+            return new InstantaneFormes(stockage, taille + n, version + 1);
+        }
+        Stockage cible = stockagePour(taille + n);
+        for (int i = 0; i < n; i++) {
+            cible.elements[taille + i] = ajouts.get(i);
+        }
+        cible.reserve = taille + n;
+        return new InstantaneFormes(cible, taille + n, version + 1);
+    }
+
+    private boolean memesFormes(List<? extends Forme> ajouts) {
+        for (int i = 0; i < ajouts.size(); i++) {
+            if (stockage.elements[taille + i] != ajouts.get(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Retourne un nouvel instantané sans les n dernières formes, en O(1).
+     *
+     * @param n Le nombre de formes à retirer.
+     * @return Le nouvel instantané, de version suivante.
+     */
+    public InstantaneFormes sansDerniers(int n) {
+        if (n < 0 || n > taille) {
+            throw new IndexOutOfBoundsException("Retrait de " + n + " formes sur " + taille);
+        }
+        return new InstantaneFormes(stockage, taille - n, version + 1);
+    }
+
+    /**
+     * Retourne un nouvel instantané sans la dernière occurrence de {@code f}.
+     * Retirer la dernière forme (cas de l'undo) se fait en O(1).
+     *
+     * @param f La forme à retirer.
+     * @return Le nouvel instantané, ou celui-ci si la forme est absente.
+     */
+    public InstantaneFormes sans(Forme f) {
+        Forme[] elements = stockage.elements;
+        for (int i = taille - 1; i >= 0; i--) {
+            if (elements[i] == f) {
+                if (i == taille - 1) {
+                    return new InstantaneFormes(stockage, taille - 1, version + 1);
+                }
+                Forme[] copie = new Forme[taille - 1];
+                System.arraycopy(elements, 0, copie, 0, i);
+                System.arraycopy(elements, i + 1, copie, i, taille - 1 - i);
+                return new InstantaneFormes(new Stockage(copie, copie.length), copie.length, version + 1);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Retourne un instantané vide de version suivante.
+     *
+     * @return L'instantané vide.
+     */
+    public InstantaneFormes vider() {
+        return vide(version + 1);
+    }
+
+    /**
+     * Retourne le stockage dans lequel écrire jusqu'à {@code tailleVoulue} formes :
+     * le tableau courant s'il a de la place libre jamais publiée, sinon une copie agrandie.
+     */
+    private Stockage stockagePour(int tailleVoulue) {
+        if (stockage.reserve == taille && tailleVoulue <= stockage.elements.length) {
+            return stockage;
+        }
+        int capacite = Math.max(tailleVoulue, Math.max(8, taille + (taille >> 1)));
+        Forme[] elements = new Forme[capacite];
+        System.arraycopy(stockage.elements, 0, elements, 0, taille);
+        return new Stockage(elements, taille);
+    }
+
+    /**
+     * Retourne le numéro de version de l'instantané. Deux instantanés
+     * successifs du même modèle ont des versions différentes.
+     *
+     * @return La version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public Forme get(int i) {
+        if (i < 0 || i >= taille) {
+            throw new IndexOutOfBoundsException("Index : " + i + ", taille : " + taille);
+        }
+        return stockage.elements[i];
+    }
+
+    @Override
+    public int size() {
+        return taille;
+    }
+}
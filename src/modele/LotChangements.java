@@ -0,0 +1,62 @@
+package modele;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ensemble de changements de formes livrés ensemble aux observateurs,
+ * avec la zone qui les englobe tous.
+ */
+public class LotChangements {
+
+    private final List<ChangementFormes> changements;
+    private final java.awt.Rectangle zone;
+
+    /**
+     * Crée un lot et calcule la zone englobant tous ses changements.
+     *
+     * @param changements Les changements, dans l'ordre où ils se sont produits.
+     */
+    public LotChangements(List<ChangementFormes> changements) {
+        this.changements = Collections.unmodifiableList(changements);
+
+        java.awt.Rectangle union = null;
+        for (ChangementFormes c : changements) {
+            java.awt.Rectangle z = c.getZone();
+            if (z == null) continue;
+            if (union == null) {
+                union = new java.awt.Rectangle(z);
+            } else {
+                union.add(z);
+            }
+        }
+        this.zone = union;
+    }
+
+    /**
+     * Retourne les changements du lot.
+     *
+     * @return Liste non modifiable des changements, dans l'ordre.
+     */
+    public List<ChangementFormes> getChangements() {
+        return changements;
+    }
+
+    /**
+     * Retourne le rectangle englobant toutes les formes concernées par le lot.
+     *
+     * @return La zone modifiée, ou null si aucune forme n'est concernée.
+     */
+    public java.awt.Rectangle getZone() {
+        return zone;
+    }
+
+    /**
+     * Retourne le nombre de changements regroupés dans le lot.
+     *
+     * @return Le nombre de changements.
+     */
+    public int taille() {
+        return changements.size();
+    }
+}
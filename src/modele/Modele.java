@@ -2,14 +2,24 @@ package modele;
 
 import controleur.evaluation.EvaluationStrategy;
 import controleur.evaluation.EvaluationParSimilarite;
+import vue.Affichage;
 import vue.Vue;
 import controleur.ModeSolo;
 import controleur.ModeDeuxJoueurs;
 import controleur.ModeRandom;
+import controleur.PlanificateurPartage;
+import controleur.commande.CommandeReversible;
+import controleur.commande.HistoriqueCommandes;
+import modele.persistance.EvenementJeu;
+import modele.persistance.JournalJeu;
+import metriques.Chronometre;
+import metriques.Compteur;
+import metriques.Metriques;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
-import javax.swing.*;
 
 /**
  * Classe représentant le modèle principal de l'application
@@ -17,19 +27,58 @@ import javax.swing.*;
  * l’évaluation des reproductions, et communique avec la vue
  */
 public class Modele {
-    private Object controleurActif;
-    private List<Forme> formesProposition = new ArrayList<>();
+    private volatile Object controleurActif;
+    private volatile InstantaneFormes formesProposition = InstantaneFormes.vide(0);
     private EvaluationStrategy evaluateur;
     private List<Integer> tabScores = new ArrayList<>();
-    private List<Forme> formes = new ArrayList<>();
-    private Stack<Forme> undoStack = new Stack<>();
-    private Stack<Forme> redoStack = new Stack<>();
-    private List<Vue> observers = new ArrayList<>();
-    private Vue vue;
+    private List<ResultatRound> resultats = new ArrayList<>();
+    private volatile InstantaneFormes formes = InstantaneFormes.vide(0);
+    private IndexSpatial index = new IndexSpatial();
+    private final HistoriqueCommandes<InstantaneFormes> historique = new HistoriqueCommandes<>(
+        HistoriqueCommandes.CAPACITE_DEFAUT, HistoriqueCommandes.INTERVALLE_INSTANTANES_DEFAUT, new EtatFormes());
+    private Affichage affichage;
     private Forme formeTemporaire;
     private ModeSolo control;
     private int compteurForme;
     private String nomStrategie = "Similarité";
+    private final FileMutations mutations;
+    private volatile JournalJeu journal;
+    private final BusChangements bus;
+
+    private static final Compteur AJOUTS = Metriques.compteur("modele.ajouts");
+    private static final Compteur ANNULATIONS = Metriques.compteur("modele.annulations");
+    private static final Compteur VERSIONS = Metriques.compteur("modele.versions");
+    private static final Chronometre EFFACEMENT = Metriques.chronometre("modele.effacerFormes");
+    private static final Chronometre VALIDATION = Metriques.chronometre("modele.validerForme");
+
+    /** Nombre maximal de notifications par seconde du modèle de l'application graphique */
+    public static final int FREQUENCE_NOTIFICATIONS_DEFAUT = 60;
+
+    /**
+     * Crée un modèle dont les mutations sont appliquées par le thread de Swing.
+     * Les minuteries et autres threads peuvent le modifier sans synchronisation :
+     * leurs mutations sont mises en file et exécutées dans l'ordre par ce thread.
+     */
+    public Modele() {
+        this(FileMutations.surEDT());
+        // Les changements d'une même image sont livrés ensemble à la vue
+        bus.setFrequenceMax(FREQUENCE_NOTIFICATIONS_DEFAUT);
+    }
+
+    /**
+     * Crée un modèle avec une file de mutations donnée
+     * (par exemple {@link FileMutations#directe()} pour un modèle sans interface).
+     * Chaque changement est livré immédiatement aux observateurs
+     * (voir {@link #setFrequenceNotifications(int)}).
+     *
+     * @param mutations La file par laquelle passent toutes les mutations.
+     */
+    public Modele(FileMutations mutations) {
+        this.mutations = mutations;
+        // La minuterie des images n'est créée que si des livraisons groupées sont demandées
+        this.bus = new BusChangements(mutations,
+            (action, delaiMs) -> MinuterieImages.INSTANCE.planifier(action, delaiMs));
+    }
 
     /**
      * definit le controleur actif et désactive les boutons d'action
@@ -38,9 +87,13 @@ public class Modele {
      */
     public void setControleurActif(Object c) {
         this.controleurActif = c;
-        this.vue.setValidationActive(false);
-        this.vue.setUndoActive(false);
-        this.vue.setRedoActive(false);
+        mutations.soumettre(() -> {
+            if (affichage != null) {
+                this.affichage.setValidationActive(false);
+                this.affichage.setUndoActive(false);
+                this.affichage.setRedoActive(false);
+            }
+        });
     }
 
     /**
@@ -53,12 +106,16 @@ public class Modele {
      * @param actives true pour activer les boutons, false pour les désactiver.
      */
     public void setActionsActives(boolean actives) {
-    vue.setValidationActive(actives);
-    vue.setUndoActive(actives);
-    vue.setRedoActive(actives);
+        // Passe par la file pour rester ordonné avec les mutations (et sur le thread de Swing)
+        mutations.soumettre(() -> {
+            if (affichage != null) {
+                affichage.setValidationActive(actives);
+                affichage.setUndoActive(actives);
+                affichage.setRedoActive(actives);
 
-    vue.getBouton("Cercle").setEnabled(actives);
-    vue.getBouton("Rectangle").setEnabled(actives);
+                affichage.setCreationActive(actives);
+            }
+        });
     }
 
     /**
@@ -91,33 +148,79 @@ public class Modele {
     }
 
     /**
-     * Définit la vue associée au modèle.
+     * Définit l'affichage associé au modèle (la vue Swing, ou un affichage sans écran).
+     *
+     * @param affichage L'affichage à associer.
+     */
+    public void setAffichage(Affichage affichage) {
+        this.affichage = affichage;
+    }
+
+    /**
+     * Retourne l'affichage associé.
      *
-     * @param vue La vue à associer.
+     * @return L'affichage courant.
      */
-    public void setVue(Vue vue) {
-        this.vue = vue;
+    public Affichage getAffichage() {
+        return affichage;
     }
 
     /**
-     * Retourne la vue associée.
+     * Branche un journal sur le modèle : chaque ajout, annulation, effacement
+     * et validation y est enregistré.
      *
-     * @return La vue courante.
+     * @param journal Le journal, ou null pour ne plus rien enregistrer.
      */
-    public Vue getVue() {
-        return vue;
+    public void setJournal(JournalJeu journal) {
+        this.journal = journal;
     }
 
     /**
-     * Ajoute une forme au modèle et l'empile pour pouvoir l'annuler
+     * Retourne le journal branché sur le modèle.
+     *
+     * @return Le journal, ou null.
+     */
+    public JournalJeu getJournal() {
+        return journal;
+    }
+
+    private void journaliser(EvenementJeu evenement) {
+        JournalJeu j = journal;
+        if (j != null) {
+            j.enregistrer(evenement);
+        }
+    }
+
+    /**
+     * Ajoute une forme au modèle et l'empile pour pouvoir l'annuler.
+     * Comme toutes les mutations, l'ajout est exécuté par le thread propriétaire du modèle.
      *
      * @param f La forme à ajouter.
      */
     public void ajouterForme(Forme f) {
-        formes.add(f);
-        undoStack.push(f);
-        redoStack.clear();
-        notifierObservers();
+        AJOUTS.incrementer();
+        mutations.soumettre(() -> {
+            historique.executer(new AjoutForme(f));
+            journaliser(EvenementJeu.ajout(f));
+        });
+    }
+
+    /**
+     * Ajoute d'un bloc toutes les formes d'un dessin (niveau, round, reprise) :
+     * une seule mise à jour des formes visibles, une seule entrée Undo/Redo
+     * et une seule notification, quel que soit le nombre de formes.
+     *
+     * @param ajouts Les formes à ajouter, dans l'ordre de dessin.
+     */
+    public void ajouterFormes(Collection<? extends Forme> ajouts) {
+        if (ajouts.isEmpty()) return;
+        // Copie immuable : l'appelant peut réutiliser sa collection
+        List<Forme> lot = Collections.unmodifiableList(Arrays.asList(ajouts.toArray(new Forme[0])));
+        AJOUTS.ajouter(lot.size());
+        mutations.soumettre(() -> {
+            historique.executer(new AjoutFormes(lot));
+            journaliser(EvenementJeu.ajoutLot(lot));
+        });
     }
 
     /**
@@ -125,76 +228,165 @@ public class Modele {
      * Réactive les boutons Undo/Redo/Valider.
      */
     public void effacerFormes() {
-        formesProposition = new ArrayList<>(formes);
-        formes.clear();
-        undoStack.clear();
-        redoStack.clear();
-        vue.setValidationActive(true);
-        vue.setUndoActive(true);
-        vue.setRedoActive(true);
-        notifierObservers();
+        mutations.soumettre(() -> {
+            long debut = EFFACEMENT.debut();
+            formesProposition = formes;
+            formes = formes.vider();
+            index.vider();
+            historique.vider();
+            journaliser(EvenementJeu.effacement());
+            if (affichage != null) {
+                affichage.setValidationActive(true);
+                affichage.setUndoActive(true);
+                affichage.setRedoActive(true);
+            }
+            notifierObservers(new ChangementFormes(ChangementFormes.Type.EFFACEMENT, formesProposition));
+            EFFACEMENT.terminer(debut);
+        });
     }
 
     /**
      * Efface toutes les formes (originales et reproduites), utilisé après validation
      */
     public void effacerFormesAll() {
-        formesProposition.clear();
-        formes.clear();
-        undoStack.clear();
-        redoStack.clear();
-        notifierObservers();
+        mutations.soumettre(() -> {
+            ChangementFormes changement = new ChangementFormes(ChangementFormes.Type.EFFACEMENT, formes);
+            formesProposition = formesProposition.vider();
+            formes = formes.vider();
+            index.vider();
+            historique.vider();
+            journaliser(EvenementJeu.effacementTotal());
+            notifierObservers(changement);
+        });
     }
 
     /**
-     * Annule la dernière forme ajoutée 
+     * Annule la dernière forme ajoutée, en O(1)
      */
     public void undo() {
-        if (!undoStack.isEmpty()) {
-            Forme derniereForme = undoStack.pop();
-            redoStack.push(derniereForme);
-            formes.remove(derniereForme);
-            notifierObservers();
-        }
+        mutations.soumettre(() -> {
+            if (historique.annuler()) {
+                ANNULATIONS.incrementer();
+                journaliser(EvenementJeu.undo());
+            }
+        });
     }
 
     /**
-     * Rétablit la dernière forme annulée 
+     * Rétablit la dernière forme annulée, en O(1)
      */
     public void redo() {
-        if (!redoStack.isEmpty()) {
-            Forme derniereForme = redoStack.pop();
-            formes.add(derniereForme);
-            undoStack.push(derniereForme);
-            notifierObservers();
+        mutations.soumettre(() -> {
+            if (historique.refaire()) {
+                journaliser(EvenementJeu.redo());
+            }
+        });
+    }
+
+    /**
+     * Passe à la version suivante du dessin. Dessiner après un Undo crée une nouvelle branche
+     * dans l'historique sans perdre l'ancienne : chaque branche est une version, parcourue
+     * de la plus ancienne à la plus récente puis de nouveau depuis la première.
+     */
+    public void versionSuivante() {
+        mutations.soumettre(() -> {
+            List<HistoriqueCommandes.Noeud<InstantaneFormes>> versions = historique.getVersions();
+            if (versions.size() > 1) {
+                int indice = versions.indexOf(historique.getVersionCourante());
+                allerAVersion(versions, (indice + 1) % versions.size());
+            }
+        });
+    }
+
+    /**
+     * Amène le dessin à une version donnée (voir {@link #versionSuivante()}),
+     * en passant par les instantanés de l'historique quand c'est moins coûteux.
+     *
+     * @param indice L'indice de la version, de la plus ancienne à la plus récente.
+     */
+    public void allerAVersion(int indice) {
+        mutations.soumettre(() -> allerAVersion(historique.getVersions(), indice));
+    }
+
+    private void allerAVersion(List<HistoriqueCommandes.Noeud<InstantaneFormes>> versions, int indice) {
+        if (indice >= 0 && indice < versions.size()) {
+            historique.allerA(versions.get(indice));
+            VERSIONS.incrementer();
+            journaliser(EvenementJeu.version(indice));
         }
     }
 
+    /**
+     * Change le poids maximal des actions conservées pour Undo/Redo, compté en formes :
+     * un dessin entier ajouté d'un coup pèse autant de formes qu'il en contient
+     * (les actions les plus anciennes sont oubliées au-delà).
+     *
+     * @param capacite Le nombre de formes conservées dans l'historique.
+     */
+    public void setCapaciteHistorique(int capacite) {
+        mutations.soumettre(() -> historique.setCapacite(capacite));
+    }
+
     /**
      * Valide la reproduction du joueur, calcule le score avec la stratégie actuelle,
      * affiche le score, nettoie les formes, et passe à l'étape suivante selon le mode.
+     * Comme les autres mutations, la validation est exécutée par le thread propriétaire
+     * du modèle, après les ajouts et effacements déjà en file.
      */
     public void validerForme() {
-        if (!formes.isEmpty()) {
-            int score = evaluateur.evaluer(formesProposition, formes);
-            tabScores.add(score);
-            effacerFormesAll();
-            compteurForme++;
-
-            String messageScore = String.format("Tour %d : %d/100", compteurForme, score);
-            if (vue != null) {
-                vue.ajouterScore(messageScore);
-            }
+        mutations.soumettre(() -> {
+            if (!formes.isEmpty()) {
+                long debut = VALIDATION.debut();
+                int score = evaluateur.evaluer(formesProposition, formes);
+                enregistrerValidation(score, nomStrategie);
+                effacerFormesAll();
 
-            vue.setValidationActive(false);
-            vue.setUndoActive(false);
-            vue.setRedoActive(false);
+                if (affichage != null) {
+                    affichage.setValidationActive(false);
+                    affichage.setUndoActive(false);
+                    affichage.setRedoActive(false);
+                }
 
-            if (controleurActif instanceof ModeSolo) {
-                ((ModeSolo) controleurActif).prochaineEtape(compteurForme);
-            } else if (controleurActif instanceof ModeRandom) {
-                ((ModeRandom) controleurActif).prochaineEtape();
+                if (controleurActif instanceof ModeSolo) {
+                    ((ModeSolo) controleurActif).prochaineEtape(compteurForme);
+                } else if (controleurActif instanceof ModeRandom) {
+                    ((ModeRandom) controleurActif).prochaineEtape();
+                }
+                VALIDATION.terminer(debut);
             }
+        });
+    }
+
+    /**
+     * Enregistre le score d'une reproduction : score du round, détail des formes,
+     * journal et affichage. Appelée par {@link #validerForme()}, ou directement
+     * pour rétablir un score déjà calculé (reprise d'une partie journalisée).
+     *
+     * @param score     Le score obtenu.
+     * @param strategie Le nom de la stratégie qui l'a calculé.
+     */
+    public void enregistrerValidation(int score, String strategie) {
+        tabScores.add(score);
+        compteurForme++;
+        // Les instantanés sont immuables : le résultat les garde sans copie
+        resultats.add(new ResultatRound(compteurForme, strategie, score, formesProposition, formes));
+        journaliser(EvenementJeu.validation(score, strategie));
+
+        String messageScore = String.format("Tour %d : %d/100", compteurForme, score);
+        if (affichage != null) {
+            affichage.ajouterScore(messageScore);
+        }
+    }
+
+    /**
+     * Signale la fin de la partie : l'événement est journalisé et le journal
+     * écrit sur disque, pour que la partie ne soit pas proposée à la reprise.
+     */
+    public void terminerPartie() {
+        JournalJeu j = journal;
+        if (j != null) {
+            j.enregistrer(EvenementJeu.fin());
+            j.synchroniser();
         }
     }
 
@@ -209,16 +401,124 @@ public class Modele {
         }else{
         message.append(String.format("Votre moyenne : %.2f points\n",tabScores.stream().mapToInt(Integer::intValue).average().orElse(0)));
         }
-        JOptionPane.showMessageDialog(null, message.toString());
+        affichage.afficherMessage(message.toString());
+    }
+
+    /**
+     * Remet le modèle dans l'état d'un modèle neuf, pour qu'il serve à une autre partie :
+     * formes, historique, scores, contrôleur, affichage, journal et observateurs sont oubliés.
+     * La file de mutations et la fréquence des notifications sont conservées.
+     * Doit être appelée depuis le thread propriétaire, par exemple via {@link #executer(Runnable)}.
+     */
+    public void reinitialiser() {
+        controleurActif = null;
+        formesProposition = formesProposition.vider();
+        formes = formes.vider();
+        index.vider();
+        historique.vider();
+        historique.setCapacite(HistoriqueCommandes.CAPACITE_DEFAUT);
+        tabScores = new ArrayList<>();
+        resultats = new ArrayList<>();
+        evaluateur = null;
+        nomStrategie = "Similarité";
+        affichage = null;
+        formeTemporaire = null;
+        compteurForme = 0;
+        journal = null;
+        bus.vider();
+    }
+
+    /**
+     * Exécute une action sur le thread propriétaire du modèle, à la suite des mutations
+     * déjà soumises. Permet aux minuteries de modifier l'état d'un mode de jeu
+     * sans course avec l'interface.
+     *
+     * @param action L'action à exécuter.
+     */
+    public void executer(Runnable action) {
+        mutations.soumettre(action);
+    }
+
+    /**
+     * Retourne les scores obtenus à chaque validation, dans l'ordre.
+     *
+     * @return Liste non modifiable des scores.
+     */
+    public List<Integer> getScores() {
+        return Collections.unmodifiableList(tabScores);
     }
 
     /**
-     * Retourne la liste actuelle des formes visibles.
+     * Retourne le détail de chaque round validé (formes, reproduction et score), dans l'ordre.
      *
-     * @return Liste des formes affichées.
+     * @return Liste non modifiable des résultats.
      */
-    public List<Forme> getFormes() {
-        return new ArrayList<>(formes);
+    public List<ResultatRound> getResultats() {
+        return Collections.unmodifiableList(resultats);
+    }
+
+    /**
+     * Retourne l'instantané courant des formes visibles.
+     * L'instantané est immuable : il peut être conservé et parcouru sans copie,
+     * et le même objet est retourné tant que le modèle n'a pas changé.
+     *
+     * @return Liste non modifiable des formes affichées.
+     */
+    public InstantaneFormes getFormes() {
+        return formes;
+    }
+
+    /**
+     * Retourne les formes mémorisées lors du dernier effacement,
+     * qui servent de référence pour l'évaluation.
+     *
+     * @return Liste non modifiable des formes de référence.
+     */
+    public InstantaneFormes getFormesProposition() {
+        return formesProposition;
+    }
+
+    /**
+     * Retourne la version courante de la liste des formes visibles.
+     * Elle change à chaque ajout, retrait ou effacement.
+     *
+     * @return Le numéro de version.
+     */
+    public long getVersion() {
+        return formes.getVersion();
+    }
+
+    /**
+     * Retourne les formes visibles dont le rectangle englobant touche une zone,
+     * dans l'ordre de dessin. Utilise l'index spatial plutôt qu'un parcours complet.
+     *
+     * @param zone La zone recherchée (par exemple la zone à redessiner).
+     * @return Les formes concernées.
+     */
+    public List<Forme> getFormesDans(java.awt.Rectangle zone) {
+        return index.rechercher(zone);
+    }
+
+    /**
+     * Retourne la forme visible située sous un point (la plus récente si plusieurs se superposent).
+     *
+     * @param x Coordonnée X du point.
+     * @param y Coordonnée Y du point.
+     * @return La forme trouvée, ou null.
+     */
+    public Forme getFormeA(int x, int y) {
+        return index.formeA(x, y);
+    }
+
+    /**
+     * Retourne la forme visible la plus proche d'un point.
+     *
+     * @param x Coordonnée X du point.
+     * @param y Coordonnée Y du point.
+     * @return La forme la plus proche, ou null s'il n'y a aucune forme.
+     */
+    public Forme getFormeLaPlusProche(int x, int y) {
+        return index.plusProche(x, y);
     }
 
     /**
@@ -227,17 +527,45 @@ public class Modele {
      * @param v La vue à enregistrer comme observateur.
      */
     public void ajouterObserver(Vue v) {
-        observers.add(v);
-        this.vue = v;
+        bus.abonner(v);
+        this.affichage = v;
     }
 
     /**
-     * Notifie tous les observateurs pour qu'ils redessinent les formes.
+     * Abonne un observateur aux changements de formes (vue, métriques...).
+     *
+     * @param observateur L'observateur.
      */
-    private void notifierObservers() {
-        for (Vue v : observers) {
-            v.repaint();
-        }
+    public void ajouterObservateur(ObservateurModele observateur) {
+        bus.abonner(observateur);
+    }
+
+    /**
+     * Désabonne un observateur.
+     *
+     * @param observateur L'observateur.
+     */
+    public void retirerObservateur(ObservateurModele observateur) {
+        bus.desabonner(observateur);
+    }
+
+    /**
+     * Fixe le nombre maximal de livraisons de changements par seconde : les changements
+     * survenus entre deux livraisons sont regroupés en un seul lot.
+     *
+     * @param imagesParSeconde La fréquence maximale, ou 0 pour livrer chaque changement immédiatement.
+     */
+    public void setFrequenceNotifications(int imagesParSeconde) {
+        bus.setFrequenceMax(imagesParSeconde);
+    }
+
+    /**
+     * Publie un changement aux observateurs, qui redessineront la zone concernée.
+     *
+     * @param changement Le changement à publier.
+     */
+    private void notifierObservers(ChangementFormes changement) {
+        bus.publier(changement);
     }
 
     /**
@@ -274,4 +602,101 @@ public class Modele {
         }
     }
 
-}
\ No newline at end of file
+
+    /**
+     * Minuterie des livraisons groupées aux observateurs, créée au premier usage.
+     * Jusqu'à 60 tâches par seconde : sur le planificateur partagé, elles noieraient
+     * les comptes à rebours des modes de jeu dans ses statistiques.
+     */
+    private static final class MinuterieImages {
+        static final PlanificateurPartage INSTANCE = new PlanificateurPartage("minuterie-images", 1);
+    }
+
+    /**
+     * Ajout d'une forme, réversible : le delta enregistré dans l'historique Undo/Redo.
+     */
+    private final class AjoutForme implements CommandeReversible {
+        private final Forme forme;
+
+        AjoutForme(Forme forme) {
+            this.forme = forme;
+        }
+
+        @Override
+        public void execute() {
+            formes = formes.avec(forme);
+            index.ajouter(forme);
+            notifierObservers(new ChangementFormes(ChangementFormes.Type.AJOUT, Collections.singletonList(forme)));
+        }
+
+        @Override
+        public void annuler() {
+            // La forme annulée est toujours la dernière : retrait en O(1)
+            formes = formes.sans(forme);
+            index.retirer(forme);
+            notifierObservers(new ChangementFormes(ChangementFormes.Type.RETRAIT, Collections.singletonList(forme)));
+        }
+    }
+
+    /**
+     * Ajout d'un lot de formes, réversible d'un seul coup.
+     */
+    private final class AjoutFormes implements CommandeReversible {
+        private final List<Forme> lot;
+
+        AjoutFormes(List<Forme> lot) {
+            this.lot = lot;
+        }
+
+        @Override
+        public void execute() {
+            formes = formes.avecTout(lot);
+            for (Forme f : lot) {
+                index.ajouter(f);
+            }
+            notifierObservers(new ChangementFormes(ChangementFormes.Type.AJOUT, lot));
+        }
+
+        @Override
+        public void annuler() {
+            // Le lot annulé occupe toujours la fin de la liste
+            formes = formes.sansDerniers(lot.size());
+            for (int i = lot.size() - 1; i >= 0; i--) {
+                index.retirer(lot.get(i));
+            }
+            notifierObservers(new ChangementFormes(ChangementFormes.Type.RETRAIT, lot));
+        }
+
+        @Override
+        public int getPoids() {
+            return lot.size();
+        }
+    }
+
+    /**
+     * Instantanés des formes visibles pour l'historique : ils sont immuables, les capturer ne copie rien.
+     */
+    private final class EtatFormes implements HistoriqueCommandes.Etat<InstantaneFormes> {
+        @Override
+        public InstantaneFormes capturer() {
+            return formes;
+        }
+
+        @Override
+        public void restaurer(InstantaneFormes instantane) {
+            notifierObservers(new ChangementFormes(ChangementFormes.Type.EFFACEMENT, formes));
+            formes = instantane;
+            index.vider();
+            for (Forme f : instantane) {
+                index.ajouter(f);
+            }
+            notifierObservers(new ChangementFormes(ChangementFormes.Type.AJOUT, instantane));
+        }
+
+        @Override
+        public long coutRestauration(InstantaneFormes instantane) {
+            // L'index est reconstruit forme par forme
+            return instantane.size();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package modele;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Niveau du mode solo : un dessin nommé à mémoriser puis à reproduire.
+ */
+public class Niveau {
+
+    private final String nom;
+    private final List<Forme> formes;
+
+    /**
+     * Crée un niveau.
+     *
+     * @param nom    Le nom du dessin.
+     * @param formes Les formes du dessin.
+     */
+    public Niveau(String nom, List<Forme> formes) {
+        this.nom = nom;
+        this.formes = Collections.unmodifiableList(formes);
+    }
+
+    /**
+     * Retourne le nom du dessin.
+     *
+     * @return Le nom.
+     */
+    public String getNom() {
+        return nom;
+    }
+
+    /**
+     * Retourne les formes du dessin.
+     *
+     * @return Liste non modifiable des formes.
+     */
+    public List<Forme> getFormes() {
+        return formes;
+    }
+}
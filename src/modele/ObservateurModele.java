@@ -0,0 +1,18 @@
+package modele;
+
+/**
+ * Observateur des changements de formes du modèle.
+ *
+ * Les changements ne sont pas livrés un par un : le modèle les regroupe
+ * (voir {@link BusChangements}) et livre un {@link LotChangements} par image au plus,
+ * sur le thread propriétaire du modèle.
+ */
+public interface ObservateurModele {
+
+    /**
+     * Reçoit les changements survenus depuis la livraison précédente.
+     *
+     * @param lot Les changements, dans l'ordre où ils se sont produits.
+     */
+    void formesModifiees(LotChangements lot);
+}
@@ -1,41 +1,45 @@
 package modele;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import modele.persistance.EvenementJeu;
+import modele.persistance.JournalJeu;
+
 /**
- * Singleton représentant une partie à deux joueurs.
+ * Partie à deux joueurs.
  * Il conserve les scores de chaque joueur sur plusieurs tours,
  * ainsi que l'état d'avancement de la partie.
  */
 public class Partie {
-    private static Partie instance;
-
     private int numeroTour;
     private List<Integer> scoresJoueur1;
     private List<Integer> scoresJoueur2;
     private static final int NOMBRE_TOURS = 10;
+    private JournalJeu journal;
 
     /**
-     * Constructeur privé du singleton.
+     * Crée une nouvelle partie : chaque match a la sienne.
      * Initialise les scores des deux joueurs et le numéro de tour à 1
      */
-    private Partie() {
+    public Partie() {
         this.numeroTour = 1;
         this.scoresJoueur1 = new ArrayList<>();
         this.scoresJoueur2 = new ArrayList<>();
     }
 
     /**
-     * Retourne l'unique instance de Partie 
+     * Recrée une partie sauvegardée.
      *
-     * @return l'instance unique de la partie
+     * @param numeroTour    Le numéro du tour en cours.
+     * @param scoresJoueur1 Les scores déjà obtenus par le joueur 1.
+     * @param scoresJoueur2 Les scores déjà obtenus par le joueur 2.
      */
-    public static Partie getInstance() {
-        if (instance == null) {
-            instance = new Partie();
-        }
-        return instance;
+    public Partie(int numeroTour, List<Integer> scoresJoueur1, List<Integer> scoresJoueur2) {
+        this.numeroTour = numeroTour;
+        this.scoresJoueur1 = new ArrayList<>(scoresJoueur1);
+        this.scoresJoueur2 = new ArrayList<>(scoresJoueur2);
     }
 
     /**
@@ -59,6 +63,19 @@ public class Partie {
         } else {
             scoresJoueur2.add(score);
         }
+        if (journal != null) {
+            journal.enregistrer(EvenementJeu.scoreJoueur(joueur, score));
+        }
+    }
+
+    /**
+     * Retourne les scores du joueur, tour par tour.
+     *
+     * @param joueur Le numéro du joueur (1 ou 2).
+     * @return Liste non modifiable des scores.
+     */
+    public List<Integer> getScores(int joueur) {
+        return Collections.unmodifiableList((joueur == 1) ? scoresJoueur1 : scoresJoueur2);
     }
 
     /**
@@ -98,6 +115,27 @@ public class Partie {
      */
     public void tourSuivant() {
         numeroTour++;
+        if (journal != null) {
+            journal.enregistrer(EvenementJeu.tourSuivant());
+        }
+    }
+
+    /**
+     * Branche un journal sur la partie : chaque score et chaque changement de tour y est enregistré.
+     *
+     * @param journal Le journal, ou null pour ne plus rien enregistrer.
+     */
+    public void setJournal(JournalJeu journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Retourne le journal branché sur la partie.
+     *
+     * @return Le journal, ou null.
+     */
+    public JournalJeu getJournal() {
+        return journal;
     }
 
     /**
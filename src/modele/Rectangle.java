@@ -33,6 +33,28 @@ public class Rectangle implements Forme {
         g.drawRect(x, y, largeur, hauteur);
     }
 
+    /**
+     * Retourne le rectangle englobant, c'est-à-dire le rectangle lui-même
+     *
+     * @return Le rectangle englobant
+     */
+    @Override
+    public java.awt.Rectangle getBornes() {
+        return new java.awt.Rectangle(x, y, largeur, hauteur);
+    }
+
+    /**
+     * Indique si un point est dans le rectangle (bords compris)
+     *
+     * @param px Coordonnée X du point
+     * @param py Coordonnée Y du point
+     * @return true si le point est dans le rectangle
+     */
+    @Override
+    public boolean contient(int px, int py) {
+        return px >= x && px <= x + largeur && py >= y && py <= y + hauteur;
+    }
+
     /**
      * Retourne la position X du coin supérieur gauche.
      *
@@ -0,0 +1,82 @@
+package modele;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Résultat d'un round validé : les formes de référence, la reproduction du joueur
+ * et le score obtenu avec la stratégie d'évaluation alors active.
+ */
+public class ResultatRound {
+
+    private final int numero;
+    private final String strategie;
+    private final int score;
+    private final List<Forme> reference;
+    private final List<Forme> proposition;
+
+    /**
+     * Crée le résultat d'un round.
+     * Les listes ne sont pas copiées : elles doivent être immuables
+     * (par exemple des {@link InstantaneFormes}).
+     *
+     * @param numero      Le numéro du round (à partir de 1).
+     * @param strategie   Le nom de la stratégie d'évaluation utilisée.
+     * @param score       Le score obtenu.
+     * @param reference   Les formes à reproduire.
+     * @param proposition Les formes dessinées par le joueur.
+     */
+    public ResultatRound(int numero, String strategie, int score,
+                         List<Forme> reference, List<Forme> proposition) {
+        this.numero = numero;
+        this.strategie = strategie;
+        this.score = score;
+        this.reference = Collections.unmodifiableList(reference);
+        this.proposition = Collections.unmodifiableList(proposition);
+    }
+
+    /**
+     * Retourne le numéro du round.
+     *
+     * @return Le numéro, à partir de 1.
+     */
+    public int getNumero() {
+        return numero;
+    }
+
+    /**
+     * Retourne le nom de la stratégie d'évaluation utilisée.
+     *
+     * @return Le nom de la stratégie.
+     */
+    public String getStrategie() {
+        return strategie;
+    }
+
+    /**
+     * Retourne le score obtenu.
+     *
+     * @return Le score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Retourne les formes à reproduire.
+     *
+     * @return Liste non modifiable des formes de référence.
+     */
+    public List<Forme> getReference() {
+        return reference;
+    }
+
+    /**
+     * Retourne les formes dessinées par le joueur.
+     *
+     * @return Liste non modifiable des formes proposées.
+     */
+    public List<Forme> getProposition() {
+        return proposition;
+    }
+}
@@ -0,0 +1,310 @@
+package modele;
+
+import java.awt.Graphics;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Stockage en colonnes d'un grand nombre de formes.
+ *
+ * Au lieu d'un objet {@link Cercle} ou {@link Rectangle} par forme, le tampon range
+ * le type, x, y, la largeur (ou le rayon) et la hauteur dans des tableaux d'entiers
+ * parallèles : 20 octets par forme, contigus en mémoire, sans en-tête d'objet ni pointeur.
+ * Les boucles d'évaluation et de dessin parcourent directement ces colonnes.
+ *
+ * Les formes objets ne sont créées qu'à la demande ({@link #forme(int)}, {@link #enListe()}),
+ * pour les passer aux API qui attendent des {@link Forme}. Ce sont des copies de courte durée :
+ * deux appels pour le même indice donnent deux objets distincts.
+ */
+public class TamponFormes {
+
+    /** Type d'un cercle : la colonne largeur contient le rayon, la hauteur est inutilisée */
+    public static final int TYPE_CERCLE = 0;
+    /** Type d'un rectangle */
+    public static final int TYPE_RECTANGLE = 1;
+
+    private static final int CAPACITE_DEFAUT = 16;
+
+    private int[] types;
+    private int[] xs;
+    private int[] ys;
+    private int[] largeurs;
+    private int[] hauteurs;
+    private int taille;
+
+    /**
+     * Crée un tampon vide avec la capacité par défaut.
+     */
+    public TamponFormes() {
+        this(CAPACITE_DEFAUT);
+    }
+
+    /**
+     * Crée un tampon vide.
+     *
+     * @param capacite Le nombre de formes prévu (le tampon s'agrandit au-delà).
+     */
+    public TamponFormes(int capacite) {
+        int c = Math.max(1, capacite);
+        types = new int[c];
+        xs = new int[c];
+        ys = new int[c];
+        largeurs = new int[c];
+        hauteurs = new int[c];
+    }
+
+    /**
+     * Crée un tampon contenant une copie des formes d'une liste.
+     *
+     * @param formes Les formes à copier.
+     * @return Le tampon.
+     */
+    public static TamponFormes depuis(List<? extends Forme> formes) {
+        TamponFormes tampon = new TamponFormes(formes.size());
+        for (Forme f : formes) {
+            tampon.ajouter(f);
+        }
+        return tampon;
+    }
+
+    /**
+     * Ajoute une copie d'une forme à la fin du tampon.
+     *
+     * @param f Un cercle ou un rectangle.
+     * @throws IllegalArgumentException si la forme n'est ni un cercle ni un rectangle.
+     */
+    public void ajouter(Forme f) {
+        if (f instanceof Cercle) {
+            Cercle c = (Cercle) f;
+            ajouterCercle(c.getX(), c.getY(), c.getRayon());
+        } else if (f instanceof Rectangle) {
+            Rectangle r = (Rectangle) f;
+            ajouterRectangle(r.getX(), r.getY(), r.getLargeur(), r.getHauteur());
+        } else {
+            throw new IllegalArgumentException("Type de forme non supporté : " + f.getClass().getName());
+        }
+    }
+
+    /**
+     * Ajoute un cercle à la fin du tampon.
+     *
+     * @param x     Position X du cercle
+     * @param y     Position Y du cercle
+     * @param rayon Rayon du cercle
+     */
+    public void ajouterCercle(int x, int y, int rayon) {
+        ajouterLigne(TYPE_CERCLE, x, y, rayon, 0);
+    }
+
+    /**
+     * Ajoute un rectangle à la fin du tampon.
+     *
+     * @param x       Position X du coin supérieur gauche
+     * @param y       Position Y du coin supérieur gauche
+     * @param largeur Largeur du rectangle
+     * @param hauteur Hauteur du rectangle
+     */
+    public void ajouterRectangle(int x, int y, int largeur, int hauteur) {
+        ajouterLigne(TYPE_RECTANGLE, x, y, largeur, hauteur);
+    }
+
+    private void ajouterLigne(int type, int x, int y, int largeur, int hauteur) {
+        if (taille == types.length) {
+            agrandir(taille + (taille >> 1) + 1);
+        }
+        types[taille] = type;
+        xs[taille] = x;
+        ys[taille] = y;
+        largeurs[taille] = largeur;
+        hauteurs[taille] = hauteur;
+        taille++;
+    }
+
+    private void agrandir(int capacite) {
+        types = Arrays.copyOf(types, capacite);
+        xs = Arrays.copyOf(xs, capacite);
+        ys = Arrays.copyOf(ys, capacite);
+        largeurs = Arrays.copyOf(largeurs, capacite);
+        hauteurs = Arrays.copyOf(hauteurs, capacite);
+    }
+
+    /**
+     * Vide le tampon en conservant sa capacité.
+     */
+    public void vider() {
+        taille = 0;
+    }
+
+    /**
+     * Retourne le nombre de formes du tampon.
+     *
+     * @return Le nombre de formes.
+     */
+    public int taille() {
+        return taille;
+    }
+
+    /**
+     * Retourne le type de la forme d'indice i.
+     *
+     * @param i L'indice de la forme.
+     * @return {@link #TYPE_CERCLE} ou {@link #TYPE_RECTANGLE}.
+     */
+    public int getType(int i) {
+        verifierIndice(i);
+        return types[i];
+    }
+
+    /**
+     * Retourne la position X de la forme d'indice i.
+     *
+     * @param i L'indice de la forme.
+     * @return Position X
+     */
+    public int getX(int i) {
+        verifierIndice(i);
+        return xs[i];
+    }
+
+    /**
+     * Retourne la position Y de la forme d'indice i.
+     *
+     * @param i L'indice de la forme.
+     * @return Position Y
+     */
+    public int getY(int i) {
+        verifierIndice(i);
+        return ys[i];
+    }
+
+    /**
+     * Retourne la largeur (le rayon pour un cercle) de la forme d'indice i.
+     *
+     * @param i L'indice de la forme.
+     * @return Largeur ou rayon
+     */
+    public int getLargeur(int i) {
+        verifierIndice(i);
+        return largeurs[i];
+    }
+
+    /**
+     * Retourne la hauteur de la forme d'indice i (0 pour un cercle).
+     *
+     * @param i L'indice de la forme.
+     * @return Hauteur
+     */
+    public int getHauteur(int i) {
+        verifierIndice(i);
+        return hauteurs[i];
+    }
+
+    /**
+     * Colonne des types. Le tableau peut être plus long que {@link #taille()} ;
+     * il est partagé avec le tampon et ne doit pas être modifié.
+     *
+     * @return Le tableau des types.
+     */
+    public int[] colonneTypes() {
+        return types;
+    }
+
+    /**
+     * Colonne des positions X (voir {@link #colonneTypes()}).
+     *
+     * @return Le tableau des X.
+     */
+    public int[] colonneX() {
+        return xs;
+    }
+
+    /**
+     * Colonne des positions Y (voir {@link #colonneTypes()}).
+     *
+     * @return Le tableau des Y.
+     */
+    public int[] colonneY() {
+        return ys;
+    }
+
+    /**
+     * Colonne des largeurs, ou des rayons pour les cercles (voir {@link #colonneTypes()}).
+     *
+     * @return Le tableau des largeurs.
+     */
+    public int[] colonneLargeurs() {
+        return largeurs;
+    }
+
+    /**
+     * Colonne des hauteurs (voir {@link #colonneTypes()}).
+     *
+     * @return Le tableau des hauteurs.
+     */
+    public int[] colonneHauteurs() {
+        return hauteurs;
+    }
+
+    /**
+     * Crée l'objet forme correspondant à l'indice i.
+     *
+     * @param i L'indice de la forme.
+     * @return Un nouveau cercle ou rectangle.
+     */
+    public Forme forme(int i) {
+        verifierIndice(i);
+        if (types[i] == TYPE_CERCLE) {
+            return new Cercle(xs[i], ys[i], largeurs[i]);
+        }
+        return new Rectangle(xs[i], ys[i], largeurs[i], hauteurs[i]);
+    }
+
+    /**
+     * Retourne une vue en lecture seule du tampon sous forme de liste de formes,
+     * pour les API qui attendent une {@code List<Forme>}. Les formes sont créées à chaque accès.
+     *
+     * @return La vue liste.
+     */
+    public List<Forme> enListe() {
+        return new VueListe();
+    }
+
+    /**
+     * Dessine toutes les formes du tampon en parcourant directement les colonnes.
+     *
+     * @param g Le contexte graphique sur lequel dessiner
+     */
+    public void dessiner(Graphics g) {
+        for (int i = 0; i < taille; i++) {
+            if (types[i] == TYPE_CERCLE) {
+                int d = largeurs[i] * 2;
+                g.drawOval(xs[i], ys[i], d, d);
+            } else {
+                g.drawRect(xs[i], ys[i], largeurs[i], hauteurs[i]);
+            }
+        }
+    }
+
+    private void verifierIndice(int i) {
+        if (i < 0 || i >= taille) {
+            throw new IndexOutOfBoundsException("Index : " + i + ", taille : " + taille);
+        }
+    }
+
+    /**
+     * Liste de formes adossée au tampon.
+     */
+    private final class VueListe extends AbstractList<Forme> implements RandomAccess {
+        @Override
+        public Forme get(int i) {
+            return forme(i);
+        }
+
+        @Override
+        public int size() {
+            return taille;
+        }
+    }
+}
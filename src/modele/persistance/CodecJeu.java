@@ -0,0 +1,440 @@
+package modele.persistance;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import modele.Cercle;
+import modele.Forme;
+import modele.Joueur;
+import modele.Partie;
+import modele.Rectangle;
+import modele.ResultatRound;
+import modele.TamponFormes;
+
+/**
+ * Format binaire compact et versionné des données du jeu : formes, parties,
+ * rounds validés et joueurs. C'est la base des sauvegardes et des archives de parties.
+ *
+ * Un message encodé commence par un en-tête de 4 octets : la signature {@code 'M' 'J'},
+ * la version du format et le type du contenu. Viennent ensuite les données, en varints :
+ * <ul>
+ * <li>une liste de formes est son nombre de formes, puis pour chacune un octet de type
+ * (0 cercle, 1 rectangle), l'écart en x et en y avec la forme précédente, et les dimensions.
+ * Les formes d'un dessin étant proches les unes des autres, une forme tient en 5 ou 6 octets ;</li>
+ * <li>une partie est son numéro de tour, puis les scores de chaque joueur ;</li>
+ * <li>un round est son numéro, sa stratégie, son score, puis ses deux listes de formes.</li>
+ * </ul>
+ * Les méthodes {@code ecrireX}/{@code lireX} écrivent ou lisent le seul contenu, sans en-tête,
+ * pour composer des formats plus larges (journal, archive) ; les méthodes {@code encoderX}/{@code decoderX}
+ * produisent ou lisent un message complet.
+ */
+public final class CodecJeu {
+
+    /** Version courante du format */
+    public static final int VERSION = 1;
+
+    /** Type de contenu : une liste de formes */
+    public static final int TYPE_FORMES = 1;
+    /** Type de contenu : une partie à deux joueurs */
+    public static final int TYPE_PARTIE = 2;
+    /** Type de contenu : une liste de rounds validés */
+    public static final int TYPE_RESULTATS = 3;
+    /** Type de contenu : un joueur et ses formes */
+    public static final int TYPE_JOUEUR = 4;
+
+    private static final int SIGNATURE_1 = 'M';
+    private static final int SIGNATURE_2 = 'J';
+
+    private static final int FORME_CERCLE = 0;
+    private static final int FORME_RECTANGLE = 1;
+
+    private CodecJeu() {
+    }
+
+    // ----- Messages complets -----
+
+    /**
+     * Encode une liste de formes.
+     *
+     * @param formes Les formes (cercles et rectangles).
+     * @return Le message, prêt à être lu ou écrit dans un canal.
+     */
+    public static ByteBuffer encoderFormes(List<? extends Forme> formes) {
+        EcrivainBinaire ecrivain = new EcrivainBinaire(8 + formes.size() * 6);
+        ecrireEntete(ecrivain, TYPE_FORMES);
+        ecrireFormes(ecrivain, formes);
+        return ecrivain.versLecture();
+    }
+
+    /**
+     * Décode une liste de formes.
+     *
+     * @param message Le message (lu de sa position à sa limite, sans la modifier).
+     * @return Les formes.
+     * @throws IOException si le message est mal formé ou d'une autre version.
+     */
+    public static List<Forme> decoderFormes(ByteBuffer message) throws IOException {
+        LecteurBinaire lecteur = new LecteurBinaire(message);
+        lireEntete(lecteur, TYPE_FORMES);
+        return lireFormes(lecteur);
+    }
+
+    /**
+     * Encode une partie à deux joueurs.
+     *
+     * @param partie La partie.
+     * @return Le message.
+     */
+    public static ByteBuffer encoderPartie(Partie partie) {
+        EcrivainBinaire ecrivain = new EcrivainBinaire(64);
+        ecrireEntete(ecrivain, TYPE_PARTIE);
+        ecrirePartie(ecrivain, partie);
+        return ecrivain.versLecture();
+    }
+
+    /**
+     * Décode une partie à deux joueurs.
+     *
+     * @param message Le message.
+     * @return Une nouvelle partie, dans l'état sauvegardé.
+     * @throws IOException si le message est mal formé ou d'une autre version.
+     */
+    public static Partie decoderPartie(ByteBuffer message) throws IOException {
+        LecteurBinaire lecteur = new LecteurBinaire(message);
+        lireEntete(lecteur, TYPE_PARTIE);
+        return lirePartie(lecteur);
+    }
+
+    /**
+     * Encode une liste de rounds validés.
+     *
+     * @param resultats Les rounds (par exemple {@link modele.Modele#getResultats()}).
+     * @return Le message.
+     */
+    public static ByteBuffer encoderResultats(List<ResultatRound> resultats) {
+        EcrivainBinaire ecrivain = new EcrivainBinaire(16 + resultats.size() * 64);
+        ecrireEntete(ecrivain, TYPE_RESULTATS);
+        ecrivain.ecrireVarint(resultats.size());
+        for (ResultatRound r : resultats) {
+            ecrireResultat(ecrivain, r);
+        }
+        return ecrivain.versLecture();
+    }
+
+    /**
+     * Décode une liste de rounds validés.
+     *
+     * @param message Le message.
+     * @return Les rounds.
+     * @throws IOException si le message est mal formé ou d'une autre version.
+     */
+    public static List<ResultatRound> decoderResultats(ByteBuffer message) throws IOException {
+        LecteurBinaire lecteur = new LecteurBinaire(message);
+        lireEntete(lecteur, TYPE_RESULTATS);
+        int nb = lecteur.lireTaille();
+        List<ResultatRound> resultats = new ArrayList<>(nb);
+        for (int i = 0; i < nb; i++) {
+            resultats.add(lireResultat(lecteur));
+        }
+        return resultats;
+    }
+
+    /**
+     * Encode un joueur et les formes qu'il a dessinées.
+     *
+     * @param joueur Le joueur.
+     * @return Le message.
+     */
+    public static ByteBuffer encoderJoueur(Joueur joueur) {
+        EcrivainBinaire ecrivain = new EcrivainBinaire(32 + joueur.getFormesDessinees().size() * 6);
+        ecrireEntete(ecrivain, TYPE_JOUEUR);
+        ecrireJoueur(ecrivain, joueur);
+        return ecrivain.versLecture();
+    }
+
+    /**
+     * Décode un joueur et les formes qu'il a dessinées.
+     *
+     * @param message Le message.
+     * @return Un nouveau joueur.
+     * @throws IOException si le message est mal formé ou d'une autre version.
+     */
+    public static Joueur decoderJoueur(ByteBuffer message) throws IOException {
+        LecteurBinaire lecteur = new LecteurBinaire(message);
+        lireEntete(lecteur, TYPE_JOUEUR);
+        return lireJoueur(lecteur);
+    }
+
+    // ----- En-tête -----
+
+    /**
+     * Écrit l'en-tête d'un message.
+     *
+     * @param ecrivain La destination.
+     * @param type     Le type de contenu ({@link #TYPE_FORMES}...).
+     */
+    public static void ecrireEntete(EcrivainBinaire ecrivain, int type) {
+        ecrivain.ecrireOctet(SIGNATURE_1);
+        ecrivain.ecrireOctet(SIGNATURE_2);
+        ecrivain.ecrireOctet(VERSION);
+        ecrivain.ecrireOctet(type);
+    }
+
+    /**
+     * Lit et vérifie l'en-tête d'un message.
+     *
+     * @param lecteur La source.
+     * @param type    Le type de contenu attendu.
+     * @throws IOException si la signature, la version ou le type ne conviennent pas.
+     */
+    public static void lireEntete(LecteurBinaire lecteur, int type) throws IOException {
+        if (lecteur.lireOctet() != SIGNATURE_1 || lecteur.lireOctet() != SIGNATURE_2) {
+            throw new IOException("Signature invalide");
+        }
+        int version = lecteur.lireOctet();
+        if (version != VERSION) {
+            throw new IOException("Version de format non supportée : " + version);
+        }
+        int lu = lecteur.lireOctet();
+        if (lu != type) {
+            throw new IOException("Type de contenu inattendu : " + lu + " au lieu de " + type);
+        }
+    }
+
+    // ----- Contenus -----
+
+    /**
+     * Écrit une forme seule, en coordonnées absolues.
+     *
+     * @param ecrivain La destination.
+     * @param f        Un cercle ou un rectangle.
+     */
+    public static void ecrireForme(EcrivainBinaire ecrivain, Forme f) {
+        ecrireForme(ecrivain, f, 0, 0);
+    }
+
+    /**
+     * Lit une forme écrite par {@link #ecrireForme(EcrivainBinaire, Forme)}.
+     *
+     * @param lecteur La source.
+     * @return La forme.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static Forme lireForme(LecteurBinaire lecteur) throws IOException {
+        return lireForme(lecteur, 0, 0);
+    }
+
+    /**
+     * Écrit une liste de formes, en coordonnées relatives à la forme précédente.
+     *
+     * @param ecrivain La destination.
+     * @param formes   Les formes.
+     */
+    public static void ecrireFormes(EcrivainBinaire ecrivain, List<? extends Forme> formes) {
+        ecrivain.ecrireVarint(formes.size());
+        int x = 0;
+        int y = 0;
+        for (Forme f : formes) {
+            ecrireForme(ecrivain, f, x, y);
+            x = abscisse(f);
+            y = ordonnee(f);
+        }
+    }
+
+    /**
+     * Lit une liste de formes écrite par {@link #ecrireFormes(EcrivainBinaire, List)}.
+     *
+     * @param lecteur La source.
+     * @return Les formes.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static List<Forme> lireFormes(LecteurBinaire lecteur) throws IOException {
+        int nb = lecteur.lireTaille();
+        List<Forme> formes = new ArrayList<>(nb);
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < nb; i++) {
+            Forme f = lireForme(lecteur, x, y);
+            formes.add(f);
+            x = abscisse(f);
+            y = ordonnee(f);
+        }
+        return formes;
+    }
+
+    /**
+     * Lit une liste de formes directement dans un tampon en colonnes, sans créer d'objet forme.
+     * Le format est celui de {@link #ecrireFormes(EcrivainBinaire, List)}.
+     *
+     * @param lecteur     La source.
+     * @param destination Le tampon auquel ajouter les formes lues.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static void lireFormes(LecteurBinaire lecteur, TamponFormes destination) throws IOException {
+        int nb = lecteur.lireTaille();
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < nb; i++) {
+            int type = lecteur.lireOctet();
+            x = coordonnee(x + lecteur.lireVarintSigne());
+            y = coordonnee(y + lecteur.lireVarintSigne());
+            if (type == FORME_CERCLE) {
+                destination.ajouterCercle(x, y, lecteur.lireEntier());
+            } else if (type == FORME_RECTANGLE) {
+                destination.ajouterRectangle(x, y, lecteur.lireEntier(), lecteur.lireEntier());
+            } else {
+                throw new IOException("Type de forme inconnu : " + type);
+            }
+        }
+    }
+
+    /**
+     * Écrit l'état d'une partie à deux joueurs.
+     *
+     * @param ecrivain La destination.
+     * @param partie   La partie.
+     */
+    public static void ecrirePartie(EcrivainBinaire ecrivain, Partie partie) {
+        ecrivain.ecrireVarint(partie.getNumeroTour());
+        ecrireScores(ecrivain, partie.getScores(1));
+        ecrireScores(ecrivain, partie.getScores(2));
+    }
+
+    /**
+     * Lit l'état d'une partie écrit par {@link #ecrirePartie(EcrivainBinaire, Partie)}.
+     *
+     * @param lecteur La source.
+     * @return Une nouvelle partie.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static Partie lirePartie(LecteurBinaire lecteur) throws IOException {
+        int numeroTour = lecteur.lireEntierPositif();
+        List<Integer> scores1 = lireScores(lecteur);
+        List<Integer> scores2 = lireScores(lecteur);
+        return new Partie(numeroTour, scores1, scores2);
+    }
+
+    /**
+     * Écrit un round validé.
+     *
+     * @param ecrivain La destination.
+     * @param resultat Le round.
+     */
+    public static void ecrireResultat(EcrivainBinaire ecrivain, ResultatRound resultat) {
+        ecrivain.ecrireVarint(resultat.getNumero());
+        ecrivain.ecrireChaine(resultat.getStrategie());
+        ecrivain.ecrireVarintSigne(resultat.getScore());
+        ecrireFormes(ecrivain, resultat.getReference());
+        ecrireFormes(ecrivain, resultat.getProposition());
+    }
+
+    /**
+     * Lit un round écrit par {@link #ecrireResultat(EcrivainBinaire, ResultatRound)}.
+     *
+     * @param lecteur La source.
+     * @return Le round.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static ResultatRound lireResultat(LecteurBinaire lecteur) throws IOException {
+        int numero = lecteur.lireEntierPositif();
+        String strategie = lecteur.lireChaine();
+        int score = lecteur.lireEntier();
+        List<Forme> reference = lireFormes(lecteur);
+        List<Forme> proposition = lireFormes(lecteur);
+        return new ResultatRound(numero, strategie, score, reference, proposition);
+    }
+
+    /**
+     * Écrit un joueur et les formes qu'il a dessinées.
+     *
+     * @param ecrivain La destination.
+     * @param joueur   Le joueur.
+     */
+    public static void ecrireJoueur(EcrivainBinaire ecrivain, Joueur joueur) {
+        ecrivain.ecrireChaine(joueur.getNom());
+        ecrireFormes(ecrivain, joueur.getFormesDessinees());
+    }
+
+    /**
+     * Lit un joueur écrit par {@link #ecrireJoueur(EcrivainBinaire, Joueur)}.
+     *
+     * @param lecteur La source.
+     * @return Un nouveau joueur.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static Joueur lireJoueur(LecteurBinaire lecteur) throws IOException {
+        Joueur joueur = new Joueur(lecteur.lireChaine());
+        for (Forme f : lireFormes(lecteur)) {
+            joueur.ajouterForme(f);
+        }
+        return joueur;
+    }
+
+    // ----- Détails -----
+
+    private static void ecrireForme(EcrivainBinaire ecrivain, Forme f, int xPrecedent, int yPrecedent) {
+        if (f instanceof Cercle) {
+            Cercle c = (Cercle) f;
+            ecrivain.ecrireOctet(FORME_CERCLE);
+            ecrivain.ecrireVarintSigne((long) c.getX() - xPrecedent);
+            ecrivain.ecrireVarintSigne((long) c.getY() - yPrecedent);
+            ecrivain.ecrireVarintSigne(c.getRayon());
+        } else if (f instanceof Rectangle) {
+            Rectangle r = (Rectangle) f;
+            ecrivain.ecrireOctet(FORME_RECTANGLE);
+            ecrivain.ecrireVarintSigne((long) r.getX() - xPrecedent);
+            ecrivain.ecrireVarintSigne((long) r.getY() - yPrecedent);
+            ecrivain.ecrireVarintSigne(r.getLargeur());
+            ecrivain.ecrireVarintSigne(r.getHauteur());
+        } else {
+            throw new IllegalArgumentException("Type de forme non supporté : " + f.getClass().getName());
+        }
+    }
+
+    private static Forme lireForme(LecteurBinaire lecteur, int xPrecedent, int yPrecedent) throws IOException {
+        int type = lecteur.lireOctet();
+        int x = coordonnee(xPrecedent + lecteur.lireVarintSigne());
+        int y = coordonnee(yPrecedent + lecteur.lireVarintSigne());
+        switch (type) {
+            case FORME_CERCLE:
+                return new Cercle(x, y, lecteur.lireEntier());
+            case FORME_RECTANGLE:
+                return new Rectangle(x, y, lecteur.lireEntier(), lecteur.lireEntier());
+            default:
+                throw new IOException("Type de forme inconnu : " + type);
+        }
+    }
+
+    private static int coordonnee(long valeur) throws IOException {
+        if (valeur < Integer.MIN_VALUE || valeur > Integer.MAX_VALUE) {
+            throw new IOException("Coordonnée hors limites : " + valeur);
+        }
+        return (int) valeur;
+    }
+
+    private static int abscisse(Forme f) {
+        return (f instanceof Cercle) ? ((Cercle) f).getX() : ((Rectangle) f).getX();
+    }
+
+    private static int ordonnee(Forme f) {
+        return (f instanceof Cercle) ? ((Cercle) f).getY() : ((Rectangle) f).getY();
+    }
+
+    private static void ecrireScores(EcrivainBinaire ecrivain, List<Integer> scores) {
+        ecrivain.ecrireVarint(scores.size());
+        for (int score : scores) {
+            ecrivain.ecrireVarintSigne(score);
+        }
+    }
+
+    private static List<Integer> lireScores(LecteurBinaire lecteur) throws IOException {
+        int nb = lecteur.lireTaille();
+        List<Integer> scores = new ArrayList<>(nb);
+        for (int i = 0; i < nb; i++) {
+            scores.add(lecteur.lireEntier());
+        }
+        return scores;
+    }
+}
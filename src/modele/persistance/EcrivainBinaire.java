@@ -0,0 +1,157 @@
+package modele.persistance;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Écriture de données binaires compactes dans un {@link ByteBuffer}.
+ *
+ * Les entiers sont écrits en varint (7 bits par octet, LEB128) : une petite valeur
+ * tient sur un seul octet. Les entiers signés passent d'abord par le codage zigzag
+ * (0, -1, 1, -2... deviennent 0, 1, 2, 3...) pour que les petites valeurs négatives
+ * restent courtes, ce qui convient aux écarts de coordonnées.
+ *
+ * L'écrivain écrit soit directement dans un tampon fourni par l'appelant (sans copie,
+ * {@link BufferOverflowException} s'il est plein), soit dans un tampon qu'il agrandit lui-même.
+ */
+public class EcrivainBinaire {
+
+    private ByteBuffer tampon;
+    private final boolean extensible;
+
+    /**
+     * Crée un écrivain dans un tampon extensible.
+     */
+    public EcrivainBinaire() {
+        this(256);
+    }
+
+    /**
+     * Crée un écrivain dans un tampon extensible.
+     *
+     * @param capaciteInitiale La taille initiale du tampon, en octets.
+     */
+    public EcrivainBinaire(int capaciteInitiale) {
+        this.tampon = ByteBuffer.allocate(Math.max(16, capaciteInitiale));
+        this.extensible = true;
+    }
+
+    /**
+     * Crée un écrivain qui écrit directement dans un tampon, à partir de sa position courante.
+     * Le tampon n'est jamais réalloué.
+     *
+     * @param destination Le tampon de destination (par exemple projeté en mémoire).
+     */
+    public EcrivainBinaire(ByteBuffer destination) {
+        this.tampon = destination;
+        this.extensible = false;
+    }
+
+    /**
+     * Écrit un octet.
+     *
+     * @param valeur L'octet (seuls les 8 bits de poids faible sont écrits).
+     */
+    public void ecrireOctet(int valeur) {
+        reserver(1);
+        tampon.put((byte) valeur);
+    }
+
+    /**
+     * Écrit des octets bruts.
+     *
+     * @param octets Les octets à écrire.
+     */
+    public void ecrireOctets(byte[] octets) {
+        reserver(octets.length);
+        tampon.put(octets);
+    }
+
+    /**
+     * Écrit un entier positif en varint (1 à 10 octets).
+     * Une valeur négative est traitée comme un entier non signé sur 64 bits.
+     *
+     * @param valeur La valeur à écrire.
+     */
+    public void ecrireVarint(long valeur) {
+        reserver(10);
+        while ((valeur & ~0x7FL) != 0) {
+            tampon.put((byte) ((valeur & 0x7F) | 0x80));
+            valeur >>>= 7;
+        }
+        tampon.put((byte) valeur);
+    }
+
+    /**
+     * Écrit un entier signé en varint zigzag.
+     *
+     * @param valeur La valeur à écrire.
+     */
+    public void ecrireVarintSigne(long valeur) {
+        ecrireVarint((valeur << 1) ^ (valeur >> 63));
+    }
+
+    /**
+     * Écrit une chaîne : sa longueur en octets (varint), puis son contenu en UTF-8.
+     *
+     * @param chaine La chaîne à écrire.
+     */
+    public void ecrireChaine(String chaine) {
+        byte[] octets = chaine.getBytes(StandardCharsets.UTF_8);
+        ecrireVarint(octets.length);
+        ecrireOctets(octets);
+    }
+
+    /**
+     * Retourne le nombre d'octets écrits depuis la création (ou la réinitialisation) de l'écrivain.
+     *
+     * @return La position d'écriture.
+     */
+    public int position() {
+        return tampon.position();
+    }
+
+    /**
+     * Retourne une vue en lecture des octets écrits, sans copie.
+     * La vue partage le contenu du tampon : elle n'est valable que jusqu'à la prochaine écriture.
+     *
+     * @return Un tampon dont la position est 0 et la limite la fin des données.
+     */
+    public ByteBuffer versLecture() {
+        ByteBuffer vue = tampon.duplicate();
+        vue.flip();
+        return vue;
+    }
+
+    /**
+     * Retourne une copie des octets écrits.
+     *
+     * @return Les octets écrits.
+     */
+    public byte[] versTableau() {
+        ByteBuffer vue = versLecture();
+        byte[] octets = new byte[vue.remaining()];
+        vue.get(octets);
+        return octets;
+    }
+
+    /**
+     * Repart du début du tampon, pour le réutiliser sans réallouer.
+     */
+    public void reinitialiser() {
+        tampon.clear();
+    }
+
+    /**
+     * Garantit la place pour n octets dans un tampon extensible. Un tampon fourni
+     * par l'appelant n'est pas agrandi : c'est lui qui lève BufferOverflowException s'il est plein.
+     */
+    private void reserver(int n) {
+        if (!extensible || tampon.remaining() >= n) return;
+        ByteBuffer agrandi = ByteBuffer.allocate(Math.max(tampon.capacity() * 2, tampon.position() + n));
+        tampon.flip();
+        agrandi.put(tampon);
+        tampon = agrandi;
+    }
+}
@@ -0,0 +1,393 @@
+package modele.persistance;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import modele.Forme;
+
+/**
+ * Événement de jeu enregistré dans le {@link JournalJeu}.
+ *
+ * Chaque action qui modifie l'état d'une partie (ajout d'une forme, annulation,
+ * effacement, validation, score d'un joueur...) donne un événement horodaté.
+ * Rejouer les événements dans l'ordre sur un modèle neuf reconstruit l'état de la partie.
+ */
+public final class EvenementJeu {
+
+    /** Les types d'événements */
+    public enum Type {
+        /** Début d'une partie : mode, stratégie et graine */
+        DEBUT,
+        /** Ajout d'une forme */
+        AJOUT,
+        /** Annulation du dernier ajout */
+        UNDO,
+        /** Rétablissement du dernier ajout annulé */
+        REDO,
+        /** Fin de la mémorisation : les formes visibles deviennent la référence */
+        EFFACEMENT,
+        /** Effacement des formes visibles et de la référence, après une validation */
+        EFFACEMENT_TOTAL,
+        /** Validation d'une reproduction : score et stratégie */
+        VALIDATION,
+        /** Score d'un joueur en mode deux joueurs */
+        SCORE_JOUEUR,
+        /** Passage au tour suivant en mode deux joueurs */
+        TOUR_SUIVANT,
+        /** Fin de la partie */
+        FIN,
+        /** Ajout d'un lot de formes (un dessin entier), annulable d'un seul coup */
+        AJOUT_LOT,
+        /** Passage à une autre version du dessin (une branche de l'historique d'annulation) */
+        VERSION
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final Type type;
+    private final long horodatageMs;
+    private final Forme forme;
+    private final List<Forme> formes;
+    private final int score;
+    private final int joueur;
+    private final long graine;
+    private final String mode;
+    private final String strategie;
+    private final int version;
+
+    private EvenementJeu(Type type, long horodatageMs, Forme forme, int score, int joueur,
+                         long graine, String mode, String strategie) {
+        this(type, horodatageMs, forme, Collections.emptyList(), score, joueur, graine, mode, strategie);
+    }
+
+    private EvenementJeu(Type type, long horodatageMs, Forme forme, List<Forme> formes, int score, int joueur,
+                         long graine, String mode, String strategie) {
+        this(type, horodatageMs, forme, formes, score, joueur, graine, mode, strategie, 0);
+    }
+
+    private EvenementJeu(Type type, long horodatageMs, Forme forme, List<Forme> formes, int score, int joueur,
+                         long graine, String mode, String strategie, int version) {
+        this.type = type;
+        this.horodatageMs = horodatageMs;
+        this.forme = forme;
+        this.formes = formes;
+        this.score = score;
+        this.joueur = joueur;
+        this.graine = graine;
+        this.mode = mode;
+        this.strategie = strategie;
+        this.version = version;
+    }
+
+    private static EvenementJeu simple(Type type) {
+        return new EvenementJeu(type, System.currentTimeMillis(), null, 0, 0, 0, null, null);
+    }
+
+    /**
+     * Crée l'événement de début de partie.
+     *
+     * @param mode      Le mode de jeu (SOLO, RANDOM ou DEUX).
+     * @param strategie Le nom de la stratégie d'évaluation.
+     * @param graine    La graine de la partie (mode Random), 0 sinon.
+     * @return L'événement.
+     */
+    public static EvenementJeu debut(String mode, String strategie, long graine) {
+        return new EvenementJeu(Type.DEBUT, System.currentTimeMillis(), null, 0, 0, graine, mode, strategie);
+    }
+
+    /**
+     * Crée l'événement d'ajout d'une forme.
+     *
+     * @param forme La forme ajoutée.
+     * @return L'événement.
+     */
+    public static EvenementJeu ajout(Forme forme) {
+        return new EvenementJeu(Type.AJOUT, System.currentTimeMillis(), forme, 0, 0, 0, null, null);
+    }
+
+    /**
+     * Crée l'événement d'ajout d'un lot de formes.
+     *
+     * @param formes Les formes ajoutées, liste qui ne doit plus être modifiée.
+     * @return L'événement.
+     */
+    public static EvenementJeu ajoutLot(List<Forme> formes) {
+        return new EvenementJeu(Type.AJOUT_LOT, System.currentTimeMillis(), null, formes, 0, 0, 0, null, null);
+    }
+
+    /**
+     * Crée l'événement d'annulation.
+     *
+     * @return L'événement.
+     */
+    public static EvenementJeu undo() {
+        return simple(Type.UNDO);
+    }
+
+    /**
+     * Crée l'événement de rétablissement.
+     *
+     * @return L'événement.
+     */
+    public static EvenementJeu redo() {
+        return simple(Type.REDO);
+    }
+
+    /**
+     * Crée l'événement de passage à une autre version du dessin.
+     *
+     * @param version L'indice de la version parmi celles de l'historique d'annulation.
+     * @return L'événement.
+     */
+    public static EvenementJeu version(int version) {
+        return new EvenementJeu(Type.VERSION, System.currentTimeMillis(), null, Collections.emptyList(),
+            0, 0, 0, null, null, version);
+    }
+
+    /**
+     * Crée l'événement de fin de mémorisation.
+     *
+     * @return L'événement.
+     */
+    public static EvenementJeu effacement() {
+        return simple(Type.EFFACEMENT);
+    }
+
+    /**
+     * Crée l'événement d'effacement complet.
+     *
+     * @return L'événement.
+     */
+    public static EvenementJeu effacementTotal() {
+        return simple(Type.EFFACEMENT_TOTAL);
+    }
+
+    /**
+     * Crée l'événement de validation d'une reproduction.
+     *
+     * @param score     Le score obtenu.
+     * @param strategie Le nom de la stratégie qui l'a calculé.
+     * @return L'événement.
+     */
+    public static EvenementJeu validation(int score, String strategie) {
+        return new EvenementJeu(Type.VALIDATION, System.currentTimeMillis(), null, score, 0, 0, null, strategie);
+    }
+
+    /**
+     * Crée l'événement de score d'un joueur (mode deux joueurs).
+     *
+     * @param joueur Le numéro du joueur (1 ou 2).
+     * @param score  Le score obtenu.
+     * @return L'événement.
+     */
+    public static EvenementJeu scoreJoueur(int joueur, int score) {
+        return new EvenementJeu(Type.SCORE_JOUEUR, System.currentTimeMillis(), null, score, joueur, 0, null, null);
+    }
+
+    /**
+     * Crée l'événement de passage au tour suivant (mode deux joueurs).
+     *
+     * @return L'événement.
+     */
+    public static EvenementJeu tourSuivant() {
+        return simple(Type.TOUR_SUIVANT);
+    }
+
+    /**
+     * Crée l'événement de fin de partie.
+     *
+     * @return L'événement.
+     */
+    public static EvenementJeu fin() {
+        return simple(Type.FIN);
+    }
+
+    /**
+     * Retourne le type de l'événement.
+     *
+     * @return Le type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Retourne la date de l'événement.
+     *
+     * @return L'horodatage, en millisecondes depuis l'époque Unix.
+     */
+    public long getHorodatageMs() {
+        return horodatageMs;
+    }
+
+    /**
+     * Retourne la forme ajoutée ({@link Type#AJOUT}).
+     *
+     * @return La forme, ou null pour les autres types.
+     */
+    public Forme getForme() {
+        return forme;
+    }
+
+    /**
+     * Retourne les formes ajoutées ({@link Type#AJOUT_LOT}).
+     *
+     * @return Les formes, liste vide pour les autres types.
+     */
+    public List<Forme> getFormes() {
+        return formes;
+    }
+
+    /**
+     * Retourne le score ({@link Type#VALIDATION}, {@link Type#SCORE_JOUEUR}).
+     *
+     * @return Le score, 0 pour les autres types.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Retourne le numéro du joueur ({@link Type#SCORE_JOUEUR}).
+     *
+     * @return 1 ou 2, 0 pour les autres types.
+     */
+    public int getJoueur() {
+        return joueur;
+    }
+
+    /**
+     * Retourne la graine de la partie ({@link Type#DEBUT}).
+     *
+     * @return La graine.
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Retourne le mode de jeu ({@link Type#DEBUT}).
+     *
+     * @return Le mode, ou null pour les autres types.
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Retourne le nom de la stratégie d'évaluation ({@link Type#DEBUT}, {@link Type#VALIDATION}).
+     *
+     * @return Le nom, ou null pour les autres types.
+     */
+    public String getStrategie() {
+        return strategie;
+    }
+
+    /**
+     * Retourne l'indice de la version atteinte ({@link Type#VERSION}).
+     *
+     * @return L'indice, 0 pour les autres types.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Écrit l'événement : horodatage, type, puis les données propres au type.
+     *
+     * @param ecrivain La destination.
+     */
+    public void ecrire(EcrivainBinaire ecrivain) {
+        ecrivain.ecrireVarint(horodatageMs);
+        ecrivain.ecrireOctet(type.ordinal());
+        switch (type) {
+            case DEBUT:
+                ecrivain.ecrireChaine(mode);
+                ecrivain.ecrireChaine(strategie);
+                ecrivain.ecrireVarintSigne(graine);
+                break;
+            case AJOUT:
+                CodecJeu.ecrireForme(ecrivain, forme);
+                break;
+            case AJOUT_LOT:
+                CodecJeu.ecrireFormes(ecrivain, formes);
+                break;
+            case VALIDATION:
+                ecrivain.ecrireVarintSigne(score);
+                ecrivain.ecrireChaine(strategie);
+                break;
+            case SCORE_JOUEUR:
+                ecrivain.ecrireVarint(joueur);
+                ecrivain.ecrireVarintSigne(score);
+                break;
+            case VERSION:
+                ecrivain.ecrireVarint(version);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Lit un événement écrit par {@link #ecrire(EcrivainBinaire)}.
+     *
+     * @param lecteur La source.
+     * @return L'événement.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static EvenementJeu lire(LecteurBinaire lecteur) throws IOException {
+        long horodatage = lecteur.lireVarint();
+        int code = lecteur.lireOctet();
+        if (code >= TYPES.length) {
+            throw new IOException("Type d'événement inconnu : " + code);
+        }
+        Type type = TYPES[code];
+        switch (type) {
+            case DEBUT:
+                String mode = lecteur.lireChaine();
+                String strategie = lecteur.lireChaine();
+                return new EvenementJeu(type, horodatage, null, 0, 0, lecteur.lireVarintSigne(), mode, strategie);
+            case AJOUT:
+                return new EvenementJeu(type, horodatage, CodecJeu.lireForme(lecteur), 0, 0, 0, null, null);
+            case AJOUT_LOT:
+                return new EvenementJeu(type, horodatage, null, Collections.unmodifiableList(CodecJeu.lireFormes(lecteur)),
+                    0, 0, 0, null, null);
+            case VALIDATION:
+                int score = lecteur.lireEntier();
+                return new EvenementJeu(type, horodatage, null, score, 0, 0, null, lecteur.lireChaine());
+            case SCORE_JOUEUR:
+                int joueur = lecteur.lireEntierPositif();
+                if (joueur != 1 && joueur != 2) {
+                    // Partie.ajouterScore rangerait tout autre numéro chez le joueur 2
+                    throw new IOException("Numéro de joueur invalide : " + joueur);
+                }
+                return new EvenementJeu(type, horodatage, null, lecteur.lireEntier(), joueur, 0, null, null);
+            case VERSION:
+                return new EvenementJeu(type, horodatage, null, Collections.emptyList(),
+                    0, 0, 0, null, null, lecteur.lireEntierPositif());
+            default:
+                return new EvenementJeu(type, horodatage, null, 0, 0, 0, null, null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case DEBUT:
+                return "DEBUT " + mode + " " + strategie + " graine=" + graine;
+            case AJOUT:
+                return "AJOUT " + forme;
+            case AJOUT_LOT:
+                return "AJOUT_LOT " + formes.size() + " formes";
+            case VALIDATION:
+                return "VALIDATION " + score + " (" + strategie + ")";
+            case SCORE_JOUEUR:
+                return "SCORE_JOUEUR " + joueur + " : " + score;
+            case VERSION:
+                return "VERSION " + version;
+            default:
+                return type.name();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package modele.persistance;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Journal des événements de jeu, en ajout seul, pour reprendre une partie après un arrêt brutal.
+ *
+ * Le journal est une suite de fichiers segments ({@code journal-00000000.seg}...) de taille fixe,
+ * projetés en mémoire. Chaque enregistrement est écrit dans le segment courant sous la forme
+ * <pre>
+ * longueur (4 octets) | CRC32 du contenu (4 octets) | contenu : un {@link EvenementJeu}
+ * </pre>
+ * Une longueur nulle marque la fin des données d'un segment (un segment neuf est rempli de zéros).
+ * Quand un enregistrement ne tient plus dans le segment courant, le suivant est créé.
+ *
+ * Enregistrer un événement revient à l'encoder et à le copier dans la projection : aucun appel
+ * système, quelques centaines de nanosecondes. Les octets copiés appartiennent au cache de pages
+ * du système et survivent donc à un arrêt du processus. Pour résister aussi à un arrêt de la machine,
+ * un thread d'arrière-plan force l'écriture sur disque des segments modifiés à intervalle régulier
+ * (validation groupée) : au pire, les événements de la dernière période sont perdus.
+ *
+ * À la relecture, le contenu de chaque enregistrement est vérifié avec son CRC ;
+ * la lecture s'arrête au premier enregistrement incomplet ou corrompu.
+ */
+public class JournalJeu implements Closeable {
+
+    /** Taille par défaut d'un segment : 4 Mio, soit plusieurs centaines de milliers d'événements */
+    public static final int TAILLE_SEGMENT_DEFAUT = 4 << 20;
+
+    /** Intervalle par défaut entre deux écritures forcées sur disque */
+    public static final long INTERVALLE_SYNCHRO_DEFAUT_MS = 20;
+
+    private static final String PREFIXE = "journal-";
+    private static final String SUFFIXE = ".seg";
+    private static final int EN_TETE = 8;
+
+    private final Path dossier;
+    private final int tailleSegment;
+    private final EcrivainBinaire ecrivain = new EcrivainBinaire(64);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService synchronisation;
+
+    private volatile MappedByteBuffer segment;
+    private volatile boolean modifie;
+    private int numeroSegment;
+    private boolean ferme;
+
+    private JournalJeu(Path dossier, int tailleSegment, long intervalleSynchroMs) throws IOException {
+        this.dossier = dossier;
+        this.tailleSegment = tailleSegment;
+        Files.createDirectories(dossier);
+
+        List<Path> segments = segments(dossier);
+        if (segments.isEmpty()) {
+            ouvrirSegment(0, 0);
+        } else {
+            Path dernier = segments.get(segments.size() - 1);
+            numeroSegment = numero(dernier);
+            ouvrirSegment(numeroSegment, finDesDonnees(dernier));
+        }
+
+        synchronisation = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "journal-synchro");
+            t.setDaemon(true);
+            return t;
+        });
+        synchronisation.scheduleWithFixedDelay(this::synchroniser,
+            intervalleSynchroMs, intervalleSynchroMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Ouvre le journal d'un dossier (créé au besoin) avec les réglages par défaut.
+     * Les nouveaux événements sont ajoutés après ceux déjà présents.
+     *
+     * @param dossier Le dossier des segments.
+     * @return Le journal.
+     * @throws IOException si le dossier ou le segment courant ne peut pas être ouvert.
+     */
+    public static JournalJeu ouvrir(Path dossier) throws IOException {
+        return ouvrir(dossier, TAILLE_SEGMENT_DEFAUT, INTERVALLE_SYNCHRO_DEFAUT_MS);
+    }
+
+    /**
+     * Ouvre le journal d'un dossier (créé au besoin).
+     *
+     * @param dossier             Le dossier des segments.
+     * @param tailleSegment       La taille d'un nouveau segment, en octets.
+     * @param intervalleSynchroMs L'intervalle entre deux écritures forcées sur disque.
+     * @return Le journal.
+     * @throws IOException si le dossier ou le segment courant ne peut pas être ouvert.
+     */
+    public static JournalJeu ouvrir(Path dossier, int tailleSegment, long intervalleSynchroMs) throws IOException {
+        if (tailleSegment < 64) {
+            throw new IllegalArgumentException("Segment trop petit : " + tailleSegment);
+        }
+        return new JournalJeu(dossier, tailleSegment, intervalleSynchroMs);
+    }
+
+    /**
+     * Ajoute un événement à la fin du journal.
+     *
+     * @param evenement L'événement.
+     * @throws UncheckedIOException si un nouveau segment ne peut pas être créé.
+     * @throws IllegalStateException si le journal est fermé.
+     */
+    public synchronized void enregistrer(EvenementJeu evenement) {
+        if (ferme) {
+            throw new IllegalStateException("Journal fermé");
+        }
+        ecrivain.reinitialiser();
+        evenement.ecrire(ecrivain);
+        ByteBuffer contenu = ecrivain.versLecture();
+        int longueur = contenu.remaining();
+        if (EN_TETE + longueur > tailleSegment) {
+            throw new IllegalArgumentException("Événement trop grand pour un segment : " + longueur + " octets");
+        }
+
+        MappedByteBuffer s = segment;
+        if (s.remaining() < EN_TETE + longueur) {
+            s = segmentSuivant();
+        }
+
+        crc.reset();
+        crc.update(contenu.duplicate());
+        int position = s.position();
+        s.putInt(position + 4, (int) crc.getValue());
+        s.position(position + EN_TETE);
+        s.put(contenu);
+        // La longueur en dernier : un enregistrement n'est visible qu'une fois complet
+        s.putInt(position, longueur);
+        modifie = true;
+    }
+
+    /**
+     * Force l'écriture sur disque des événements enregistrés.
+     * Appelée périodiquement par le thread de synchronisation ; peut l'être directement
+     * pour ne rien perdre à un moment important (fin de partie).
+     */
+    public void synchroniser() {
+        if (modifie) {
+            modifie = false;
+            segment.force();
+        }
+    }
+
+    /**
+     * Ferme le journal après avoir forcé l'écriture des derniers événements.
+     */
+    @Override
+    public synchronized void close() {
+        if (ferme) return;
+        ferme = true;
+        synchronisation.shutdownNow();
+        modifie = true;
+        synchroniser();
+    }
+
+    /**
+     * Lit tous les événements valides d'un dossier de journal, dans l'ordre d'enregistrement.
+     *
+     * @param dossier Le dossier des segments.
+     * @return Les événements (vide si le dossier n'existe pas).
+     * @throws IOException si un segment ne peut pas être lu.
+     */
+    public static List<EvenementJeu> lire(Path dossier) throws IOException {
+        if (!Files.isDirectory(dossier)) {
+            return Collections.emptyList();
+        }
+        List<EvenementJeu> evenements = new ArrayList<>();
+        for (Path fichier : segments(dossier)) {
+            if (!lireSegment(fichier, evenements)) {
+                break;
+            }
+        }
+        return evenements;
+    }
+
+    /**
+     * Supprime tous les segments d'un dossier de journal, pour commencer une nouvelle partie.
+     * Le journal de ce dossier ne doit pas être ouvert.
+     *
+     * @param dossier Le dossier des segments.
+     * @throws IOException si un segment ne peut pas être supprimé.
+     */
+    public static void effacer(Path dossier) throws IOException {
+        if (!Files.isDirectory(dossier)) return;
+        for (Path fichier : segments(dossier)) {
+            Files.delete(fichier);
+        }
+    }
+
+    // ----- Segments -----
+
+    private MappedByteBuffer segmentSuivant() {
+        MappedByteBuffer precedent = segment;
+        try {
+            ouvrirSegment(numeroSegment + 1, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de créer un segment de journal", e);
+        }
+        // Rare (un segment tous les quelques centaines de milliers d'événements) : synchrone
+        precedent.force();
+        return segment;
+    }
+
+    private void ouvrirSegment(int numero, int position) throws IOException {
+        Path fichier = dossier.resolve(nom(numero));
+        try (FileChannel canal = FileChannel.open(fichier,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long taille = Math.max(tailleSegment, canal.size());
+            MappedByteBuffer s = canal.map(FileChannel.MapMode.READ_WRITE, 0, taille);
+            // Efface la fin éventuelle d'un enregistrement interrompu
+            if (position + 4 <= s.limit() && s.getInt(position) != 0) {
+                for (int i = position; i < s.limit(); i++) {
+                    s.put(i, (byte) 0);
+                }
+            }
+            s.position(position);
+            numeroSegment = numero;
+            segment = s;
+        }
+    }
+
+    /**
+     * Retourne la position qui suit le dernier enregistrement valide d'un segment.
+     */
+    private static int finDesDonnees(Path fichier) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            ByteBuffer s = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            int position = 0;
+            CRC32 crc = new CRC32();
+            while (enregistrementValide(s, position, crc)) {
+                position += EN_TETE + s.getInt(position);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Ajoute les événements valides d'un segment à une liste.
+     *
+     * @return false si la lecture s'est arrêtée sur un enregistrement corrompu.
+     */
+    private static boolean lireSegment(Path fichier, List<EvenementJeu> evenements) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            ByteBuffer s = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            int position = 0;
+            CRC32 crc = new CRC32();
+            while (enregistrementValide(s, position, crc)) {
+                int longueur = s.getInt(position);
+                ByteBuffer contenu = s.duplicate();
+                contenu.limit(position + EN_TETE + longueur).position(position + EN_TETE);
+                evenements.add(EvenementJeu.lire(new LecteurBinaire(contenu)));
+                position += EN_TETE + longueur;
+            }
+            // Fin normale : plus de place pour un en-tête, ou longueur nulle
+            return position + EN_TETE > s.limit() || s.getInt(position) == 0;
+        }
+    }
+
+    private static boolean enregistrementValide(ByteBuffer s, int position, CRC32 crc) {
+        if (position + EN_TETE > s.limit()) return false;
+        int longueur = s.getInt(position);
+        if (longueur <= 0 || longueur > s.limit() - position - EN_TETE) return false;
+        ByteBuffer contenu = s.duplicate();
+        contenu.limit(position + EN_TETE + longueur).position(position + EN_TETE);
+        crc.reset();
+        crc.update(contenu);
+        return (int) crc.getValue() == s.getInt(position + 4);
+    }
+
+    private static List<Path> segments(Path dossier) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> flux = Files.newDirectoryStream(dossier, PREFIXE + "*" + SUFFIXE)) {
+            for (Path p : flux) {
+                segments.add(p);
+            }
+        }
+        // Numéros sur 8 chiffres : l'ordre alphabétique est l'ordre d'écriture
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private static String nom(int numero) {
+        return String.format("%s%08d%s", PREFIXE, numero, SUFFIXE);
+    }
+
+    private static int numero(Path segment) {
+        String nom = segment.getFileName().toString();
+        return Integer.parseInt(nom.substring(PREFIXE.length(), nom.length() - SUFFIXE.length()));
+    }
+}
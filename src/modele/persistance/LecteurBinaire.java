@@ -0,0 +1,160 @@
+package modele.persistance;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lecture des données écrites par un {@link EcrivainBinaire}.
+ *
+ * Le lecteur travaille directement sur le tampon fourni (éventuellement projeté en mémoire),
+ * sans copie : il utilise une vue de ce tampon, dont la position n'est donc pas modifiée.
+ * Des données tronquées ou mal formées donnent une {@link IOException}.
+ */
+public class LecteurBinaire {
+
+    private final ByteBuffer tampon;
+
+    /**
+     * Crée un lecteur sur les octets restants d'un tampon.
+     *
+     * @param source Le tampon à lire, de sa position à sa limite.
+     */
+    public LecteurBinaire(ByteBuffer source) {
+        this.tampon = source.duplicate();
+    }
+
+    /**
+     * Lit un octet non signé.
+     *
+     * @return L'octet, entre 0 et 255.
+     * @throws IOException si les données sont épuisées.
+     */
+    public int lireOctet() throws IOException {
+        try {
+            return tampon.get() & 0xFF;
+        } catch (BufferUnderflowException e) {
+            throw tronque();
+        }
+    }
+
+    /**
+     * Lit des octets bruts.
+     *
+     * @param n Le nombre d'octets.
+     * @return Les octets lus.
+     * @throws IOException si les données sont épuisées.
+     */
+    public byte[] lireOctets(int n) throws IOException {
+        if (n < 0 || n > tampon.remaining()) throw tronque();
+        byte[] octets = new byte[n];
+        tampon.get(octets);
+        return octets;
+    }
+
+    /**
+     * Lit un entier écrit par {@link EcrivainBinaire#ecrireVarint(long)}.
+     *
+     * @return La valeur.
+     * @throws IOException si le varint est tronqué ou dépasse 64 bits.
+     */
+    public long lireVarint() throws IOException {
+        long valeur = 0;
+        for (int decalage = 0; decalage < 64; decalage += 7) {
+            int octet = lireOctet();
+            valeur |= (long) (octet & 0x7F) << decalage;
+            if ((octet & 0x80) == 0) {
+                return valeur;
+            }
+        }
+        throw new IOException("Varint trop long");
+    }
+
+    /**
+     * Lit un entier écrit par {@link EcrivainBinaire#ecrireVarintSigne(long)}.
+     *
+     * @return La valeur.
+     * @throws IOException si le varint est tronqué ou mal formé.
+     */
+    public long lireVarintSigne() throws IOException {
+        long v = lireVarint();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Lit un varint qui doit tenir dans un int.
+     *
+     * @return La valeur.
+     * @throws IOException si la valeur dépasse un int.
+     */
+    public int lireEntier() throws IOException {
+        long v = lireVarintSigne();
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) {
+            throw new IOException("Entier hors limites : " + v);
+        }
+        return (int) v;
+    }
+
+    /**
+     * Lit un varint positif ou nul écrit par {@link EcrivainBinaire#ecrireVarint(long)},
+     * qui doit tenir dans un int (numéro de tour, de round, de joueur...).
+     *
+     * @return La valeur.
+     * @throws IOException si la valeur dépasse un int.
+     */
+    public int lireEntierPositif() throws IOException {
+        long v = lireVarint();
+        if (v < 0 || v > Integer.MAX_VALUE) {
+            throw new IOException("Entier positif hors limites : " + v);
+        }
+        return (int) v;
+    }
+
+    /**
+     * Lit un nombre d'éléments (varint positif), borné par les octets restants
+     * pour qu'une donnée corrompue ne provoque pas une allocation démesurée.
+     *
+     * @return Le nombre d'éléments.
+     * @throws IOException si la valeur est impossible.
+     */
+    public int lireTaille() throws IOException {
+        long v = lireVarint();
+        if (v < 0 || v > tampon.remaining()) {
+            throw new IOException("Taille invalide : " + v);
+        }
+        return (int) v;
+    }
+
+    /**
+     * Lit une chaîne écrite par {@link EcrivainBinaire#ecrireChaine(String)}.
+     *
+     * @return La chaîne.
+     * @throws IOException si les données sont tronquées.
+     */
+    public String lireChaine() throws IOException {
+        return new String(lireOctets(lireTaille()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retourne le nombre d'octets restant à lire.
+     *
+     * @return Le nombre d'octets restants.
+     */
+    public int restant() {
+        return tampon.remaining();
+    }
+
+    /**
+     * Retourne la position de lecture dans le tampon.
+     *
+     * @return La position.
+     */
+    public int position() {
+        return tampon.position();
+    }
+
+    private static IOException tronque() {
+        return new IOException("Données tronquées");
+    }
+}
@@ -0,0 +1,122 @@
+package modele.persistance;
+
+import java.util.List;
+
+import modele.Modele;
+import modele.Partie;
+
+/**
+ * Reconstruction de l'état d'une partie à partir des événements de son journal.
+ *
+ * Les événements sont réappliqués dans l'ordre, par les mêmes méthodes du modèle
+ * que pendant le jeu : formes visibles, formes de référence, historique d'annulation,
+ * scores et détail des rounds sont donc exactement ceux du moment de l'arrêt.
+ * Les scores sont repris tels qu'ils ont été enregistrés, sans être recalculés.
+ */
+public final class Restauration {
+
+    private Restauration() {
+    }
+
+    /**
+     * Retourne le début de la dernière partie du journal.
+     *
+     * @param evenements Les événements du journal.
+     * @return L'événement {@link EvenementJeu.Type#DEBUT}, ou null s'il n'y en a pas.
+     */
+    public static EvenementJeu debut(List<EvenementJeu> evenements) {
+        int i = indiceDebut(evenements);
+        return (i < 0) ? null : evenements.get(i);
+    }
+
+    /**
+     * Indique si la dernière partie du journal peut être reprise :
+     * elle a commencé et ne s'est pas terminée.
+     *
+     * @param evenements Les événements du journal.
+     * @return true si une partie est en cours.
+     */
+    public static boolean estInterrompue(List<EvenementJeu> evenements) {
+        int debut = indiceDebut(evenements);
+        if (debut < 0) return false;
+        for (int i = debut + 1; i < evenements.size(); i++) {
+            if (evenements.get(i).getType() == EvenementJeu.Type.FIN) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Réapplique les événements de la dernière partie du journal sur un modèle et une partie neufs.
+     * Les journaux éventuellement branchés sur le modèle et la partie sont débranchés
+     * pendant la restauration, pour ne pas enregistrer une seconde fois les événements.
+     *
+     * @param evenements Les événements du journal.
+     * @param modele     Le modèle à reconstruire (avec une file de mutations directe ou depuis son thread).
+     * @param partie     La partie à deux joueurs à reconstruire, ou null.
+     */
+    public static void restaurer(List<EvenementJeu> evenements, Modele modele, Partie partie) {
+        JournalJeu journalModele = modele.getJournal();
+        JournalJeu journalPartie = (partie == null) ? null : partie.getJournal();
+        modele.setJournal(null);
+        if (partie != null) partie.setJournal(null);
+        try {
+            for (int i = Math.max(0, indiceDebut(evenements)); i < evenements.size(); i++) {
+                appliquer(evenements.get(i), modele, partie);
+            }
+        } finally {
+            modele.setJournal(journalModele);
+            if (partie != null) partie.setJournal(journalPartie);
+        }
+    }
+
+    /**
+     * Applique un événement au modèle ou à la partie.
+     *
+     * @param evenement L'événement.
+     * @param modele    Le modèle.
+     * @param partie    La partie à deux joueurs, ou null pour ignorer ses événements.
+     */
+    public static void appliquer(EvenementJeu evenement, Modele modele, Partie partie) {
+        switch (evenement.getType()) {
+            case AJOUT:
+                modele.ajouterForme(evenement.getForme());
+                break;
+            case AJOUT_LOT:
+                modele.ajouterFormes(evenement.getFormes());
+                break;
+            case UNDO:
+                modele.undo();
+                break;
+            case REDO:
+                modele.redo();
+                break;
+            case VERSION:
+                modele.allerAVersion(evenement.getVersion());
+                break;
+            case EFFACEMENT:
+                modele.effacerFormes();
+                break;
+            case EFFACEMENT_TOTAL:
+                modele.effacerFormesAll();
+                break;
+            case VALIDATION:
+                modele.enregistrerValidation(evenement.getScore(), evenement.getStrategie());
+                break;
+            case SCORE_JOUEUR:
+                if (partie != null) partie.ajouterScore(evenement.getJoueur(), evenement.getScore());
+                break;
+            case TOUR_SUIVANT:
+                if (partie != null) partie.tourSuivant();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static int indiceDebut(List<EvenementJeu> evenements) {
+        for (int i = evenements.size() - 1; i >= 0; i--) {
+            if (evenements.get(i).getType() == EvenementJeu.Type.DEBUT) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,112 @@
+package reseau;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+import modele.Forme;
+
+/**
+ * Client du {@link ServeurJeu}, en entrées-sorties bloquantes.
+ *
+ * Il sert de joueur de substitution pour les tests de charge et peut porter une
+ * interface : {@link #recevoir()} attend le prochain message du serveur,
+ * les autres méthodes envoient les actions du joueur.
+ */
+public class ClientJeu implements Closeable {
+
+    private final SocketChannel canal;
+    private final ByteBuffer entete = ByteBuffer.allocate(Trames.ENTETE);
+    private ByteBuffer contenu = ByteBuffer.allocate(256);
+
+    /**
+     * Se connecte à un serveur.
+     *
+     * @param adresse L'adresse du serveur.
+     * @throws IOException si la connexion échoue.
+     */
+    public ClientJeu(InetSocketAddress adresse) throws IOException {
+        canal = SocketChannel.open(adresse);
+        canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    }
+
+    /**
+     * Demande à jouer un match.
+     *
+     * @param nom Le nom du joueur.
+     * @throws IOException si l'envoi échoue.
+     */
+    public void rejoindre(String nom) throws IOException {
+        envoyer(MessageReseau.rejoindre(nom));
+    }
+
+    /**
+     * Envoie un dessin : les formes créées ou la reproduction.
+     *
+     * @param formes Les formes.
+     * @throws IOException si l'envoi échoue.
+     */
+    public void envoyerFormes(List<Forme> formes) throws IOException {
+        envoyer(MessageReseau.formes(formes));
+    }
+
+    /**
+     * Quitte le match en cours.
+     *
+     * @throws IOException si l'envoi échoue.
+     */
+    public void quitter() throws IOException {
+        envoyer(MessageReseau.quitter());
+    }
+
+    private void envoyer(MessageReseau message) throws IOException {
+        ByteBuffer trame = Trames.encoder(message);
+        while (trame.hasRemaining()) {
+            canal.write(trame);
+        }
+    }
+
+    /**
+     * Attend le prochain message du serveur.
+     *
+     * @return Le message.
+     * @throws EOFException si le serveur a fermé la connexion.
+     * @throws IOException  si la lecture échoue ou si le message est mal formé.
+     */
+    public MessageReseau recevoir() throws IOException {
+        entete.clear();
+        lireTout(entete);
+        int longueur = Trames.verifierLongueur(entete.getInt(0));
+
+        if (contenu.capacity() < longueur) {
+            contenu = ByteBuffer.allocate(longueur);
+        }
+        contenu.clear().limit(longueur);
+        lireTout(contenu);
+        contenu.flip();
+        return Trames.decoder(contenu);
+    }
+
+    private void lireTout(ByteBuffer tampon) throws IOException {
+        while (tampon.hasRemaining()) {
+            if (canal.read(tampon) < 0) {
+                throw new EOFException("Connexion fermée par le serveur");
+            }
+        }
+    }
+
+    /**
+     * Ferme la connexion.
+     *
+     * @throws IOException si la fermeture échoue.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
@@ -0,0 +1,175 @@
+package reseau;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Connexion d'un client au {@link ServeurJeu}, côté serveur.
+ *
+ * La connexion n'est manipulée que par le thread du serveur : tampons de lecture
+ * et file d'écriture sont sans verrou. Les lectures partielles restent dans le tampon
+ * jusqu'à ce qu'une trame soit complète ; les écritures qui ne passent pas en une fois
+ * sont mises en file et reprises quand le canal redevient inscriptible.
+ */
+final class ConnexionReseau {
+
+    /**
+     * Reçoit les messages lus sur une connexion.
+     */
+    interface Destinataire {
+        void recevoir(ConnexionReseau connexion, MessageReseau message) throws IOException;
+    }
+
+    private static final int TAILLE_LECTURE_INITIALE = 512;
+
+    private final SocketChannel canal;
+    private final SelectionKey cle;
+    private ByteBuffer lecture = ByteBuffer.allocate(TAILLE_LECTURE_INITIALE);
+    private final Deque<ByteBuffer> aEcrire = new ArrayDeque<>();
+    private boolean fermee;
+
+    private String nom;
+    private MatchReseau match;
+    private int numeroJoueur;
+
+    ConnexionReseau(SocketChannel canal, SelectionKey cle) {
+        this.canal = canal;
+        this.cle = cle;
+    }
+
+    /**
+     * Lit les octets disponibles et transmet chaque trame complète au destinataire.
+     *
+     * @param destinataire Le destinataire des messages.
+     * @return Le nombre de messages lus, -1 si le client a fermé la connexion.
+     * @throws IOException si le canal échoue ou si le client envoie des données invalides.
+     */
+    int lire(Destinataire destinataire) throws IOException {
+        int lus = canal.read(lecture);
+        if (lus < 0) {
+            return -1;
+        }
+
+        int messages = 0;
+        lecture.flip();
+        while (!fermee && lecture.remaining() >= Trames.ENTETE) {
+            int debut = lecture.position();
+            int longueur = Trames.verifierLongueur(lecture.getInt(debut));
+            if (lecture.remaining() < Trames.ENTETE + longueur) {
+                break;
+            }
+            ByteBuffer contenu = lecture.duplicate();
+            contenu.position(debut + Trames.ENTETE).limit(debut + Trames.ENTETE + longueur);
+            lecture.position(debut + Trames.ENTETE + longueur);
+            destinataire.recevoir(this, Trames.decoder(contenu));
+            messages++;
+        }
+        lecture.compact();
+
+        // Une trame plus grande que le tampon : l'agrandir pour la recevoir en entier
+        if (lecture.position() >= Trames.ENTETE) {
+            int attendu = Trames.ENTETE + lecture.getInt(0);
+            if (attendu > lecture.capacity()) {
+                ByteBuffer plusGrand = ByteBuffer.allocate(attendu);
+                lecture.flip();
+                plusGrand.put(lecture);
+                lecture = plusGrand;
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Envoie un message. Ce qui ne peut pas être écrit tout de suite est mis en file.
+     *
+     * @param message Le message.
+     */
+    void envoyer(MessageReseau message) {
+        if (fermee) {
+            return;
+        }
+        ByteBuffer trame = Trames.encoder(message);
+        if (aEcrire.isEmpty()) {
+            try {
+                canal.write(trame);
+            } catch (IOException e) {
+                // Client parti : la prochaine lecture le détectera et déclenchera l'abandon
+                return;
+            }
+            if (!trame.hasRemaining()) {
+                return;
+            }
+            cle.interestOps(cle.interestOps() | SelectionKey.OP_WRITE);
+        }
+        aEcrire.addLast(trame);
+    }
+
+    /**
+     * Écrit les trames en file, quand le canal est redevenu inscriptible.
+     *
+     * @throws IOException si le canal échoue.
+     */
+    void ecrireEnAttente() throws IOException {
+        while (!aEcrire.isEmpty()) {
+            ByteBuffer trame = aEcrire.peekFirst();
+            canal.write(trame);
+            if (trame.hasRemaining()) {
+                return;
+            }
+            aEcrire.removeFirst();
+        }
+        cle.interestOps(cle.interestOps() & ~SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Ferme la connexion. Les trames encore en file sont perdues.
+     */
+    void fermer() {
+        if (fermee) {
+            return;
+        }
+        fermee = true;
+        aEcrire.clear();
+        cle.cancel();
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // Fermeture au mieux : le client est déjà parti
+        }
+    }
+
+    boolean estFermee() {
+        return fermee;
+    }
+
+    String getNom() {
+        return nom;
+    }
+
+    void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    MatchReseau getMatch() {
+        return match;
+    }
+
+    int getNumeroJoueur() {
+        return numeroJoueur;
+    }
+
+    /**
+     * Associe la connexion à un match.
+     *
+     * @param match        Le match, null quand il est terminé.
+     * @param numeroJoueur Le numéro du joueur dans ce match (1 ou 2).
+     */
+    void rejoindre(MatchReseau match, int numeroJoueur) {
+        this.match = match;
+        this.numeroJoueur = numeroJoueur;
+    }
+}
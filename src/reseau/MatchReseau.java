@@ -0,0 +1,164 @@
+package reseau;
+
+import java.util.Collections;
+import java.util.List;
+
+import controleur.evaluation.EvaluationParSimilarite;
+import controleur.evaluation.EvaluationStrategy;
+import modele.Forme;
+import modele.Partie;
+
+/**
+ * Match à deux joueurs hébergé par le {@link ServeurJeu}.
+ *
+ * Reprend les règles de {@link controleur.ModeDeuxJoueurs} : à chaque tour, un joueur
+ * crée exactement 4 formes, l'autre les mémorise puis les reproduit, et les rôles
+ * alternent. Chaque match a sa propre {@link Partie} ; il n'est manipulé que par
+ * le thread du serveur, sans verrou.
+ *
+ * La mémorisation ne demande aucune minuterie côté serveur : le client masque les formes
+ * au bout de la durée annoncée, et une reproduction reçue plus tôt est refusée.
+ */
+final class MatchReseau {
+
+    private enum Phase {
+        CREATION,
+        REPRODUCTION,
+        TERMINE
+    }
+
+    private final ConnexionReseau joueur1;
+    private final ConnexionReseau joueur2;
+    private final Partie partie = new Partie();
+    private final EvaluationStrategy evaluateur = new EvaluationParSimilarite();
+    private final int dureeMemorisationMs;
+
+    private Phase phase = Phase.CREATION;
+    private List<Forme> formesOriginales = Collections.emptyList();
+    private long finMemorisationNs;
+
+    /**
+     * Crée un match entre deux connexions.
+     *
+     * @param joueur1             Le joueur qui crée au premier tour.
+     * @param joueur2             Son adversaire.
+     * @param dureeMemorisationMs La durée pendant laquelle les formes restent affichées.
+     */
+    MatchReseau(ConnexionReseau joueur1, ConnexionReseau joueur2, int dureeMemorisationMs) {
+        this.joueur1 = joueur1;
+        this.joueur2 = joueur2;
+        this.dureeMemorisationMs = dureeMemorisationMs;
+    }
+
+    /**
+     * Annonce le match aux deux joueurs et lance le premier tour.
+     */
+    void demarrer() {
+        joueur1.rejoindre(this, 1);
+        joueur2.rejoindre(this, 2);
+        joueur1.envoyer(MessageReseau.debutMatch(1, joueur2.getNom()));
+        joueur2.envoyer(MessageReseau.debutMatch(2, joueur1.getNom()));
+        demarrerNouveauTour();
+    }
+
+    private void demarrerNouveauTour() {
+        if (partie.estTerminee()) {
+            terminer(false);
+            return;
+        }
+        int tour = partie.getNumeroTour();
+        formesOriginales = Collections.emptyList();
+        phase = Phase.CREATION;
+        createur().envoyer(MessageReseau.creer(tour));
+        reproducteur().envoyer(MessageReseau.observer(tour));
+    }
+
+    /**
+     * Traite un dessin envoyé par l'un des joueurs.
+     *
+     * @param joueur La connexion qui l'envoie.
+     * @param formes Les formes dessinées.
+     */
+    void recevoirFormes(ConnexionReseau joueur, List<Forme> formes) {
+        switch (phase) {
+            case CREATION:
+                if (joueur != createur()) {
+                    joueur.envoyer(MessageReseau.erreur("Veuillez attendre que votre adversaire crée ses formes"));
+                    return;
+                }
+                if (formes.size() != 4) {
+                    joueur.envoyer(MessageReseau.erreur("Vous devez créer exactement 4 formes !"));
+                    return;
+                }
+                formesOriginales = formes;
+                phase = Phase.REPRODUCTION;
+                finMemorisationNs = System.nanoTime() + dureeMemorisationMs * 1_000_000L;
+                reproducteur().envoyer(MessageReseau.memoriser(partie.getNumeroTour(), dureeMemorisationMs, formes));
+                break;
+
+            case REPRODUCTION:
+                if (joueur != reproducteur()) {
+                    joueur.envoyer(MessageReseau.erreur("Votre adversaire reproduit vos formes"));
+                    return;
+                }
+                if (System.nanoTime() - finMemorisationNs < 0) {
+                    joueur.envoyer(MessageReseau.erreur("Veuillez attendre la fin de la phase de mémorisation"));
+                    return;
+                }
+                int numero = joueur.getNumeroJoueur();
+                int score = evaluateur.evaluer(formesOriginales, formes);
+                partie.ajouterScore(numero, score);
+
+                MessageReseau messageScore = MessageReseau.score(partie.getNumeroTour(), numero, score);
+                joueur1.envoyer(messageScore);
+                joueur2.envoyer(messageScore);
+
+                partie.tourSuivant();
+                demarrerNouveauTour();
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Termine le match parce qu'un joueur l'a quitté ou s'est déconnecté.
+     *
+     * @param joueur La connexion qui part.
+     */
+    void abandonner(ConnexionReseau joueur) {
+        if (phase == Phase.TERMINE) {
+            return;
+        }
+        joueur.rejoindre(null, 0);
+        terminer(true);
+    }
+
+    private void terminer(boolean abandon) {
+        phase = Phase.TERMINE;
+        MessageReseau fin = MessageReseau.fin(partie.getScoreTotal(1), partie.getScoreTotal(2), abandon);
+        for (ConnexionReseau c : new ConnexionReseau[] {joueur1, joueur2}) {
+            if (c.getMatch() == this) {
+                c.envoyer(fin);
+                c.rejoindre(null, 0);
+            }
+        }
+    }
+
+    boolean estTermine() {
+        return phase == Phase.TERMINE;
+    }
+
+    Partie getPartie() {
+        return partie;
+    }
+
+    private ConnexionReseau createur() {
+        return (partie.getNumeroTour() % 2 == 1) ? joueur1 : joueur2;
+    }
+
+    private ConnexionReseau reproducteur() {
+        return (partie.getNumeroTour() % 2 == 1) ? joueur2 : joueur1;
+    }
+}
@@ -0,0 +1,404 @@
+package reseau;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+import modele.Forme;
+import modele.persistance.CodecJeu;
+import modele.persistance.EcrivainBinaire;
+import modele.persistance.LecteurBinaire;
+
+/**
+ * Message échangé entre le {@link ServeurJeu} et ses clients.
+ *
+ * Le contenu est écrit avec le format binaire de {@link CodecJeu} : un octet de type,
+ * puis des entiers variables et des formes en coordonnées relatives. Un dessin de
+ * quatre formes tient ainsi en une trentaine d'octets.
+ */
+public final class MessageReseau {
+
+    /** Version du protocole, envoyée par le client en rejoignant le serveur */
+    public static final int VERSION_PROTOCOLE = 1;
+
+    /** Les types de messages */
+    public enum Type {
+        /** Client : demande à jouer (version du protocole et nom du joueur) */
+        REJOINDRE,
+        /** Client : formes créées ou reproduites */
+        FORMES,
+        /** Client : quitte la partie */
+        QUITTER,
+        /** Serveur : aucun adversaire n'est encore disponible */
+        EN_ATTENTE,
+        /** Serveur : début du match (numéro du joueur et nom de l'adversaire) */
+        DEBUT_MATCH,
+        /** Serveur : c'est au joueur de créer 4 formes pour ce tour */
+        CREER,
+        /** Serveur : l'adversaire crée ses formes pour ce tour */
+        OBSERVER,
+        /** Serveur : formes à mémoriser, puis à reproduire après la durée indiquée */
+        MEMORISER,
+        /** Serveur : score d'un joueur pour un tour */
+        SCORE,
+        /** Serveur : fin du match (scores totaux, abandon éventuel de l'adversaire) */
+        FIN,
+        /** Serveur : action refusée */
+        ERREUR
+    }
+
+    private static final Type[] TYPES = Type.values();
+
+    private final Type type;
+    private final String texte;
+    private final int joueur;
+    private final int tour;
+    private final int valeur;
+    private final int total1;
+    private final int total2;
+    private final List<Forme> formes;
+
+    private MessageReseau(Type type, String texte, int joueur, int tour, int valeur,
+                          int total1, int total2, List<Forme> formes) {
+        this.type = type;
+        this.texte = texte;
+        this.joueur = joueur;
+        this.tour = tour;
+        this.valeur = valeur;
+        this.total1 = total1;
+        this.total2 = total2;
+        this.formes = formes;
+    }
+
+    private static MessageReseau simple(Type type) {
+        return new MessageReseau(type, null, 0, 0, 0, 0, 0, Collections.emptyList());
+    }
+
+    /**
+     * Crée la demande d'un client pour rejoindre une partie.
+     *
+     * @param nom Le nom du joueur.
+     * @return Le message.
+     */
+    public static MessageReseau rejoindre(String nom) {
+        return new MessageReseau(Type.REJOINDRE, nom, 0, 0, VERSION_PROTOCOLE, 0, 0, Collections.emptyList());
+    }
+
+    /**
+     * Crée l'envoi d'un dessin (création ou reproduction).
+     *
+     * @param formes Les formes, liste qui ne doit plus être modifiée.
+     * @return Le message.
+     */
+    public static MessageReseau formes(List<Forme> formes) {
+        return new MessageReseau(Type.FORMES, null, 0, 0, 0, 0, 0, formes);
+    }
+
+    /**
+     * Crée le message d'un client qui quitte la partie.
+     *
+     * @return Le message.
+     */
+    public static MessageReseau quitter() {
+        return simple(Type.QUITTER);
+    }
+
+    /**
+     * Crée le message d'attente d'un adversaire.
+     *
+     * @return Le message.
+     */
+    public static MessageReseau enAttente() {
+        return simple(Type.EN_ATTENTE);
+    }
+
+    /**
+     * Crée le message de début de match.
+     *
+     * @param joueur     Le numéro du joueur destinataire (1 ou 2).
+     * @param adversaire Le nom de son adversaire.
+     * @return Le message.
+     */
+    public static MessageReseau debutMatch(int joueur, String adversaire) {
+        return new MessageReseau(Type.DEBUT_MATCH, adversaire, joueur, 0, 0, 0, 0, Collections.emptyList());
+    }
+
+    /**
+     * Crée le message demandant au joueur de créer ses formes.
+     *
+     * @param tour Le numéro du tour.
+     * @return Le message.
+     */
+    public static MessageReseau creer(int tour) {
+        return new MessageReseau(Type.CREER, null, 0, tour, 0, 0, 0, Collections.emptyList());
+    }
+
+    /**
+     * Crée le message indiquant que l'adversaire crée ses formes.
+     *
+     * @param tour Le numéro du tour.
+     * @return Le message.
+     */
+    public static MessageReseau observer(int tour) {
+        return new MessageReseau(Type.OBSERVER, null, 0, tour, 0, 0, 0, Collections.emptyList());
+    }
+
+    /**
+     * Crée le message des formes à mémoriser.
+     *
+     * @param tour     Le numéro du tour.
+     * @param dureeMs  La durée de mémorisation, avant laquelle une reproduction est refusée.
+     * @param formes   Les formes créées par l'adversaire.
+     * @return Le message.
+     */
+    public static MessageReseau memoriser(int tour, int dureeMs, List<Forme> formes) {
+        return new MessageReseau(Type.MEMORISER, null, 0, tour, dureeMs, 0, 0, formes);
+    }
+
+    /**
+     * Crée le message du score d'un joueur.
+     *
+     * @param tour   Le numéro du tour.
+     * @param joueur Le joueur noté (1 ou 2).
+     * @param score  Le score sur 100.
+     * @return Le message.
+     */
+    public static MessageReseau score(int tour, int joueur, int score) {
+        return new MessageReseau(Type.SCORE, null, joueur, tour, score, 0, 0, Collections.emptyList());
+    }
+
+    /**
+     * Crée le message de fin de match.
+     *
+     * @param total1  Le score total du joueur 1.
+     * @param total2  Le score total du joueur 2.
+     * @param abandon true si l'adversaire a quitté le match avant la fin.
+     * @return Le message.
+     */
+    public static MessageReseau fin(int total1, int total2, boolean abandon) {
+        return new MessageReseau(Type.FIN, null, 0, 0, abandon ? 1 : 0, total1, total2, Collections.emptyList());
+    }
+
+    /**
+     * Crée un message d'erreur.
+     *
+     * @param message L'explication, affichable au joueur.
+     * @return Le message.
+     */
+    public static MessageReseau erreur(String message) {
+        return new MessageReseau(Type.ERREUR, message, 0, 0, 0, 0, 0, Collections.emptyList());
+    }
+
+    /**
+     * Retourne le type du message.
+     *
+     * @return Le type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Retourne le texte : nom du joueur ({@link Type#REJOINDRE}), de l'adversaire
+     * ({@link Type#DEBUT_MATCH}) ou explication ({@link Type#ERREUR}).
+     *
+     * @return Le texte, ou null pour les autres types.
+     */
+    public String getTexte() {
+        return texte;
+    }
+
+    /**
+     * Retourne le numéro de joueur ({@link Type#DEBUT_MATCH}, {@link Type#SCORE}).
+     *
+     * @return 1 ou 2, 0 pour les autres types.
+     */
+    public int getJoueur() {
+        return joueur;
+    }
+
+    /**
+     * Retourne le numéro du tour.
+     *
+     * @return Le tour, 0 pour les messages hors tour.
+     */
+    public int getTour() {
+        return tour;
+    }
+
+    /**
+     * Retourne le score ({@link Type#SCORE}).
+     *
+     * @return Le score.
+     */
+    public int getScore() {
+        return valeur;
+    }
+
+    /**
+     * Retourne la durée de mémorisation ({@link Type#MEMORISER}).
+     *
+     * @return La durée en millisecondes.
+     */
+    public int getDureeMs() {
+        return valeur;
+    }
+
+    /**
+     * Retourne la version du protocole du client ({@link Type#REJOINDRE}).
+     *
+     * @return La version.
+     */
+    public int getVersion() {
+        return valeur;
+    }
+
+    /**
+     * Indique si le match s'est terminé par un abandon ({@link Type#FIN}).
+     *
+     * @return true si l'adversaire a quitté le match.
+     */
+    public boolean estAbandon() {
+        return valeur != 0;
+    }
+
+    /**
+     * Retourne le score total d'un joueur ({@link Type#FIN}).
+     *
+     * @param numero 1 ou 2.
+     * @return Le score total.
+     */
+    public int getTotal(int numero) {
+        return (numero == 1) ? total1 : total2;
+    }
+
+    /**
+     * Retourne les formes ({@link Type#FORMES}, {@link Type#MEMORISER}).
+     *
+     * @return Les formes, liste vide pour les autres types.
+     */
+    public List<Forme> getFormes() {
+        return formes;
+    }
+
+    /**
+     * Écrit le message, sans la longueur de trame.
+     *
+     * @param ecrivain La destination.
+     */
+    public void ecrire(EcrivainBinaire ecrivain) {
+        ecrivain.ecrireOctet(type.ordinal());
+        switch (type) {
+            case REJOINDRE:
+                ecrivain.ecrireVarintSigne(valeur);
+                ecrivain.ecrireChaine(texte);
+                break;
+            case FORMES:
+                CodecJeu.ecrireFormes(ecrivain, formes);
+                break;
+            case DEBUT_MATCH:
+                ecrivain.ecrireVarintSigne(joueur);
+                ecrivain.ecrireChaine(texte);
+                break;
+            case CREER:
+            case OBSERVER:
+                ecrivain.ecrireVarintSigne(tour);
+                break;
+            case MEMORISER:
+                ecrivain.ecrireVarintSigne(tour);
+                ecrivain.ecrireVarintSigne(valeur);
+                CodecJeu.ecrireFormes(ecrivain, formes);
+                break;
+            case SCORE:
+                ecrivain.ecrireVarintSigne(tour);
+                ecrivain.ecrireVarintSigne(joueur);
+                ecrivain.ecrireVarintSigne(valeur);
+                break;
+            case FIN:
+                ecrivain.ecrireVarintSigne(total1);
+                ecrivain.ecrireVarintSigne(total2);
+                ecrivain.ecrireOctet(valeur);
+                break;
+            case ERREUR:
+                ecrivain.ecrireChaine(texte);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Lit un message écrit par {@link #ecrire(EcrivainBinaire)}.
+     *
+     * @param lecteur La source, limitée au contenu d'une trame.
+     * @return Le message.
+     * @throws IOException si les données sont mal formées.
+     */
+    public static MessageReseau lire(LecteurBinaire lecteur) throws IOException {
+        int code = lecteur.lireOctet();
+        if (code >= TYPES.length) {
+            throw new IOException("Type de message inconnu : " + code);
+        }
+        Type type = TYPES[code];
+        switch (type) {
+            case REJOINDRE: {
+                int version = lecteur.lireEntier();
+                return new MessageReseau(type, lecteur.lireChaine(), 0, 0, version, 0, 0, Collections.emptyList());
+            }
+            case FORMES:
+                return formes(Collections.unmodifiableList(CodecJeu.lireFormes(lecteur)));
+            case DEBUT_MATCH: {
+                int joueur = lecteur.lireEntier();
+                return debutMatch(joueur, lecteur.lireChaine());
+            }
+            case CREER:
+                return creer(lecteur.lireEntier());
+            case OBSERVER:
+                return observer(lecteur.lireEntier());
+            case MEMORISER: {
+                int tour = lecteur.lireEntier();
+                int duree = lecteur.lireEntier();
+                return memoriser(tour, duree, Collections.unmodifiableList(CodecJeu.lireFormes(lecteur)));
+            }
+            case SCORE: {
+                int tour = lecteur.lireEntier();
+                int joueur = lecteur.lireEntier();
+                return score(tour, joueur, lecteur.lireEntier());
+            }
+            case FIN: {
+                int total1 = lecteur.lireEntier();
+                int total2 = lecteur.lireEntier();
+                return fin(total1, total2, lecteur.lireOctet() != 0);
+            }
+            case ERREUR:
+                return erreur(lecteur.lireChaine());
+            default:
+                return simple(type);
+        }
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case REJOINDRE:
+                return "REJOINDRE " + texte + " (v" + valeur + ")";
+            case FORMES:
+                return "FORMES " + formes.size() + " formes";
+            case DEBUT_MATCH:
+                return "DEBUT_MATCH joueur " + joueur + " contre " + texte;
+            case CREER:
+            case OBSERVER:
+                return type + " tour " + tour;
+            case MEMORISER:
+                return "MEMORISER tour " + tour + ", " + formes.size() + " formes, " + valeur + " ms";
+            case SCORE:
+                return "SCORE tour " + tour + ", joueur " + joueur + " : " + valeur;
+            case FIN:
+                return "FIN " + total1 + " - " + total2 + (valeur != 0 ? " (abandon)" : "");
+            case ERREUR:
+                return "ERREUR " + texte;
+            default:
+                return type.name();
+        }
+    }
+}
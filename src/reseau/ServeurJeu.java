@@ -0,0 +1,327 @@
+package reseau;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+import metriques.Metriques;
+
+/**
+ * Serveur de matchs à deux joueurs en réseau.
+ *
+ * Un seul thread surveille toutes les connexions avec un {@link Selector} : il lit les trames,
+ * fait avancer les matchs et écrit les réponses, sans bloquer ni verrouiller. Les joueurs
+ * sont appariés dans leur ordre d'arrivée et chaque paire joue un {@link MatchReseau}
+ * indépendant, avec sa propre partie. Le traitement d'un message ne fait que décoder
+ * quelques formes et, en fin de tour, noter 4 paires : un thread suffit pour des milliers de matchs.
+ *
+ * Utilisation : {@code java reseau.ServeurJeu [port] [dureeMemorisationMs]}
+ */
+public class ServeurJeu implements Closeable {
+
+    /** Port d'écoute par défaut */
+    public static final int PORT_DEFAUT = 7421;
+
+    /** Durée de mémorisation par défaut, la même qu'en mode deux joueurs local */
+    public static final int DUREE_MEMORISATION_DEFAUT = 10000;
+
+    private final InetSocketAddress adresse;
+    private final int dureeMemorisationMs;
+
+    private Selector selecteur;
+    private ServerSocketChannel ecoute;
+    private Thread thread;
+    private volatile boolean actif;
+
+    private ConnexionReseau enAttente;
+
+    // Statistiques : écrites par le seul thread du serveur, lues par les autres
+    private volatile int connexions;
+    private volatile int matchsEnCours;
+    private volatile long matchsTermines;
+    private volatile long messagesTraites;
+    private volatile long dureeTraitementNs;
+    private volatile long dureeTraitementMaxNs;
+
+    /**
+     * Crée un serveur.
+     *
+     * @param adresse             L'adresse d'écoute (port 0 pour un port libre quelconque).
+     * @param dureeMemorisationMs La durée pendant laquelle un joueur voit les formes à reproduire.
+     */
+    public ServeurJeu(InetSocketAddress adresse, int dureeMemorisationMs) {
+        this.adresse = adresse;
+        this.dureeMemorisationMs = dureeMemorisationMs;
+    }
+
+    /**
+     * Ouvre le port d'écoute et lance le thread du serveur.
+     *
+     * @throws IOException si le port ne peut pas être ouvert.
+     */
+    public void demarrer() throws IOException {
+        selecteur = Selector.open();
+        ecoute = ServerSocketChannel.open();
+        ecoute.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        ecoute.bind(adresse, 1024);
+        ecoute.configureBlocking(false);
+        ecoute.register(selecteur, SelectionKey.OP_ACCEPT);
+
+        actif = true;
+        thread = new Thread(this::boucler, "serveur-jeu");
+        thread.start();
+    }
+
+    /**
+     * Retourne le port d'écoute, utile quand le serveur a été créé sur le port 0.
+     *
+     * @return Le port.
+     */
+    public int getPort() {
+        return ecoute.socket().getLocalPort();
+    }
+
+    private void boucler() {
+        try {
+            while (actif) {
+                selecteur.select();
+                Iterator<SelectionKey> cles = selecteur.selectedKeys().iterator();
+                while (cles.hasNext()) {
+                    SelectionKey cle = cles.next();
+                    cles.remove();
+                    if (!cle.isValid()) {
+                        continue;
+                    }
+                    if (cle.isAcceptable()) {
+                        accepter();
+                    } else {
+                        traiter(cle);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Arrêt du serveur : " + e.getMessage());
+        } finally {
+            fermerTout();
+        }
+    }
+
+    private void accepter() throws IOException {
+        SocketChannel canal;
+        while ((canal = ecoute.accept()) != null) {
+            canal.configureBlocking(false);
+            canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey cle = canal.register(selecteur, SelectionKey.OP_READ);
+            cle.attach(new ConnexionReseau(canal, cle));
+            connexions++;
+        }
+    }
+
+    private void traiter(SelectionKey cle) {
+        ConnexionReseau connexion = (ConnexionReseau) cle.attachment();
+        try {
+            if (cle.isWritable()) {
+                connexion.ecrireEnAttente();
+            }
+            if (cle.isValid() && cle.isReadable() && connexion.lire(this::recevoir) < 0) {
+                deconnecter(connexion);
+            }
+        } catch (IOException e) {
+            // Client disparu ou données invalides : on le traite comme un abandon
+            deconnecter(connexion);
+        }
+    }
+
+    private void recevoir(ConnexionReseau connexion, MessageReseau message) {
+        long debut = System.nanoTime();
+        switch (message.getType()) {
+            case REJOINDRE:
+                rejoindre(connexion, message);
+                break;
+            case FORMES:
+                MatchReseau match = connexion.getMatch();
+                if (match == null) {
+                    connexion.envoyer(MessageReseau.erreur("Aucun match en cours"));
+                } else {
+                    match.recevoirFormes(connexion, message.getFormes());
+                    if (match.estTermine()) {
+                        matchTermine();
+                    }
+                }
+                break;
+            case QUITTER:
+                deconnecter(connexion);
+                break;
+            default:
+                connexion.envoyer(MessageReseau.erreur("Message réservé au serveur : " + message.getType()));
+                break;
+        }
+
+        long duree = System.nanoTime() - debut;
+        messagesTraites++;
+        dureeTraitementNs += duree;
+        if (duree > dureeTraitementMaxNs) {
+            dureeTraitementMaxNs = duree;
+        }
+    }
+
+    private void rejoindre(ConnexionReseau connexion, MessageReseau message) {
+        if (message.getVersion() != MessageReseau.VERSION_PROTOCOLE) {
+            connexion.envoyer(MessageReseau.erreur("Version du protocole non supportée : " + message.getVersion()));
+            return;
+        }
+        if (connexion.getNom() != null) {
+            connexion.envoyer(MessageReseau.erreur("Déjà inscrit"));
+            return;
+        }
+        connexion.setNom(message.getTexte());
+
+        if (enAttente == null) {
+            enAttente = connexion;
+            connexion.envoyer(MessageReseau.enAttente());
+            return;
+        }
+        MatchReseau match = new MatchReseau(enAttente, connexion, dureeMemorisationMs);
+        enAttente = null;
+        matchsEnCours++;
+        match.demarrer();
+    }
+
+    private void deconnecter(ConnexionReseau connexion) {
+        if (connexion.estFermee()) {
+            return;
+        }
+        connexion.fermer();
+        connexions--;
+        if (enAttente == connexion) {
+            enAttente = null;
+        }
+        MatchReseau match = connexion.getMatch();
+        if (match != null) {
+            match.abandonner(connexion);
+            matchTermine();
+        }
+    }
+
+    private void matchTermine() {
+        matchsEnCours--;
+        matchsTermines++;
+    }
+
+    private void fermerTout() {
+        for (SelectionKey cle : selecteur.keys()) {
+            Object connexion = cle.attachment();
+            if (connexion instanceof ConnexionReseau) {
+                ((ConnexionReseau) connexion).fermer();
+            }
+        }
+        try {
+            ecoute.close();
+            selecteur.close();
+        } catch (IOException e) {
+            // Arrêt au mieux
+        }
+    }
+
+    /**
+     * Arrête le serveur et ferme toutes les connexions.
+     */
+    @Override
+    public void close() {
+        actif = false;
+        if (selecteur != null) {
+            selecteur.wakeup();
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de connexions ouvertes.
+     *
+     * @return Le nombre de connexions.
+     */
+    public int getConnexions() {
+        return connexions;
+    }
+
+    /**
+     * Retourne le nombre de matchs en cours.
+     *
+     * @return Le nombre de matchs.
+     */
+    public int getMatchsEnCours() {
+        return matchsEnCours;
+    }
+
+    /**
+     * Retourne le nombre de matchs terminés (joués jusqu'au bout ou abandonnés).
+     *
+     * @return Le nombre de matchs.
+     */
+    public long getMatchsTermines() {
+        return matchsTermines;
+    }
+
+    /**
+     * Retourne le nombre de messages clients traités.
+     *
+     * @return Le nombre de messages.
+     */
+    public long getMessagesTraites() {
+        return messagesTraites;
+    }
+
+    /**
+     * Retourne le temps moyen de traitement d'un message, du décodage à la mise en file des réponses.
+     *
+     * @return La durée moyenne en microsecondes.
+     */
+    public double getDureeMoyenneUs() {
+        long n = messagesTraites;
+        return (n == 0) ? 0 : dureeTraitementNs / 1000.0 / n;
+    }
+
+    /**
+     * Retourne le temps de traitement du message le plus lent.
+     *
+     * @return La durée maximale en microsecondes.
+     */
+    public double getDureeMaxUs() {
+        return dureeTraitementMaxNs / 1000.0;
+    }
+
+    /**
+     * Lance le serveur depuis la ligne de commande et affiche ses statistiques toutes les 10 secondes.
+     *
+     * @param args port et durée de mémorisation en millisecondes (facultatifs).
+     * @throws IOException si le port ne peut pas être ouvert.
+     * @throws InterruptedException si le thread principal est interrompu.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = (args.length > 0) ? Integer.parseInt(args[0]) : PORT_DEFAUT;
+        int duree = (args.length > 1) ? Integer.parseInt(args[1]) : DUREE_MEMORISATION_DEFAUT;
+
+        Metriques.demarrer();
+        ServeurJeu serveur = new ServeurJeu(new InetSocketAddress(port), duree);
+        serveur.demarrer();
+        System.out.println("Serveur en écoute sur le port " + serveur.getPort());
+        while (true) {
+            Thread.sleep(10000);
+            System.out.printf("%d connexions, %d matchs en cours, %d terminés, %d messages (%.1f µs en moyenne, %.1f µs au plus)%n",
+                serveur.getConnexions(), serveur.getMatchsEnCours(), serveur.getMatchsTermines(),
+                serveur.getMessagesTraites(), serveur.getDureeMoyenneUs(), serveur.getDureeMaxUs());
+        }
+    }
+}
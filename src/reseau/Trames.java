@@ -0,0 +1,75 @@
+package reseau;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import modele.persistance.EcrivainBinaire;
+import modele.persistance.LecteurBinaire;
+
+/**
+ * Découpage du flux TCP en trames : chaque message est précédé de sa longueur
+ * sur 4 octets (gros-boutiste), ce qui permet de le lire sans connaître son type.
+ */
+final class Trames {
+
+    /** Taille maximale du contenu d'une trame : bien au-delà d'un dessin, bien en deçà d'un abus */
+    static final int TAILLE_MAX = 64 * 1024;
+
+    /** Taille de l'en-tête de longueur */
+    static final int ENTETE = 4;
+
+    /** Tampon d'écriture propre à chaque thread, réutilisé d'un message à l'autre */
+    private static final ThreadLocal<EcrivainBinaire> ECRIVAINS = ThreadLocal.withInitial(EcrivainBinaire::new);
+
+    private Trames() {
+    }
+
+    /**
+     * Encode un message dans une trame prête à être écrite sur un canal.
+     *
+     * @param message Le message.
+     * @return La trame, positionnée au début.
+     */
+    static ByteBuffer encoder(MessageReseau message) {
+        EcrivainBinaire ecrivain = ECRIVAINS.get();
+        ecrivain.reinitialiser();
+        message.ecrire(ecrivain);
+        ByteBuffer contenu = ecrivain.versLecture();
+
+        ByteBuffer trame = ByteBuffer.allocate(ENTETE + contenu.remaining());
+        trame.putInt(contenu.remaining());
+        trame.put(contenu);
+        trame.flip();
+        return trame;
+    }
+
+    /**
+     * Vérifie la longueur annoncée par un en-tête de trame.
+     *
+     * @param longueur La longueur lue.
+     * @return La longueur.
+     * @throws IOException si elle est nulle, négative ou trop grande.
+     */
+    static int verifierLongueur(int longueur) throws IOException {
+        if (longueur <= 0 || longueur > TAILLE_MAX) {
+            throw new IOException("Longueur de trame invalide : " + longueur);
+        }
+        return longueur;
+    }
+
+    /**
+     * Décode le contenu d'une trame.
+     *
+     * @param contenu Les octets du message, sans l'en-tête de longueur.
+     * @return Le message.
+     * @throws IOException si le contenu est mal formé ou n'est pas entièrement lu.
+     */
+    static MessageReseau decoder(ByteBuffer contenu) throws IOException {
+        LecteurBinaire lecteur = new LecteurBinaire(contenu);
+        MessageReseau message = MessageReseau.lire(lecteur);
+        if (lecteur.restant() != 0) {
+            throw new IOException("Octets en trop après " + message.getType() + " : " + lecteur.restant());
+        }
+        return message;
+    }
+}
@@ -0,0 +1,173 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import vue.Affichage;
+
+/**
+ * Affichage sans écran, utilisé pour faire tourner une partie sans Swing.
+ *
+ * Il se contente de mémoriser l'état que la vue aurait affiché (statut, boutons,
+ * scores, messages) pour que le simulateur puisse l'inspecter. Les demandes de
+ * confirmation reçoivent une réponse fixée à l'avance et {@link #terminer()}
+ * marque simplement la partie comme terminée au lieu de quitter la JVM.
+ */
+public class AffichageHeadless implements Affichage {
+
+    private final boolean reponseConfirmation;
+    private String statut = "";
+    private boolean validationActive;
+    private boolean undoActive;
+    private boolean redoActive;
+    private boolean creationActive = true;
+    private final List<String> scores = new ArrayList<>();
+    private final List<String> messages = new ArrayList<>();
+    private boolean termine;
+    private int apercuScore = -1;
+
+    /**
+     * Crée un affichage sans écran qui confirme toutes les demandes.
+     */
+    public AffichageHeadless() {
+        this(true);
+    }
+
+    /**
+     * Crée un affichage sans écran.
+     *
+     * @param reponseConfirmation La réponse donnée à toutes les demandes de confirmation.
+     */
+    public AffichageHeadless(boolean reponseConfirmation) {
+        this.reponseConfirmation = reponseConfirmation;
+    }
+
+    @Override
+    public void setStatut(String message) {
+        this.statut = message;
+    }
+
+    @Override
+    public void setValidationActive(boolean active) {
+        this.validationActive = active;
+    }
+
+    @Override
+    public void setUndoActive(boolean active) {
+        this.undoActive = active;
+    }
+
+    @Override
+    public void setRedoActive(boolean active) {
+        this.redoActive = active;
+    }
+
+    @Override
+    public void setCreationActive(boolean active) {
+        this.creationActive = active;
+    }
+
+    @Override
+    public boolean getValidationStatus() {
+        return validationActive;
+    }
+
+    @Override
+    public void ajouterScore(String score) {
+        scores.add(score);
+    }
+
+    @Override
+    public void setApercuScore(int score) {
+        apercuScore = score;
+    }
+
+    @Override
+    public void afficherMessage(String message) {
+        messages.add(message);
+    }
+
+    @Override
+    public boolean demanderConfirmation(String message) {
+        messages.add(message);
+        return reponseConfirmation;
+    }
+
+    @Override
+    public void terminer() {
+        termine = true;
+    }
+
+    /**
+     * Retourne le dernier message de statut.
+     *
+     * @return Le statut courant.
+     */
+    public String getStatut() {
+        return statut;
+    }
+
+    /**
+     * Retourne le dernier score estimé affiché.
+     *
+     * @return Le score, ou -1 si l'estimation est masquée.
+     */
+    public int getApercuScore() {
+        return apercuScore;
+    }
+
+    /**
+     * Indique si l'action Undo est activée.
+     *
+     * @return true si activée.
+     */
+    public boolean isUndoActive() {
+        return undoActive;
+    }
+
+    /**
+     * Indique si l'action Redo est activée.
+     *
+     * @return true si activée.
+     */
+    public boolean isRedoActive() {
+        return redoActive;
+    }
+
+    /**
+     * Indique si la création de formes est activée.
+     *
+     * @return true si activée.
+     */
+    public boolean isCreationActive() {
+        return creationActive;
+    }
+
+    /**
+     * Retourne les lignes de score affichées, dans l'ordre.
+     *
+     * @return Liste non modifiable des scores.
+     */
+    public List<String> getScores() {
+        return Collections.unmodifiableList(scores);
+    }
+
+    /**
+     * Retourne les messages et questions affichés, dans l'ordre.
+     *
+     * @return Liste non modifiable des messages.
+     */
+    public List<String> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+
+    /**
+     * Indique si l'application aurait été fermée.
+     *
+     * @return true si {@link #terminer()} a été appelée.
+     */
+    public boolean estTermine() {
+        return termine;
+    }
+}
@@ -0,0 +1,80 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import modele.Cercle;
+import modele.Forme;
+import modele.Rectangle;
+
+/**
+ * Bot qui reproduit les formes de mémoire, avec une imprécision réglable :
+ * chaque forme est décalée et redimensionnée d'au plus {@code bruit} pixels,
+ * et peut être oubliée avec une probabilité {@code tauxOubli}.
+ *
+ * Avec une graine fixe, le bot joue toujours exactement de la même façon.
+ */
+public class BotImprecis implements JoueurBot {
+
+    private static final int ZONE = 700;
+
+    private final Random rand;
+    private final int bruit;
+    private final double tauxOubli;
+
+    /**
+     * Crée un bot imprécis.
+     *
+     * @param graine    La graine du générateur aléatoire du bot.
+     * @param bruit     Le décalage maximal (en pixels) appliqué à chaque coordonnée et dimension.
+     * @param tauxOubli La probabilité d'oublier une forme (entre 0 et 1).
+     */
+    public BotImprecis(long graine, int bruit, double tauxOubli) {
+        this.rand = new Random(graine);
+        this.bruit = bruit;
+        this.tauxOubli = tauxOubli;
+    }
+
+    @Override
+    public List<Forme> reproduire(List<Forme> reference) {
+        List<Forme> reproduction = new ArrayList<>(reference.size());
+        for (Forme f : reference) {
+            if (rand.nextDouble() < tauxOubli) continue;
+
+            if (f instanceof Cercle) {
+                Cercle c = (Cercle) f;
+                reproduction.add(new Cercle(c.getX() + decalage(), c.getY() + decalage(),
+                    Math.max(1, c.getRayon() + decalage())));
+            } else if (f instanceof Rectangle) {
+                Rectangle r = (Rectangle) f;
+                reproduction.add(new Rectangle(r.getX() + decalage(), r.getY() + decalage(),
+                    Math.max(1, r.getLargeur() + decalage()), Math.max(1, r.getHauteur() + decalage())));
+            }
+        }
+        // Valider sans aucune forme ne fait rien : le bot dessine toujours au moins une forme
+        if (reproduction.isEmpty()) {
+            reproduction.addAll(creer(1));
+        }
+        return reproduction;
+    }
+
+    @Override
+    public List<Forme> creer(int nombre) {
+        List<Forme> formes = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            int x = rand.nextInt(ZONE - 150);
+            int y = rand.nextInt(ZONE - 150);
+            if (rand.nextBoolean()) {
+                formes.add(new Cercle(x, y, 10 + rand.nextInt(60)));
+            } else {
+                formes.add(new Rectangle(x, y, 10 + rand.nextInt(120), 10 + rand.nextInt(120)));
+            }
+        }
+        return formes;
+    }
+
+    private int decalage() {
+        return (bruit == 0) ? 0 : rand.nextInt(2 * bruit + 1) - bruit;
+    }
+}
@@ -0,0 +1,220 @@
+package simulation;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import modele.Forme;
+import reseau.ClientJeu;
+import reseau.MessageReseau;
+import reseau.ServeurJeu;
+
+/**
+ * Test de charge du {@link ServeurJeu} avec des bots en guise de joueurs.
+ *
+ * Chaque bot a sa propre connexion et son propre thread (à petite pile) : tous se connectent,
+ * puis rejoignent le serveur en même temps, si bien que les matchs se jouent simultanément.
+ * Le bilan donne le temps aller-retour entre l'envoi d'une reproduction et la réception
+ * de son score, et, quand le serveur est lancé sur place, son temps de traitement par message.
+ *
+ * Utilisation : {@code java simulation.ChargeReseau <nbMatchs> [graine] [hote:port]}
+ * (sans adresse, un serveur est démarré en local avec une mémorisation instantanée).
+ */
+public class ChargeReseau {
+
+    private static final long PILE_BOT = 128 * 1024;
+    private static final int BRUIT_BOT = 15;
+    private static final double OUBLI_BOT = 0.1;
+
+    private final InetSocketAddress adresse;
+    private final List<long[]> allersRetours = new ArrayList<>();
+    private final AtomicInteger matchsFinis = new AtomicInteger();
+    private final AtomicInteger erreurs = new AtomicInteger();
+    private final AtomicInteger echecs = new AtomicInteger();
+
+    /**
+     * Crée un test de charge.
+     *
+     * @param adresse L'adresse du serveur.
+     */
+    public ChargeReseau(InetSocketAddress adresse) {
+        this.adresse = adresse;
+    }
+
+    /**
+     * Fait jouer deux bots par match jusqu'à la fin de tous les matchs.
+     *
+     * @param nbMatchs Le nombre de matchs simultanés.
+     * @param graine   La graine du premier bot (les suivants prennent graine + 1, graine + 2...).
+     * @throws InterruptedException si le thread appelant est interrompu.
+     */
+    public void jouer(int nbMatchs, long graine) throws InterruptedException {
+        int nbBots = nbMatchs * 2;
+        CountDownLatch connectes = new CountDownLatch(nbBots);
+        CountDownLatch depart = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(nbBots);
+
+        for (int i = 0; i < nbBots; i++) {
+            int numero = i;
+            Thread t = new Thread(null, () -> jouerBot(numero, graine + numero, connectes, depart),
+                "bot-" + i, PILE_BOT);
+            t.setDaemon(true);
+            threads.add(t);
+            t.start();
+        }
+        connectes.await();
+        depart.countDown();
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+
+    private void jouerBot(int numero, long graine, CountDownLatch connectes, CountDownLatch depart) {
+        JoueurBot bot = new BotImprecis(graine, BRUIT_BOT, OUBLI_BOT);
+        long[] mesures = new long[Integer.SIZE];
+        int nbMesures = 0;
+
+        ClientJeu client = null;
+        try {
+            try {
+                client = new ClientJeu(adresse);
+            } finally {
+                connectes.countDown();
+            }
+            depart.await();
+            client.rejoindre("bot-" + numero);
+
+            int moi = 0;
+            long envoi = 0;
+            boolean fini = false;
+            while (!fini) {
+                MessageReseau message = client.recevoir();
+                switch (message.getType()) {
+                    case DEBUT_MATCH:
+                        moi = message.getJoueur();
+                        break;
+                    case CREER:
+                        client.envoyerFormes(bot.creer(4));
+                        break;
+                    case MEMORISER:
+                        List<Forme> reference = message.getFormes();
+                        if (message.getDureeMs() > 0) {
+                            Thread.sleep(message.getDureeMs());
+                        }
+                        envoi = System.nanoTime();
+                        client.envoyerFormes(bot.reproduire(reference));
+                        break;
+                    case SCORE:
+                        if (message.getJoueur() == moi && nbMesures < mesures.length) {
+                            mesures[nbMesures++] = System.nanoTime() - envoi;
+                        }
+                        break;
+                    case FIN:
+                        if (moi == 1) {
+                            matchsFinis.incrementAndGet();
+                        }
+                        fini = true;
+                        break;
+                    case ERREUR:
+                        erreurs.incrementAndGet();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            echecs.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (client != null) {
+                try {
+                    client.close();
+                } catch (IOException e) {
+                    // Fin du bot : rien à faire de plus
+                }
+            }
+        }
+
+        synchronized (allersRetours) {
+            allersRetours.add(Arrays.copyOf(mesures, nbMesures));
+        }
+    }
+
+    /**
+     * Retourne tous les temps aller-retour mesurés, triés.
+     *
+     * @return Les durées en nanosecondes.
+     */
+    public long[] getAllersRetours() {
+        synchronized (allersRetours) {
+            int total = 0;
+            for (long[] m : allersRetours) {
+                total += m.length;
+            }
+            long[] tous = new long[total];
+            int i = 0;
+            for (long[] m : allersRetours) {
+                System.arraycopy(m, 0, tous, i, m.length);
+                i += m.length;
+            }
+            Arrays.sort(tous);
+            return tous;
+        }
+    }
+
+    private static double centile(long[] tries, double p) {
+        if (tries.length == 0) return 0;
+        int i = (int) Math.min(tries.length - 1, Math.ceil(p * tries.length) - 1);
+        return tries[Math.max(0, i)] / 1000.0;
+    }
+
+    /**
+     * Lance un test de charge depuis la ligne de commande et affiche un bilan.
+     *
+     * @param args nombre de matchs, graine et adresse du serveur (facultatives).
+     * @throws IOException si le serveur local ne peut pas démarrer.
+     * @throws InterruptedException si le test est interrompu.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage : ChargeReseau <nbMatchs> [graine] [hote:port]");
+            System.exit(1);
+        }
+        int nbMatchs = Integer.parseInt(args[0]);
+        long graine = (args.length > 1) ? Long.parseLong(args[1]) : 42L;
+
+        ServeurJeu serveur = null;
+        InetSocketAddress adresse;
+        if (args.length > 2) {
+            int separateur = args[2].lastIndexOf(':');
+            adresse = new InetSocketAddress(args[2].substring(0, separateur),
+                Integer.parseInt(args[2].substring(separateur + 1)));
+        } else {
+            serveur = new ServeurJeu(new InetSocketAddress("127.0.0.1", 0), 0);
+            serveur.demarrer();
+            adresse = new InetSocketAddress("127.0.0.1", serveur.getPort());
+        }
+
+        ChargeReseau charge = new ChargeReseau(adresse);
+        long debut = System.nanoTime();
+        charge.jouer(nbMatchs, graine);
+        double secondes = (System.nanoTime() - debut) / 1e9;
+
+        long[] mesures = charge.getAllersRetours();
+        System.out.printf("%d matchs simultanés, %d terminés en %.2f s (%d erreurs, %d bots déconnectés)%n",
+            nbMatchs, charge.matchsFinis.get(), secondes, charge.erreurs.get(), charge.echecs.get());
+        System.out.printf("Aller-retour reproduction -> score : médiane %.0f µs, 99e centile %.0f µs, max %.0f µs (%d mesures)%n",
+            centile(mesures, 0.5), centile(mesures, 0.99), centile(mesures, 1.0), mesures.length);
+
+        if (serveur != null) {
+            System.out.printf("Serveur : %d messages, traitement %.1f µs en moyenne, %.1f µs au plus%n",
+                serveur.getMessagesTraites(), serveur.getDureeMoyenneUs(), serveur.getDureeMaxUs());
+            serveur.close();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package simulation;
+
+import java.util.List;
+
+import modele.Forme;
+
+/**
+ * Joueur automatique utilisé par le simulateur à la place d'un humain.
+ */
+public interface JoueurBot {
+
+    /**
+     * Propose une reproduction des formes mémorisées.
+     *
+     * @param reference Les formes affichées pendant la phase de mémorisation.
+     * @return Les formes que le bot dessine (au moins une).
+     */
+    List<Forme> reproduire(List<Forme> reference);
+
+    /**
+     * Crée des formes à faire reproduire à l'autre joueur (mode deux joueurs).
+     *
+     * @param nombre Le nombre de formes à créer.
+     * @return Les formes créées.
+     */
+    List<Forme> creer(int nombre);
+}
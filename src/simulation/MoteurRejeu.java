@@ -0,0 +1,208 @@
+package simulation;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+
+import controleur.evaluation.CatalogueStrategies;
+import controleur.evaluation.EvaluationStrategy;
+import modele.FileMutations;
+import modele.Modele;
+import modele.Partie;
+import modele.persistance.EvenementJeu;
+import modele.persistance.JournalJeu;
+import modele.persistance.Restauration;
+import vue.Vue;
+
+/**
+ * Rejeu déterministe d'une partie enregistrée dans un {@link JournalJeu}.
+ *
+ * Les événements sont réappliqués dans l'ordre au modèle, éventuellement affiché par une {@link Vue},
+ * en temps réel, en accéléré ou sans aucune attente. À chaque validation (et à chaque score
+ * du mode deux joueurs), le score est recalculé à partir des formes rejouées, avec la stratégie
+ * de la partie ou une autre choisie pour le rejeu, puis comparé au score enregistré : on vérifie ainsi
+ * qu'une modification du calcul des scores ne change pas les parties passées,
+ * ou l'on examine un score contesté.
+ *
+ * Les événements passent par {@link Modele#executer(Runnable)} : ils sont appliqués
+ * par le thread propriétaire du modèle (le thread appelant pour un modèle sans interface,
+ * le thread de Swing avec une vue).
+ *
+ * Utilisation : {@code java simulation.MoteurRejeu <dossierJournal> [1|10|max] [strategie] [--vue]}
+ * (sans stratégie, celle enregistrée au début de la partie).
+ */
+public class MoteurRejeu {
+
+    /** Vitesse de rejeu sans aucune attente entre les événements */
+    public static final double VITESSE_MAX = 0;
+
+    private final Modele modele;
+    private final Partie partie;
+    private final EvaluationStrategy strategie;
+    private final String nomStrategie;
+
+    /**
+     * Crée un moteur de rejeu sans interface, sur un modèle neuf.
+     *
+     * @param strategie    La stratégie qui recalcule les scores.
+     * @param nomStrategie Le nom de cette stratégie.
+     */
+    public MoteurRejeu(EvaluationStrategy strategie, String nomStrategie) {
+        this(creerModeleHeadless(), new Partie(), strategie, nomStrategie);
+    }
+
+    /**
+     * Crée un moteur de rejeu sur un modèle donné (par exemple affiché par une vue).
+     * Le modèle ne doit pas être journalisé.
+     *
+     * @param modele       Le modèle, neuf, sur lequel rejouer la partie.
+     * @param partie       La partie qui reçoit les scores du mode deux joueurs.
+     * @param strategie    La stratégie qui recalcule les scores.
+     * @param nomStrategie Le nom de cette stratégie.
+     */
+    public MoteurRejeu(Modele modele, Partie partie, EvaluationStrategy strategie, String nomStrategie) {
+        this.modele = modele;
+        this.partie = partie;
+        this.strategie = strategie;
+        this.nomStrategie = nomStrategie;
+        modele.setEvaluateur(strategie, nomStrategie);
+    }
+
+    private static Modele creerModeleHeadless() {
+        Modele modele = new Modele(FileMutations.directe());
+        modele.setAffichage(new AffichageHeadless());
+        return modele;
+    }
+
+    /**
+     * Rejoue des événements.
+     *
+     * @param evenements Les événements, dans l'ordre d'enregistrement.
+     * @param vitesse    1 pour le temps réel, 10 pour dix fois plus vite...,
+     *                   {@link #VITESSE_MAX} pour enchaîner les événements sans attendre.
+     * @return Le bilan du rejeu.
+     * @throws InterruptedException si le thread appelant est interrompu pendant une attente.
+     */
+    public RapportRejeu rejouer(List<EvenementJeu> evenements, double vitesse) throws InterruptedException {
+        List<RapportRejeu.Ecart> ecarts = Collections.synchronizedList(new ArrayList<>());
+        int[] nbRounds = new int[1];
+        long debut = System.nanoTime();
+        long horodatageInitial = evenements.isEmpty() ? 0 : evenements.get(0).getHorodatageMs();
+
+        for (EvenementJeu e : evenements) {
+            if (vitesse > 0) {
+                long cible = debut + (long) ((e.getHorodatageMs() - horodatageInitial) * 1_000_000L / vitesse);
+                long attente = cible - System.nanoTime();
+                if (attente > 0) {
+                    TimeUnit.NANOSECONDS.sleep(attente);
+                }
+            }
+            modele.executer(() -> {
+                if (e.getType() == EvenementJeu.Type.VALIDATION || e.getType() == EvenementJeu.Type.SCORE_JOUEUR) {
+                    int score = strategie.evaluer(modele.getFormesProposition(), modele.getFormes());
+                    nbRounds[0]++;
+                    if (score != e.getScore()) {
+                        ecarts.add(new RapportRejeu.Ecart(nbRounds[0], e.getScore(), score, e.getStrategie()));
+                    }
+                    if (e.getType() == EvenementJeu.Type.VALIDATION) {
+                        modele.enregistrerValidation(score, nomStrategie);
+                    } else {
+                        partie.ajouterScore(e.getJoueur(), score);
+                    }
+                } else {
+                    Restauration.appliquer(e, modele, partie);
+                }
+            });
+        }
+
+        // Attend que le thread propriétaire ait appliqué le dernier événement
+        CountDownLatch fin = new CountDownLatch(1);
+        modele.executer(fin::countDown);
+        fin.await();
+        return new RapportRejeu(evenements.size(), nbRounds[0], new ArrayList<>(ecarts), System.nanoTime() - debut);
+    }
+
+    /**
+     * Retourne le modèle sur lequel la partie est rejouée.
+     *
+     * @return Le modèle.
+     */
+    public Modele getModele() {
+        return modele;
+    }
+
+    /**
+     * Retourne la partie qui reçoit les scores du mode deux joueurs.
+     *
+     * @return La partie.
+     */
+    public Partie getPartie() {
+        return partie;
+    }
+
+    /**
+     * Rejoue le journal d'un dossier et affiche le bilan et les écarts de score.
+     * Le code de sortie est 2 si des scores ont changé.
+     *
+     * @param args dossier du journal, vitesse (1, 10 ou max, par défaut max),
+     *             stratégie qui remplace celle de la partie (par défaut, celle enregistrée
+     *             dans le journal) et --vue pour afficher le rejeu.
+     * @throws IOException si le journal ne peut pas être lu.
+     * @throws InterruptedException si le rejeu est interrompu.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage : MoteurRejeu <dossierJournal> [1|10|max] [similarite|precision|affectation] [--vue]");
+            System.exit(1);
+        }
+        List<EvenementJeu> evenements = JournalJeu.lire(Paths.get(args[0]));
+        List<String> options = new ArrayList<>(Arrays.asList(args).subList(1, args.length));
+        boolean avecVue = options.remove("--vue");
+        double vitesse = (options.size() > 0 && !"max".equalsIgnoreCase(options.get(0)))
+            ? Double.parseDouble(options.get(0)) : VITESSE_MAX;
+
+        // Par défaut, les scores sont recalculés avec la stratégie de la partie rejouée
+        String nom;
+        if (options.size() > 1) {
+            nom = CatalogueStrategies.nomAffiche(options.get(1));
+        } else {
+            EvenementJeu debut = Restauration.debut(evenements);
+            nom = (debut == null || debut.getStrategie() == null)
+                ? CatalogueStrategies.SIMILARITE : CatalogueStrategies.nomAffiche(debut.getStrategie());
+        }
+
+        MoteurRejeu moteur;
+        if (avecVue) {
+            Modele modele = new Modele();
+            Vue vue = new Vue(modele);
+            SwingUtilities.invokeLater(() -> {
+                JFrame frame = new JFrame("Rejeu - " + args[0]);
+                frame.add(vue);
+                frame.setSize(700, 700);
+                frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+                frame.setVisible(true);
+            });
+            modele.setActionsActives(false);
+            moteur = new MoteurRejeu(modele, new Partie(), CatalogueStrategies.fabrique(nom).get(), nom);
+        } else {
+            moteur = new MoteurRejeu(CatalogueStrategies.fabrique(nom).get(), nom);
+        }
+
+        RapportRejeu rapport = moteur.rejouer(evenements, vitesse);
+        System.out.println(rapport);
+        for (RapportRejeu.Ecart ecart : rapport.getEcarts()) {
+            System.out.println("  " + ecart);
+        }
+        if (!avecVue) {
+            System.exit(rapport.getEcarts().isEmpty() ? 0 : 2);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package simulation;
+
+import java.util.PriorityQueue;
+
+import controleur.Planificateur;
+import controleur.TachePlanifiee;
+
+/**
+ * Planificateur à temps virtuel, pour les simulations.
+ *
+ * Les actions ne sont jamais déclenchées par une horloge : le simulateur
+ * avance lui-même le temps jusqu'à la prochaine échéance, ce qui rend les
+ * dix secondes de mémorisation instantanées et la partie déterministe.
+ *
+ * Un planificateur virtuel appartient à une seule partie et n'est utilisé
+ * que par le thread qui la joue : il n'est pas thread-safe.
+ */
+public class PlanificateurVirtuel implements Planificateur {
+
+    /**
+     * Action en attente, ordonnée par échéance puis par ordre de planification.
+     */
+    private static final class Tache implements TachePlanifiee, Comparable<Tache> {
+        final long echeance;
+        final long sequence;
+        final Runnable action;
+        boolean terminee;
+
+        Tache(long echeance, long sequence, Runnable action) {
+            this.echeance = echeance;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        @Override
+        public boolean annuler() {
+            if (terminee) return false;
+            terminee = true;
+            return true;
+        }
+
+        @Override
+        public boolean estTerminee() {
+            return terminee;
+        }
+
+        @Override
+        public int compareTo(Tache autre) {
+            int c = Long.compare(echeance, autre.echeance);
+            return (c != 0) ? c : Long.compare(sequence, autre.sequence);
+        }
+    }
+
+    private final PriorityQueue<Tache> file = new PriorityQueue<>();
+    private long maintenantMs;
+    private long prochaineSequence;
+
+    @Override
+    public TachePlanifiee planifier(Runnable action, long delaiMs) {
+        Tache t = new Tache(maintenantMs + Math.max(0, delaiMs), prochaineSequence++, action);
+        file.add(t);
+        return t;
+    }
+
+    /**
+     * Avance le temps jusqu'à la prochaine action non annulée et l'exécute.
+     *
+     * @return true si une action a été exécutée, false s'il n'y avait plus rien à exécuter.
+     */
+    public boolean avancer() {
+        Tache t;
+        while ((t = file.poll()) != null) {
+            if (t.terminee) continue;
+            maintenantMs = t.echeance;
+            t.terminee = true;
+            t.action.run();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Exécute toutes les actions planifiées, y compris celles planifiées en cours de route.
+     *
+     * @return Le nombre d'actions exécutées.
+     */
+    public int toutExecuter() {
+        int n = 0;
+        while (avancer()) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Retourne le temps virtuel écoulé depuis la création du planificateur.
+     *
+     * @return Le temps courant en millisecondes.
+     */
+    public long getMaintenantMs() {
+        return maintenantMs;
+    }
+}
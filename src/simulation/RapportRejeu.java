@@ -0,0 +1,149 @@
+package simulation;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bilan d'un rejeu : nombre d'événements rejoués, scores recalculés
+ * et écarts avec les scores enregistrés pendant la partie.
+ */
+public class RapportRejeu {
+
+    /**
+     * Un round dont le score recalculé diffère du score enregistré.
+     */
+    public static class Ecart {
+        private final int numero;
+        private final int scoreEnregistre;
+        private final int scoreRecalcule;
+        private final String strategieEnregistree;
+
+        /**
+         * Crée un écart.
+         *
+         * @param numero               Le numéro du round (dans l'ordre des validations du journal).
+         * @param scoreEnregistre      Le score enregistré pendant la partie.
+         * @param scoreRecalcule       Le score donné par la stratégie du rejeu.
+         * @param strategieEnregistree La stratégie utilisée pendant la partie.
+         */
+        public Ecart(int numero, int scoreEnregistre, int scoreRecalcule, String strategieEnregistree) {
+            this.numero = numero;
+            this.scoreEnregistre = scoreEnregistre;
+            this.scoreRecalcule = scoreRecalcule;
+            this.strategieEnregistree = strategieEnregistree;
+        }
+
+        /**
+         * Retourne le numéro du round.
+         *
+         * @return Le numéro, à partir de 1.
+         */
+        public int getNumero() {
+            return numero;
+        }
+
+        /**
+         * Retourne le score enregistré pendant la partie.
+         *
+         * @return Le score enregistré.
+         */
+        public int getScoreEnregistre() {
+            return scoreEnregistre;
+        }
+
+        /**
+         * Retourne le score recalculé par le rejeu.
+         *
+         * @return Le score recalculé.
+         */
+        public int getScoreRecalcule() {
+            return scoreRecalcule;
+        }
+
+        /**
+         * Retourne la stratégie utilisée pendant la partie.
+         *
+         * @return Le nom de la stratégie, ou null s'il n'a pas été enregistré.
+         */
+        public String getStrategieEnregistree() {
+            return strategieEnregistree;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("round %d : %d enregistré (%s), %d recalculé",
+                numero, scoreEnregistre, strategieEnregistree, scoreRecalcule);
+        }
+    }
+
+    private final int nbEvenements;
+    private final int nbRounds;
+    private final List<Ecart> ecarts;
+    private final long dureeNs;
+
+    /**
+     * Crée le bilan d'un rejeu.
+     *
+     * @param nbEvenements Le nombre d'événements rejoués.
+     * @param nbRounds     Le nombre de scores recalculés.
+     * @param ecarts       Les rounds dont le score a changé.
+     * @param dureeNs      La durée réelle du rejeu.
+     */
+    public RapportRejeu(int nbEvenements, int nbRounds, List<Ecart> ecarts, long dureeNs) {
+        this.nbEvenements = nbEvenements;
+        this.nbRounds = nbRounds;
+        this.ecarts = Collections.unmodifiableList(ecarts);
+        this.dureeNs = dureeNs;
+    }
+
+    /**
+     * Retourne le nombre d'événements rejoués.
+     *
+     * @return Le nombre d'événements.
+     */
+    public int getNbEvenements() {
+        return nbEvenements;
+    }
+
+    /**
+     * Retourne le nombre de scores recalculés.
+     *
+     * @return Le nombre de rounds.
+     */
+    public int getNbRounds() {
+        return nbRounds;
+    }
+
+    /**
+     * Retourne les rounds dont le score recalculé diffère du score enregistré.
+     *
+     * @return Liste non modifiable des écarts, vide si tous les scores sont identiques.
+     */
+    public List<Ecart> getEcarts() {
+        return ecarts;
+    }
+
+    /**
+     * Retourne la durée réelle du rejeu.
+     *
+     * @return La durée en nanosecondes.
+     */
+    public long getDureeNs() {
+        return dureeNs;
+    }
+
+    /**
+     * Retourne le débit du rejeu.
+     *
+     * @return Le nombre d'événements rejoués par seconde.
+     */
+    public double getEvenementsParSeconde() {
+        return (dureeNs == 0) ? 0 : nbEvenements * 1e9 / dureeNs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d événements, %d rounds, %d écarts en %.1f ms (%.0f événements/s)",
+            nbEvenements, nbRounds, ecarts.size(), dureeNs / 1e6, getEvenementsParSeconde());
+    }
+}
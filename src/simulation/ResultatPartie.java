@@ -0,0 +1,103 @@
+package simulation;
+
+/**
+ * Résultat d'une partie simulée.
+ */
+public class ResultatPartie {
+
+    private final String mode;
+    private final long graine;
+    private final int nbRounds;
+    private final long sommeScores;
+    private final boolean terminee;
+    private final long dureeVirtuelleMs;
+
+    /**
+     * Crée le résultat d'une partie.
+     *
+     * @param mode             Le mode joué.
+     * @param graine           La graine de la partie.
+     * @param nbRounds         Le nombre de rounds évalués.
+     * @param sommeScores      La somme des scores de tous les rounds.
+     * @param terminee         true si la partie est allée jusqu'au bout.
+     * @param dureeVirtuelleMs Le temps de jeu simulé (mémorisations comprises).
+     */
+    public ResultatPartie(String mode, long graine, int nbRounds, long sommeScores,
+                          boolean terminee, long dureeVirtuelleMs) {
+        this.mode = mode;
+        this.graine = graine;
+        this.nbRounds = nbRounds;
+        this.sommeScores = sommeScores;
+        this.terminee = terminee;
+        this.dureeVirtuelleMs = dureeVirtuelleMs;
+    }
+
+    /**
+     * Retourne le mode joué.
+     *
+     * @return Le nom du mode.
+     */
+    public String getMode() {
+        return mode;
+    }
+
+    /**
+     * Retourne la graine de la partie.
+     *
+     * @return La graine.
+     */
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Retourne le nombre de rounds évalués.
+     *
+     * @return Le nombre de rounds.
+     */
+    public int getNbRounds() {
+        return nbRounds;
+    }
+
+    /**
+     * Retourne la somme des scores de tous les rounds.
+     *
+     * @return La somme des scores.
+     */
+    public long getSommeScores() {
+        return sommeScores;
+    }
+
+    /**
+     * Retourne le score moyen d'un round de la partie.
+     *
+     * @return La moyenne, ou 0 si aucun round n'a été évalué.
+     */
+    public double getScoreMoyen() {
+        return (nbRounds == 0) ? 0 : (double) sommeScores / nbRounds;
+    }
+
+    /**
+     * Indique si la partie est allée jusqu'au bout.
+     *
+     * @return true si la partie est terminée.
+     */
+    public boolean estTerminee() {
+        return terminee;
+    }
+
+    /**
+     * Retourne le temps de jeu simulé.
+     *
+     * @return La durée virtuelle en millisecondes.
+     */
+    public long getDureeVirtuelleMs() {
+        return dureeVirtuelleMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (graine %d) : %d rounds, moyenne %.2f%s",
+            mode, graine, nbRounds, getScoreMoyen(), terminee ? "" : " [interrompue]");
+    }
+}
@@ -0,0 +1,255 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import controleur.Controleur;
+import controleur.ModeDeuxJoueurs;
+import controleur.ModeRandom;
+import controleur.ModeSolo;
+import controleur.evaluation.CatalogueStrategies;
+import controleur.evaluation.EvaluationStrategy;
+import controleur.generation.GenerateurPoisson;
+import controleur.generation.GenerateurRound;
+import metriques.ExportMetriques;
+import metriques.Metriques;
+import modele.FileMutations;
+import modele.Forme;
+import modele.Modele;
+import modele.Partie;
+
+/**
+ * Moteur de simulation sans interface graphique.
+ *
+ * Chaque partie utilise les vrais modes de jeu ({@link ModeSolo}, {@link ModeRandom},
+ * {@link ModeDeuxJoueurs}) branchés sur un {@link AffichageHeadless}, un
+ * {@link PlanificateurVirtuel} et un modèle à file de mutations directe :
+ * une partie est entièrement confinée au thread qui la joue, sans Swing ni minuterie.
+ * Un {@link JoueurBot} joue à la place des humains.
+ *
+ * Les parties sont indépendantes et réparties sur un pool de threads
+ * (un par cœur par défaut). Avec la même graine, une partie donne toujours le même résultat.
+ *
+ * Utilisation : {@code java simulation.SimulateurHeadless <solo|random|deux> <nbParties> [graine] [strategie]}
+ */
+public class SimulateurHeadless {
+
+    /** Les modes de jeu simulables */
+    public enum Mode {
+        SOLO,
+        RANDOM,
+        DEUX
+    }
+
+    /** Nombre maximal d'étapes d'une partie, au cas où un mode ne se terminerait jamais */
+    private static final int MAX_ETAPES = 1000;
+
+    /** Le générateur de rounds n'a pas d'état : une instance pour toutes les parties */
+    private static final GenerateurRound GENERATEUR = new GenerateurPoisson();
+
+    private static final int BRUIT_BOT = 15;
+    private static final double OUBLI_BOT = 0.1;
+
+    private final Mode mode;
+    private final Supplier<EvaluationStrategy> strategie;
+    private final int nbThreads;
+
+    /**
+     * Crée un simulateur utilisant tous les cœurs disponibles.
+     *
+     * @param mode      Le mode de jeu à simuler.
+     * @param strategie Fournit une stratégie d'évaluation par partie (solo et random).
+     */
+    public SimulateurHeadless(Mode mode, Supplier<EvaluationStrategy> strategie) {
+        this(mode, strategie, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crée un simulateur.
+     *
+     * @param mode      Le mode de jeu à simuler.
+     * @param strategie Fournit une stratégie d'évaluation par partie (solo et random).
+     * @param nbThreads Le nombre de parties jouées en parallèle.
+     */
+    public SimulateurHeadless(Mode mode, Supplier<EvaluationStrategy> strategie, int nbThreads) {
+        this.mode = mode;
+        this.strategie = strategie;
+        this.nbThreads = Math.max(1, nbThreads);
+    }
+
+    /**
+     * Joue une partie complète avec un bot imprécis.
+     *
+     * @param graine La graine de la partie (formes aléatoires et jeu du bot).
+     * @return Le résultat de la partie.
+     */
+    public ResultatPartie jouer(long graine) {
+        return jouer(graine, new BotImprecis(graine, BRUIT_BOT, OUBLI_BOT));
+    }
+
+    /**
+     * Joue une partie complète dans le thread appelant.
+     *
+     * @param graine La graine de la partie.
+     * @param bot    Le joueur automatique.
+     * @return Le résultat de la partie.
+     */
+    public ResultatPartie jouer(long graine, JoueurBot bot) {
+        Modele modele = new Modele(FileMutations.directe());
+        AffichageHeadless affichage = new AffichageHeadless();
+        PlanificateurVirtuel planificateur = new PlanificateurVirtuel();
+        modele.setAffichage(affichage);
+        modele.setEvaluateur(strategie.get(), "Simulation");
+
+        if (mode == Mode.DEUX) {
+            return jouerDeuxJoueurs(graine, modele, affichage, planificateur, bot);
+        }
+
+        Controleur controleur = (mode == Mode.SOLO)
+            ? new ModeSolo(planificateur)
+            : new ModeRandom(planificateur, GENERATEUR, graine);
+        controleur.demarrer(modele);
+
+        int etapes = 0;
+        while (!controleur.estTerminee() && !affichage.estTermine() && etapes++ < MAX_ETAPES) {
+            // Fin de la mémorisation : les formes disparaissent
+            if (!planificateur.avancer()) break;
+
+            soumettre(modele, bot.reproduire(modele.getFormesProposition()));
+            modele.validerAction();
+        }
+
+        long somme = 0;
+        for (int score : modele.getScores()) {
+            somme += score;
+        }
+        return new ResultatPartie(mode.name(), graine, modele.getScores().size(), somme,
+            controleur.estTerminee(), planificateur.getMaintenantMs());
+    }
+
+    /**
+     * Déroulement du mode deux joueurs : le bot crée quatre formes, puis,
+     * après la mémorisation, les reproduit pour l'autre joueur.
+     */
+    private ResultatPartie jouerDeuxJoueurs(long graine, Modele modele, AffichageHeadless affichage,
+                                            PlanificateurVirtuel planificateur, JoueurBot bot) {
+        Partie partie = new Partie();
+        ModeDeuxJoueurs controleur = new ModeDeuxJoueurs(planificateur, partie);
+        controleur.demarrer(modele);
+
+        int etapes = 0;
+        while (!controleur.estTerminee() && !affichage.estTermine() && etapes++ < MAX_ETAPES) {
+            soumettre(modele, bot.creer(4));
+            modele.validerAction();
+            if (!planificateur.avancer()) break;
+
+            soumettre(modele, bot.reproduire(modele.getFormesProposition()));
+            modele.validerAction();
+        }
+
+        int nbRounds = partie.getNumeroTour() - 1;
+        long somme = partie.getScoreTotal(1) + partie.getScoreTotal(2);
+        return new ResultatPartie(mode.name(), graine, nbRounds, somme,
+            controleur.estTerminee(), planificateur.getMaintenantMs());
+    }
+
+    private static void soumettre(Modele modele, List<Forme> formes) {
+        for (Forme f : formes) {
+            modele.ajouterForme(f);
+        }
+    }
+
+    /**
+     * Joue plusieurs parties en parallèle, avec les graines {@code graine}, {@code graine + 1}, etc.
+     *
+     * @param nbParties Le nombre de parties à jouer.
+     * @param graine    La graine de la première partie.
+     * @return Les résultats, dans l'ordre des graines.
+     * @throws InterruptedException si le thread appelant est interrompu.
+     */
+    public List<ResultatPartie> jouerEnParallele(int nbParties, long graine) throws InterruptedException {
+        AtomicInteger compteur = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(nbThreads, r -> {
+            Thread t = new Thread(r, "simulation-" + compteur.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<ResultatPartie>> futurs = new ArrayList<>(nbParties);
+            for (int i = 0; i < nbParties; i++) {
+                long g = graine + i;
+                futurs.add(pool.submit(() -> jouer(g)));
+            }
+
+            List<ResultatPartie> resultats = new ArrayList<>(nbParties);
+            for (Future<ResultatPartie> f : futurs) {
+                try {
+                    resultats.add(f.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Échec d'une partie simulée", e.getCause());
+                }
+            }
+            return resultats;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Retourne la stratégie d'évaluation correspondant à un nom.
+     *
+     * @param nom similarite, precision ou affectation (ou le nom affiché, voir {@link CatalogueStrategies}).
+     * @return Un fournisseur de nouvelles instances de la stratégie.
+     * @throws IllegalArgumentException si la stratégie est inconnue.
+     */
+    public static Supplier<EvaluationStrategy> strategie(String nom) {
+        return CatalogueStrategies.fabrique(nom);
+    }
+
+    /**
+     * Lance une simulation depuis la ligne de commande et affiche un bilan.
+     *
+     * @param args mode (solo, random ou deux), nombre de parties, graine et stratégie (facultatives).
+     * @throws InterruptedException si la simulation est interrompue.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage : SimulateurHeadless <solo|random|deux> <nbParties> [graine] [similarite|precision|affectation]");
+            System.exit(1);
+        }
+        Mode mode = Mode.valueOf(args[0].toUpperCase());
+        int nbParties = Integer.parseInt(args[1]);
+        long graine = (args.length > 2) ? Long.parseLong(args[2]) : 42L;
+        String nomStrategie = (args.length > 3) ? args[3] : "similarite";
+
+        Metriques.demarrer();
+        SimulateurHeadless simulateur = new SimulateurHeadless(mode, strategie(nomStrategie));
+        long debut = System.nanoTime();
+        List<ResultatPartie> resultats = simulateur.jouerEnParallele(nbParties, graine);
+        double secondes = (System.nanoTime() - debut) / 1e9;
+
+        long rounds = 0;
+        long somme = 0;
+        int interrompues = 0;
+        for (ResultatPartie r : resultats) {
+            rounds += r.getNbRounds();
+            somme += r.getSommeScores();
+            if (!r.estTerminee()) interrompues++;
+        }
+
+        System.out.printf("Mode %s, stratégie %s, %d threads%n", mode, nomStrategie, simulateur.nbThreads);
+        System.out.printf("%d parties (%d interrompues), %d rounds en %.2f s%n",
+            resultats.size(), interrompues, rounds, secondes);
+        System.out.printf("Score moyen par round : %.2f%n", (rounds == 0) ? 0.0 : (double) somme / rounds);
+        System.out.printf("Débit : %.0f rounds/heure%n", (secondes == 0) ? 0.0 : rounds / secondes * 3600);
+        if (Metriques.ACTIVES) {
+            System.out.print(ExportMetriques.texte());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package vue;
+
+/**
+ * Interface représentant ce que le modèle et les modes de jeu attendent d'un affichage :
+ * boutons d'action, message de statut, scores et boîtes de dialogue.
+ *
+ * {@link Vue} l'implémente avec Swing ; une implémentation sans écran permet de
+ * faire tourner une partie complète sans interface graphique (simulations, tests de charge).
+ */
+public interface Affichage {
+
+    /**
+     * Affiche un message de statut.
+     * @param message Le message à afficher
+     */
+    void setStatut(String message);
+
+    /**
+     * Active ou désactive l'action Valider.
+     * @param active true pour activer, false pour désactiver
+     */
+    void setValidationActive(boolean active);
+
+    /**
+     * Active ou désactive l'action Undo.
+     * @param active true pour activer, false pour désactiver
+     */
+    void setUndoActive(boolean active);
+
+    /**
+     * Active ou désactive l'action Redo.
+     * @param active true pour activer, false pour désactiver
+     */
+    void setRedoActive(boolean active);
+
+    /**
+     * Active ou désactive la création de formes (choix cercle et rectangle).
+     * @param active true pour activer, false pour désactiver
+     */
+    void setCreationActive(boolean active);
+
+    /**
+     * Indique si l'action Valider est activée.
+     * @return true si activée, false sinon
+     */
+    boolean getValidationStatus();
+
+    /**
+     * Ajoute une ligne à l'affichage des scores.
+     * @param score Le score à ajouter
+     */
+    void ajouterScore(String score);
+
+    /**
+     * Affiche l'estimation du score de la reproduction en cours.
+     * @param score Le score estimé sur 100, ou -1 pour masquer l'estimation
+     */
+    void setApercuScore(int score);
+
+    /**
+     * Affiche un message d'information au joueur.
+     * @param message Le message à afficher
+     */
+    void afficherMessage(String message);
+
+    /**
+     * Demande une confirmation oui/non au joueur.
+     * @param message La question posée
+     * @return true si le joueur confirme
+     */
+    boolean demanderConfirmation(String message);
+
+    /**
+     * Termine l'application (ou la partie, pour un affichage sans écran).
+     */
+    void terminer();
+}
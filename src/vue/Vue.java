@@ -5,10 +5,13 @@ import controleur.*;
 import controleur.commande.Commande;
 import modele.*;
 import vue.state.*;
+import metriques.Chronometre;
+import metriques.Metriques;
 
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,20 +22,33 @@ import controleur.commande.*;
  * Elle gère l'affichage de la zone de dessin, des boutons de commande, 
  * des messages de statut et des scores
  */
-public class Vue extends JPanel {
+public class Vue extends JPanel implements Affichage, ObservateurModele {
     private Modele modele;
     private EtatSouris etatCourant;
     private JTextArea zoneScores;
     private JLabel lblStatut;
-    private JButton btnValider, btnUndo, btnRedo, btnQuitter;
+    private JLabel lblApercu;
+    private JButton btnValider, btnUndo, btnRedo, btnVersion, btnQuitter;
     private Map<String, JButton> boutons = new HashMap<>();
     private Commande commandeUndo;
     private Commande commandeRedo;
+    private Commande commandeVersion;
     private Commande commandeValider;
     private Commande commandeQuitter;
 
+    // Calque hors écran contenant les formes déjà validées dans le modèle
+    private BufferedImage calque;
+    // Partie du calque à régénérer depuis le modèle (null si le calque est à jour)
+    private java.awt.Rectangle zoneInvalide;
+    // Forme en cours de tracé, dessinée par-dessus le calque sans jamais y être copiée
+    private Forme apercu;
+    private boolean traceEnCours;
+
     private static final int ICON_SIZE = 32;
 
+    private static final Chronometre AFFICHAGE = Metriques.chronometre("vue.paintComponent");
+    private static final Chronometre CHANGEMENTS = Metriques.chronometre("vue.formesModifiees");
+
     /**
      * Constructeur principal de la Vue
      * Initialise les composants graphiques, les boutons, et les écouteurs souris
@@ -45,7 +61,7 @@ public class Vue extends JPanel {
         setLayout(new BorderLayout(10, 10));
         etatCourant = new EtatDessinRectangle();
 
-        JPanel panneauBoutons = new JPanel(new GridLayout(1, 6, 10, 10));
+        JPanel panneauBoutons = new JPanel(new GridLayout(1, 7, 10, 10));
         panneauBoutons.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         addButton(panneauBoutons, "Cercle", "cercle.png", () -> etatCourant = new EtatDessinCercle());
@@ -54,12 +70,17 @@ public class Vue extends JPanel {
         btnValider = addButton(panneauBoutons, "Valider", "check.png", () -> commandeValider.execute());
         btnUndo = addButton(panneauBoutons, "Undo", "undo.png", () -> commandeUndo.execute());
         btnRedo = addButton(panneauBoutons, "Redo", "redo.png", () -> commandeRedo.execute());
+        btnVersion = addButton(panneauBoutons, "Version", "redo.png", () -> commandeVersion.execute());
         btnQuitter = addButton(panneauBoutons, "Quitter", "quit.png", () -> commandeQuitter.execute());
 
         lblStatut = new JLabel("", SwingConstants.CENTER);
         lblStatut.setFont(new Font("Arial", Font.BOLD, 14));
         lblStatut.setBorder(BorderFactory.createEmptyBorder(5, 0, 5, 0));
 
+        lblApercu = new JLabel("", SwingConstants.RIGHT);
+        lblApercu.setFont(new Font("Arial", Font.PLAIN, 13));
+        lblApercu.setBorder(BorderFactory.createEmptyBorder(5, 0, 5, 10));
+
         zoneScores = new JTextArea(4, 40);
         zoneScores.setEditable(false);
         zoneScores.setFont(new Font("Monospaced", Font.PLAIN, 12));
@@ -69,22 +90,59 @@ public class Vue extends JPanel {
         JPanel panneauNord = new JPanel(new BorderLayout());
         panneauNord.add(panneauBoutons, BorderLayout.NORTH);
         panneauNord.add(lblStatut, BorderLayout.CENTER);
+        panneauNord.add(lblApercu, BorderLayout.EAST);
 
         add(panneauNord, BorderLayout.NORTH);
         add(Box.createRigidArea(new Dimension(800, 600)), BorderLayout.CENTER);
         add(scrollScores, BorderLayout.SOUTH);
 
-        addMouseListener(new MouseAdapter() {
+        MouseAdapter souris = new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
                 etatCourant.gererClic(e, modele);
+                traceEnCours = true;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (traceEnCours) {
+                    afficherApercu(etatCourant.gererDeplacement(e, modele));
+                }
             }
 
             @Override
             public void mouseReleased(MouseEvent e) {
+                traceEnCours = false;
+                afficherApercu(null);
                 etatCourant.gererRelachement(e, modele);
             }
-        });
+        };
+        addMouseListener(souris);
+        addMouseMotionListener(souris);
+    }
+
+    /**
+     * Remplace l'aperçu de la forme en cours de tracé. Seules l'ancienne et la nouvelle
+     * position de l'aperçu sont redessinées : à chaque mouvement de la souris, l'affichage
+     * recopie ces deux zones du calque puis trace l'aperçu, sans repasser sur les formes validées.
+     * Swing fusionne les demandes reçues entre deux affichages.
+     *
+     * @param nouvel La forme à afficher, ou null pour effacer l'aperçu
+     */
+    private void afficherApercu(Forme nouvel) {
+        if (apercu != null) {
+            repaintBornes(apercu);
+        }
+        apercu = nouvel;
+        if (apercu != null) {
+            repaintBornes(apercu);
+        }
+    }
+
+    private void repaintBornes(Forme f) {
+        java.awt.Rectangle b = f.getBornes();
+        // drawRect/drawOval débordent d'un pixel à droite et en bas du rectangle englobant
+        repaint(b.x, b.y, b.width + 1, b.height + 1);
     }
 
     /**
@@ -113,6 +171,14 @@ public class Vue extends JPanel {
         commandeRedo = c;
     }
 
+    /**
+     * definit la commande Version
+     * @param c La commande à associer au bouton Version
+     */
+    public void setCommandeVersion(Commande c) {
+        commandeVersion = c;
+    }
+
     /**
      * definit la commande Valider
      * @param c La commande à associer au bouton Valider
@@ -168,6 +234,7 @@ public class Vue extends JPanel {
      * Affiche un message de statut dans l'interface
      * @param message Le message à afficher
      */
+    @Override
     public void setStatut(String message) {
         lblStatut.setText(message);
     }
@@ -176,6 +243,7 @@ public class Vue extends JPanel {
      * Active ou désactive le bouton Valider
      * @param active true pour activer, false pour désactiver.
      */
+    @Override
     public void setValidationActive(boolean active) {
         btnValider.setEnabled(active);
     }
@@ -184,22 +252,37 @@ public class Vue extends JPanel {
      * Active ou désactive le bouton Undo
      * @param active true pour activer, false pour désactiver
      */
+    @Override
     public void setUndoActive(boolean active) {
         btnUndo.setEnabled(active);
     }
 
     /**
-     * Active ou désactive le bouton Redo
+     * Active ou désactive le bouton Redo, et avec lui le bouton Version
+     * qui parcourt les branches du même historique
      * @param active true pour activer, false pour désactiver
      */
+    @Override
     public void setRedoActive(boolean active) {
         btnRedo.setEnabled(active);
+        btnVersion.setEnabled(active);
+    }
+
+    /**
+     * Active ou désactive les boutons de création de formes (Cercle et Rectangle)
+     * @param active true pour activer, false pour désactiver
+     */
+    @Override
+    public void setCreationActive(boolean active) {
+        boutons.get("Cercle").setEnabled(active);
+        boutons.get("Rectangle").setEnabled(active);
     }
 
     /**
      * Indique si le bouton Valider est activé
      * @return true si activé, false sinon
      */
+    @Override
     public boolean getValidationStatus() {
         return btnValider.isEnabled();
     }
@@ -208,23 +291,160 @@ public class Vue extends JPanel {
      * Ajoute un score à la zone d'affichage des scores
      * @param score Le score à ajouter
      */
+    @Override
     public void ajouterScore(String score) {
         zoneScores.append(score + "\n");
         zoneScores.setCaretPosition(zoneScores.getDocument().getLength());
     }
 
     /**
-     * Redessine toutes les formes présentes dans le modèle
+     * Affiche le score estimé de la reproduction en cours, à côté du statut
+     * @param score Le score estimé, ou -1 pour masquer l'estimation
+     */
+    @Override
+    public void setApercuScore(int score) {
+        lblApercu.setText(score < 0 ? "" : "Score estimé : " + score + "/100");
+    }
+
+    /**
+     * Affiche un message dans une boîte de dialogue
+     * @param message Le message à afficher
+     */
+    @Override
+    public void afficherMessage(String message) {
+        JOptionPane.showMessageDialog(null, message);
+    }
+
+    /**
+     * Demande une confirmation oui/non dans une boîte de dialogue
+     * @param message La question posée
+     * @return true si l'utilisateur répond oui
+     */
+    @Override
+    public boolean demanderConfirmation(String message) {
+        int reponse = JOptionPane.showConfirmDialog(
+            null,
+            message,
+            "Confirmation",
+            JOptionPane.YES_NO_OPTION
+        );
+        return reponse == JOptionPane.YES_OPTION;
+    }
+
+    /**
+     * Ferme l'application
+     */
+    @Override
+    public void terminer() {
+        System.exit(0);
+    }
+
+    /**
+     * Reçoit un lot de changements du modèle : les formes ajoutées sont dessinées
+     * sur le calque, les zones retirées ou effacées sont invalidées, puis la zone
+     * englobant tout le lot est redessinée en un seul repaint.
+     *
+     * @param lot Les changements depuis la livraison précédente
+     */
+    @Override
+    public void formesModifiees(LotChangements lot) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            // Le calque n'est manipulé que depuis le thread de Swing
+            SwingUtilities.invokeLater(() -> formesModifiees(lot));
+            return;
+        }
+
+        java.awt.Rectangle zoneLot = lot.getZone();
+        if (zoneLot == null) return;
+
+        long debut = CHANGEMENTS.debut();
+        Graphics2D g = null;
+        for (ChangementFormes changement : lot.getChangements()) {
+            java.awt.Rectangle zone = changement.getZone();
+            if (zone == null) continue;
+
+            if (changement.getType() == ChangementFormes.Type.AJOUT) {
+                if (calque != null) {
+                    if (g == null) {
+                        g = calque.createGraphics();
+                        g.setColor(Color.BLACK);
+                    }
+                    for (Forme f : changement.getFormes()) {
+                        f.dessiner(g);
+                    }
+                }
+            } else {
+                invaliderCalque(new java.awt.Rectangle(zone.x, zone.y, zone.width + 1, zone.height + 1));
+            }
+        }
+        if (g != null) {
+            g.dispose();
+        }
+        // drawRect/drawOval débordent d'un pixel à droite et en bas du rectangle englobant
+        repaint(zoneLot.x, zoneLot.y, zoneLot.width + 1, zoneLot.height + 1);
+        CHANGEMENTS.terminer(debut);
+    }
+
+    /**
+     * Marque une zone du calque comme à régénérer depuis le modèle
+     * @param zone La zone à invalider
+     */
+    private void invaliderCalque(java.awt.Rectangle zone) {
+        if (zoneInvalide == null) {
+            zoneInvalide = new java.awt.Rectangle(zone);
+        } else {
+            zoneInvalide.add(zone);
+        }
+    }
+
+    /**
+     * Met le calque à jour : il est recréé si la taille du panneau a changé,
+     * puis la zone invalide est redessinée à partir de l'index spatial du modèle
+     */
+    private void preparerCalque() {
+        int largeur = Math.max(1, getWidth());
+        int hauteur = Math.max(1, getHeight());
+
+        if (calque == null || calque.getWidth() != largeur || calque.getHeight() != hauteur) {
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            calque = (gc != null)
+                ? gc.createCompatibleImage(largeur, hauteur)
+                : new BufferedImage(largeur, hauteur, BufferedImage.TYPE_INT_RGB);
+            zoneInvalide = new java.awt.Rectangle(0, 0, largeur, hauteur);
+        }
+
+        if (zoneInvalide != null) {
+            java.awt.Rectangle zone = zoneInvalide;
+            zoneInvalide = null;
+
+            Graphics2D g = calque.createGraphics();
+            g.clip(zone);
+            g.setColor(Color.WHITE);
+            g.fillRect(zone.x, zone.y, zone.width, zone.height);
+            g.setColor(Color.BLACK);
+            for (Forme f : modele.getFormesDans(zone)) {
+                f.dessiner(g);
+            }
+            g.dispose();
+        }
+    }
+
+    /**
+     * Affiche la zone à rafraîchir en recopiant le calque des formes validées :
+     * en régime établi, un affichage se résume à une seule copie d'image,
+     * plus l'aperçu de la forme en cours de tracé
      * @param g Le contexte graphique sur lequel dessiner
      */
     @Override
     protected void paintComponent(Graphics g) {
+        long debut = AFFICHAGE.debut();
         super.paintComponent(g);
-        g.setColor(Color.WHITE);
-        g.fillRect(0, 0, getWidth(), getHeight());
-        g.setColor(Color.BLACK);
-        for (Forme f : modele.getFormes()) {
-            f.dessiner(g);
+        preparerCalque();
+        g.drawImage(calque, 0, 0, null);
+        if (apercu != null) {
+            g.setColor(Color.GRAY);
+            apercu.dessiner(g);
         }
+        AFFICHAGE.terminer(debut);
     }
 }
@@ -2,7 +2,6 @@ package vue.state;
 
 import modele.Cercle;
 import modele.Modele;
-import vue.Vue;
 
 import java.awt.event.MouseEvent;
 
@@ -22,18 +21,25 @@ public class EtatDessinCercle extends EtatSouris {
      */
     @Override
     public void gererRelachement(MouseEvent e, Modele modele) {
-        int finX = e.getX();
-        int finY = e.getY();
+        if (peutDessiner(modele)) {
+            modele.ajouterForme(creerForme(e.getX(), e.getY()));
+        }
+    }
+
+    /**
+     * Crée le cercle dont le diamètre est la distance entre le point initial et le point final.
+     *
+     * @param finX Coordonnée X du point final
+     * @param finY Coordonnée Y du point final
+     * @return Le cercle tracé
+     */
+    @Override
+    protected Cercle creerForme(int finX, int finY) {
         int rayon = (int) Math.sqrt(Math.pow(finX - debutX, 2) + Math.pow(finY - debutY, 2)) / 2;
-        if (modele.getVue() != null) {
-            Vue vue = modele.getVue();
-            if(vue.getValidationStatus()){
-                modele.ajouterForme(new Cercle(
-                    Math.min(debutX, finX),
-                    Math.min(debutY, finY),
-                    rayon
-                ));
-                }
-               }
+        return new Cercle(
+            Math.min(debutX, finX),
+            Math.min(debutY, finY),
+            rayon
+        );
     }
 }
@@ -2,7 +2,6 @@ package vue.state;
 
 import modele.Rectangle;
 import modele.Modele;
-import vue.Vue;
 import java.awt.event.MouseEvent;
 
 /**
@@ -20,20 +19,25 @@ public class EtatDessinRectangle extends EtatSouris {
      */
     @Override
     public void gererRelachement(MouseEvent e, Modele modele) {
-        int finX = e.getX();
-        int finY = e.getY();
-        int largeur = Math.abs(finX - debutX);
-        int hauteur = Math.abs(finY - debutY);
-        if (modele.getVue() != null) {
-            Vue vue = modele.getVue();
-            if(vue.getValidationStatus()){
-                modele.ajouterForme(new Rectangle(
-                    Math.min(debutX, finX),
-                    Math.min(debutY, finY),
-                    largeur,
-                    hauteur
-                ));
-               }
-               }
+        if (peutDessiner(modele)) {
+            modele.ajouterForme(creerForme(e.getX(), e.getY()));
+        }
+    }
+
+    /**
+     * Crée le rectangle dont le point initial et le point final sont deux coins opposés.
+     *
+     * @param finX Coordonnée X du point final
+     * @param finY Coordonnée Y du point final
+     * @return Le rectangle tracé
+     */
+    @Override
+    protected Rectangle creerForme(int finX, int finY) {
+        return new Rectangle(
+            Math.min(debutX, finX),
+            Math.min(debutY, finY),
+            Math.abs(finX - debutX),
+            Math.abs(finY - debutY)
+        );
     }
 }
@@ -1,6 +1,9 @@
 package vue.state;
 
+import modele.Forme;
 import modele.Modele;
+import vue.Affichage;
+
 import java.awt.event.MouseEvent;
 
 /**
@@ -15,5 +18,37 @@ public abstract class EtatSouris {
         debutY = e.getY();
     }
 
+    /**
+     * Gère le glissement de la souris, bouton enfoncé, pendant un tracé.
+     *
+     * @param e      L'événement souris contenant la position courante
+     * @param modele Le modèle dans lequel la forme sera ajoutée
+     * @return La forme qui serait créée si la souris était relâchée ici (aperçu),
+     *         ou null si aucune forme ne peut être dessinée en ce moment
+     */
+    public Forme gererDeplacement(MouseEvent e, Modele modele) {
+        return peutDessiner(modele) ? creerForme(e.getX(), e.getY()) : null;
+    }
+
     public abstract void gererRelachement(MouseEvent e, Modele modele);
+
+    /**
+     * Crée la forme tracée depuis le point initial (debutX, debutY) jusqu'au point donné.
+     *
+     * @param finX Coordonnée X du point final
+     * @param finY Coordonnée Y du point final
+     * @return La forme tracée
+     */
+    protected abstract Forme creerForme(int finX, int finY);
+
+    /**
+     * Indique si le joueur peut dessiner, c'est-à-dire si la vue accepte une proposition.
+     *
+     * @param modele Le modèle
+     * @return true si une forme tracée maintenant serait ajoutée au modèle
+     */
+    protected boolean peutDessiner(Modele modele) {
+        Affichage affichage = modele.getAffichage();
+        return affichage != null && affichage.getValidationStatus();
+    }
 }
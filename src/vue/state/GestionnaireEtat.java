@@ -1,6 +1,7 @@
 package vue.state;
 
 import java.awt.event.MouseEvent;
+import modele.Forme;
 import modele.Modele;
 
 /**
@@ -42,6 +43,17 @@ public class GestionnaireEtat {
         etatCourant.gererClic(e, modele);
     }
 
+    /**
+     * Appelé lors d’un glissement de la souris : délègue à l’état courant
+     *
+     * @param e L'événement souris
+     * @return L'aperçu de la forme en cours de tracé, ou null
+     */
+
+    public Forme gererDeplacementSouris(MouseEvent e) {
+        return etatCourant.gererDeplacement(e, modele);
+    }
+
     /**
      * Appelé lors du relâchement de la souris : délègue à l’état courant
      *